@@ -0,0 +1,70 @@
+package com.arklandia.arkchunk.managers;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.rules.DetectionRules;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Relevé de santé des chunks chargés, tel que fait par le moniteur sur le
+ * thread principal (ancien checkChunkHealth, désormais ChunkMonitor#collect) :
+ * lecture des compteurs d'entités et de tile entities dans l'index, passage
+ * sur le contenu des chunks qui peuvent dépasser une règle par type (règles
+ * de config.yml) puis ajout au lot transmis au thread d'analyse.
+ * Une opération = un chunk.
+ */
+@State(Scope.Benchmark)
+public class ChunkHealthBenchmark {
+
+    private static final int CHUNKS = 4096;
+
+    private ChunkManager chunkManager;
+    private DetectionRules rules;
+    private Chunk[] chunks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ServerMock server = MockBukkit.mock();
+        ArkChunk plugin = MockBukkit.load(ArkChunk.class);
+        World world = server.addSimpleWorld("bench");
+        chunkManager = plugin.getChunkManager();
+        rules = plugin.getChunkMonitor().getRules();
+
+        chunks = new Chunk[CHUNKS];
+        for (int i = 0; i < CHUNKS; i++) {
+            Chunk chunk = world.getChunkAt(i / 64 - 32, i % 64 - 32);
+            chunkManager.recordChunkLoad(chunk, false);
+            chunkManager.setCounts(chunk, i % 600, i % 250); // Quelques chunks au-delà des seuils
+            chunks[i] = chunk;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNKS)
+    public int collect() {
+        MonitorAnalyzer.Batch batch = new MonitorAnalyzer.Batch(false, 256);
+        for (Chunk chunk : chunks) {
+            World world = chunk.getWorld();
+            int entities = chunkManager.getEntityCount(chunk);
+            int tiles = chunkManager.getTileEntityCount(chunk);
+            DetectionRules.WorldRules worldRules = rules.forWorld(world.getName());
+            DetectionRules.Violation violation = worldRules.needsScan(entities, tiles) ? worldRules.scan(chunk, entities, tiles) : null;
+            batch.add(world.getUID(), world.getName(), chunk.getX(), chunk.getZ(), entities, tiles, 0, false, violation);
+        }
+        return batch.size;
+    }
+}
@@ -0,0 +1,78 @@
+package com.arklandia.arkchunk.managers;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.util.ChunkKeys;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Chemins appelés à chaque événement de chunk : clé lisible (affichage),
+ * clé compactée (index) et enregistrement du temps de chargement.
+ * Le plugin tourne sur un serveur simulé (MockBukkit) ; les chunks sont
+ * créés une fois puis parcourus en boucle.
+ */
+@State(Scope.Benchmark)
+public class ChunkManagerBenchmark {
+
+    @Param({"4096"})
+    public int chunkCount;
+
+    private ChunkManager chunkManager;
+    private Chunk[] chunks;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ServerMock server = MockBukkit.mock();
+        ArkChunk plugin = MockBukkit.load(ArkChunk.class);
+        World world = server.addSimpleWorld("bench");
+        chunkManager = plugin.getChunkManager();
+
+        int side = (int) Math.ceil(Math.sqrt(chunkCount));
+        chunks = new Chunk[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i] = world.getChunkAt(i / side - side / 2, i % side - side / 2);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    private Chunk next() {
+        Chunk chunk = chunks[cursor];
+        cursor = cursor + 1 == chunks.length ? 0 : cursor + 1;
+        return chunk;
+    }
+
+    @Benchmark
+    public String getChunkKey() {
+        return chunkManager.getChunkKey(next());
+    }
+
+    @Benchmark
+    public long packChunkKey() {
+        Chunk chunk = next();
+        return ChunkKeys.pack(chunk.getX(), chunk.getZ());
+    }
+
+    @Benchmark
+    public void recordChunkData() {
+        chunkManager.recordChunkData(next(), 12L);
+    }
+
+    @Benchmark
+    public void recordChunkLoad() {
+        chunkManager.recordChunkLoad(next(), false);
+    }
+}
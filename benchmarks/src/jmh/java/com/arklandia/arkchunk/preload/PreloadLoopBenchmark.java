@@ -0,0 +1,49 @@
+package com.arklandia.arkchunk.preload;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Boucle d'ordonnancement d'un préchargement (PreloadEngine#pump sans
+ * serveur) : parcours de la zone selon l'ordre choisi avec une fenêtre de
+ * chargements en vol, chaque demande étant terminée dans l'ordre d'émission.
+ * Une opération = une zone complète.
+ */
+@State(Scope.Thread)
+public class PreloadLoopBenchmark {
+
+    @Param({"ROWS", "SPIRAL", "REGION", "CIRCLE"})
+    public PreloadOrder order;
+
+    @Param({"16", "64"})
+    public int radius;
+
+    @Param({"16"})
+    public int window;
+
+    @Benchmark
+    public long schedule() {
+        PreloadJob job = new PreloadJob(1, null, 0, 0, radius, order, null, null, null);
+        int[] inFlight = new int[window];
+        int head = 0;
+        int count = 0;
+        long checksum = 0L;
+
+        while (!job.isDone()) {
+            while (count < window && job.hasNext()) {
+                int index = job.advance();
+                checksum += job.x(index) * 31L + job.z(index);
+                inFlight[(head + count) % window] = index;
+                count++;
+            }
+            if (count > 0) {
+                job.complete(inFlight[head], true);
+                head = (head + 1) % window;
+                count--;
+            }
+        }
+        return checksum + job.getLoaded();
+    }
+}
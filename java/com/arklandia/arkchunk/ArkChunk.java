@@ -1,9 +1,16 @@
 package com.arklandia.arkchunk;
 
+import com.arklandia.arkchunk.batch.BatchRunner;
 import com.arklandia.arkchunk.commands.ChunkCommand;
+import com.arklandia.arkchunk.listeners.ChunkCounterListener;
 import com.arklandia.arkchunk.listeners.ChunkListener;
 import com.arklandia.arkchunk.managers.ChunkManager;
 import com.arklandia.arkchunk.managers.ChunkMonitor;
+import com.arklandia.arkchunk.metrics.MetricsExporter;
+import com.arklandia.arkchunk.profiler.ChunkCostProfiler;
+import com.arklandia.arkchunk.region.ChunkDeletionQueue;
+import com.arklandia.arkchunk.region.RegionMaintenance;
+import com.arklandia.arkchunk.scheduler.TaskScheduler;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -14,8 +21,44 @@ import org.bukkit.plugin.java.JavaPlugin;
 public class ArkChunk extends JavaPlugin {
 
     private static ArkChunk instance;
+    private TaskScheduler taskScheduler;
     private ChunkManager chunkManager;
     private ChunkMonitor chunkMonitor;
+    private ChunkCostProfiler chunkProfiler;
+    private BatchRunner batchRunner;
+    private ChunkDeletionQueue deletionQueue;
+    private RegionMaintenance regionMaintenance;
+    private MetricsExporter metricsExporter;
+
+    @Override
+    public void onLoad() {
+        // Les mondes ne sont pas encore chargés : les fichiers région peuvent être modifiés
+        this.deletionQueue = new ChunkDeletionQueue(this);
+        this.regionMaintenance = new RegionMaintenance(this);
+        int pendingDeletions = deletionQueue.getPendingCount();
+        int pendingCompactions = regionMaintenance.getPendingCount();
+        if (pendingDeletions == 0 && pendingCompactions == 0) {
+            return;
+        }
+        if (!Bukkit.getWorlds().isEmpty()) {
+            getLogger().warning("Mondes déjà chargés : " + pendingDeletions + " suppressions de chunks et "
+                + pendingCompactions + " compactages reportés au prochain démarrage");
+            return;
+        }
+
+        if (pendingDeletions > 0) {
+            ChunkDeletionQueue.DeletionResult result = deletionQueue.applyPending();
+            getLogger().info("Suppressions appliquées: " + result.chunks + " chunks effacés (" + result.filesRewritten
+                + " fichiers réécrits, " + result.filesRemoved + " fichiers vides supprimés)");
+        }
+
+        // Après les suppressions, qui libèrent des secteurs
+        if (pendingCompactions > 0) {
+            RegionMaintenance.CompactionResult result = regionMaintenance.applyPending();
+            getLogger().info("Compactage appliqué: " + result.compacted + "/" + result.files + " fichiers région, "
+                + String.format("%.1f", result.getMegabytes()) + " Mo récupérés en " + (result.durationMillis / 1000.0) + "s");
+        }
+    }
 
     @Override
     public void onEnable() {
@@ -26,18 +69,50 @@ public class ArkChunk extends JavaPlugin {
         getLogger().info("║     Arklandia Studios 2025         ║");
         getLogger().info("╚════════════════════════════════════╝");
 
+        // Charger la configuration
+        saveDefaultConfig();
+
+        // Choisir le planificateur (Folia ou Bukkit)
+        this.taskScheduler = TaskScheduler.create(this);
+        if (taskScheduler.isRegionized()) {
+            getLogger().info("Serveur régionalisé détecté : planification par région");
+        }
+
         // Initialiser les managers
         this.chunkManager = new ChunkManager(this);
         this.chunkMonitor = new ChunkMonitor(this);
+        this.chunkProfiler = new ChunkCostProfiler(this, Thread.currentThread());
+        this.batchRunner = new BatchRunner(this, chunkManager);
 
         // Enregistrer les commandes
         getCommand("arkchunk").setExecutor(new ChunkCommand(this));
         
         // Enregistrer les listeners
         Bukkit.getPluginManager().registerEvents(new ChunkListener(this), this);
+        Bukkit.getPluginManager().registerEvents(new ChunkCounterListener(this), this);
+
+        // Amorcer les compteurs des chunks déjà chargés (rechargement du plugin) ;
+        // sur Folia, la resynchronisation du moniteur s'en charge région par région
+        if (!taskScheduler.isRegionized()) {
+            chunkManager.seedLoadedChunks();
+        }
 
         // Démarrer le moniteur de chunks
         chunkMonitor.startMonitoring();
+        chunkProfiler.start();
+
+        // Démarrer la régulation des préchargements
+        chunkManager.getPreloadEngine().start();
+
+        // Démarrer les opérations groupées
+        batchRunner.start();
+
+        // Suivre la fragmentation des fichiers région
+        regionMaintenance.start();
+
+        // Exposer les métriques (OpenMetrics)
+        this.metricsExporter = new MetricsExporter(this);
+        metricsExporter.start();
 
         getLogger().info("ArkChunk est prêt !");
     }
@@ -49,15 +124,43 @@ public class ArkChunk extends JavaPlugin {
         getLogger().info("║     Arklandia Studios 2025         ║");
         getLogger().info("╚════════════════════════════════════╝");
         
+        if (metricsExporter != null) {
+            metricsExporter.shutdown();
+        }
+
         if (chunkMonitor != null) {
             chunkMonitor.stopMonitoring();
         }
+
+        if (chunkProfiler != null) {
+            chunkProfiler.stop();
+        }
+
+        if (batchRunner != null) {
+            batchRunner.shutdown();
+        }
+
+        if (regionMaintenance != null) {
+            regionMaintenance.shutdown();
+        }
+
+        if (chunkManager != null) {
+            chunkManager.getPreloadEngine().shutdown();
+        }
+
+        if (deletionQueue != null) {
+            deletionQueue.flush();
+        }
     }
 
     public static ArkChunk getInstance() {
         return instance;
     }
 
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
     public ChunkManager getChunkManager() {
         return chunkManager;
     }
@@ -65,4 +168,24 @@ public class ArkChunk extends JavaPlugin {
     public ChunkMonitor getChunkMonitor() {
         return chunkMonitor;
     }
-}
\ No newline at end of file
+
+    public ChunkCostProfiler getChunkProfiler() {
+        return chunkProfiler;
+    }
+
+    public BatchRunner getBatchRunner() {
+        return batchRunner;
+    }
+
+    public ChunkDeletionQueue getDeletionQueue() {
+        return deletionQueue;
+    }
+
+    public RegionMaintenance getRegionMaintenance() {
+        return regionMaintenance;
+    }
+
+    public MetricsExporter getMetricsExporter() {
+        return metricsExporter;
+    }
+}
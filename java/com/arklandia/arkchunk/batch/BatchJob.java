@@ -0,0 +1,187 @@
+package com.arklandia.arkchunk.batch;
+
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opération groupée sur une zone de chunks. Les chunks sont regroupés par
+ * fichier région (voir {@link ChunkArea}) et traités région par région.
+ */
+public class BatchJob {
+
+    private final int id;
+    private final World world;
+    private final ChunkAction action;
+    private final long[] keys;
+    private final int[] regionStarts;
+    private final CommandSender sender;
+    private final long startedAt;
+
+    private final AtomicInteger applied = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger pendingGroups = new AtomicInteger();
+    private final AtomicLong busyNanos = new AtomicLong();
+
+    private int cursor;
+    private int groupCursor;
+    private int reportedTenths;
+    private volatile boolean cancelled;
+
+    public BatchJob(int id, World world, ChunkAction action, long[] keys, CommandSender sender) {
+        this.id = id;
+        this.world = world;
+        this.action = action;
+        this.keys = keys;
+        this.regionStarts = ChunkArea.regionStarts(keys);
+        this.sender = sender;
+        this.startedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Prochain index à traiter dans l'ordre séquentiel (thread principal)
+     * @return Index, ou -1 si tous les chunks ont été traités
+     */
+    int nextIndex() {
+        return cursor < keys.length ? cursor++ : -1;
+    }
+
+    /**
+     * Réserve la prochaine région à traiter (thread global, serveur régionalisé)
+     * @return Numéro de la région, ou -1 s'il n'en reste plus
+     */
+    int nextGroup() {
+        if (groupCursor >= getRegionCount()) {
+            return -1;
+        }
+        pendingGroups.incrementAndGet();
+        return groupCursor++;
+    }
+
+    /**
+     * Réserve un traitement supplémentaire hors de la région courante
+     */
+    void forkGroup() {
+        pendingGroups.incrementAndGet();
+    }
+
+    /**
+     * Marque une région réservée (ou un traitement supplémentaire) comme terminée
+     */
+    void groupDone() {
+        pendingGroups.decrementAndGet();
+    }
+
+    /**
+     * Enregistre le résultat du traitement d'un chunk
+     * @param result 1 si appliqué, 0 si ignoré (non chargé), -1 si échec
+     * @param nanos Durée du traitement
+     */
+    void record(int result, long nanos) {
+        if (result > 0) {
+            applied.incrementAndGet();
+        } else if (result == 0) {
+            skipped.incrementAndGet();
+        } else {
+            failed.incrementAndGet();
+        }
+        busyNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Indique si un nouveau palier de 10% a été franchi depuis le dernier rapport
+     * @return true si la progression doit être affichée
+     */
+    boolean shouldReport() {
+        int tenths = (int) ((long) getProcessed() * 10 / Math.max(1, keys.length));
+        if (tenths > reportedTenths && tenths < 10) {
+            reportedTenths = tenths;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true si tous les chunks ont été traités (ou la tâche annulée)
+     */
+    boolean isDone() {
+        if (cancelled) {
+            return pendingGroups.get() == 0;
+        }
+        return getProcessed() >= keys.length && pendingGroups.get() == 0;
+    }
+
+    void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public ChunkAction getAction() {
+        return action;
+    }
+
+    long getKey(int index) {
+        return keys[index];
+    }
+
+    int getRegionStart(int group) {
+        return regionStarts[group];
+    }
+
+    int getRegionEnd(int group) {
+        return regionStarts[group + 1];
+    }
+
+    public int getRegionCount() {
+        return regionStarts.length - 1;
+    }
+
+    public CommandSender getSender() {
+        return sender;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public int getTotal() {
+        return keys.length;
+    }
+
+    public int getProcessed() {
+        return applied.get() + skipped.get() + failed.get();
+    }
+
+    public int getApplied() {
+        return applied.get();
+    }
+
+    public int getSkipped() {
+        return skipped.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * @return Temps passé à appliquer l'action, en millisecondes
+     */
+    public double getBusyMillis() {
+        return busyNanos.get() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,288 @@
+package com.arklandia.arkchunk.batch;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.managers.ChunkManager;
+import com.arklandia.arkchunk.region.RegionFiles;
+import com.arklandia.arkchunk.scheduler.TaskScheduler;
+import com.arklandia.arkchunk.util.ChunkKeys;
+import net.md_5.bungee.api.ChatColor;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+/**
+ * Exécute les opérations groupées sur des zones de chunks sans bloquer le tick.
+ * Sur Paper, les tâches sont traitées dans l'ordre d'arrivée sur le thread
+ * principal dans la limite d'un budget de temps par tick ; sur Folia, chaque
+ * région .mca part sur le thread de sa région avec son propre budget.
+ */
+public class BatchRunner {
+
+    private final ArkChunk plugin;
+    private final ChunkManager chunkManager;
+    private final TaskScheduler scheduler;
+    private final Map<Integer, BatchJob> jobs;
+    private final AtomicInteger nextJobId;
+    private final long tickBudgetNanos;
+    private final int maxChunks;
+    private TaskScheduler.Task task;
+
+    public BatchRunner(ArkChunk plugin, ChunkManager chunkManager) {
+        this.plugin = plugin;
+        this.chunkManager = chunkManager;
+        this.scheduler = plugin.getTaskScheduler();
+        this.jobs = new ConcurrentSkipListMap<>();
+        this.nextJobId = new AtomicInteger(1);
+        this.tickBudgetNanos = Math.max(100L, plugin.getConfig().getLong("batch.tick-budget-micros", 2000L)) * 1000L;
+        this.maxChunks = Math.max(1, plugin.getConfig().getInt("batch.max-chunks", 65536));
+    }
+
+    /**
+     * Démarre le traitement des lots
+     */
+    public void start() {
+        task = scheduler.runGlobalTimer(this::tick, 1L, 1L);
+    }
+
+    /**
+     * Arrête le traitement et abandonne les lots en cours
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (BatchJob job : jobs.values()) {
+            job.cancel();
+        }
+        jobs.clear();
+    }
+
+    /**
+     * Démarre une opération groupée (thread quelconque)
+     * @param world Monde cible
+     * @param action Action à appliquer
+     * @param keys Clés des chunks, groupées par région (voir {@link ChunkArea})
+     * @param sender Destinataire des messages de progression
+     * @return Tâche créée
+     */
+    public BatchJob submit(World world, ChunkAction action, long[] keys, CommandSender sender) {
+        BatchJob job = new BatchJob(nextJobId.getAndIncrement(), world, action, keys, sender);
+        jobs.put(job.getId(), job);
+        plugin.getLogger().info("Lot #" + job.getId() + " démarré: " + action.getLabel() + " de " + keys.length
+                + " chunks (" + job.getRegionCount() + " régions) dans " + world.getName());
+        return job;
+    }
+
+    /**
+     * Annule une opération groupée ; les régions déjà en cours se terminent
+     * @param jobId ID de la tâche
+     * @return true si annulée, false sinon
+     */
+    public boolean cancel(int jobId) {
+        BatchJob job = jobs.get(jobId);
+        if (job == null || job.isCancelled()) {
+            return false;
+        }
+        job.cancel();
+        return true;
+    }
+
+    /**
+     * Annule toutes les opérations groupées
+     * @return Nombre de tâches annulées
+     */
+    public int cancelAll() {
+        int count = 0;
+        for (BatchJob job : jobs.values()) {
+            if (!job.isCancelled()) {
+                job.cancel();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Obtient les opérations groupées en cours
+     * @return Liste des tâches
+     */
+    public List<BatchJob> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    /**
+     * @return Nombre maximal de chunks par opération
+     */
+    public int getMaxChunks() {
+        return maxChunks;
+    }
+
+    /**
+     * Avance les lots (thread global, chaque tick)
+     */
+    private void tick() {
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        if (scheduler.isRegionized()) {
+            // Une région .mca de plus par lot et par tick, traitée par son propre thread
+            for (BatchJob job : jobs.values()) {
+                if (job.isCancelled()) {
+                    continue;
+                }
+                int group = job.nextGroup();
+                if (group >= 0) {
+                    long first = job.getKey(job.getRegionStart(group));
+                    scheduler.executeAt(job.getWorld(), ChunkKeys.x(first), ChunkKeys.z(first),
+                            () -> runGroup(job, group, job.getRegionStart(group)));
+                }
+            }
+        } else {
+            long deadline = System.nanoTime() + tickBudgetNanos;
+            for (BatchJob job : jobs.values()) {
+                LongStream.Builder unloaded = LongStream.builder();
+                int index;
+                while (!job.isCancelled() && System.nanoTime() < deadline && (index = job.nextIndex()) >= 0) {
+                    long key = job.getKey(index);
+                    if (!process(job, key)) {
+                        unloaded.add(key);
+                    }
+                }
+                processUnloaded(job, unloaded.build().toArray());
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+        }
+
+        for (BatchJob job : jobs.values()) {
+            if (job.isDone()) {
+                finish(job);
+            } else if (job.shouldReport()) {
+                job.getSender().sendMessage(ChatColor.YELLOW + "Lot #" + job.getId() + " (" + job.getAction().getLabel() + "): "
+                        + ChunkManager.getProgressBar(job.getProcessed(), job.getTotal()));
+            }
+        }
+    }
+
+    /**
+     * Traite une région .mca dans la limite du budget, puis reprend au tick
+     * suivant (thread de la région, serveur régionalisé)
+     * @param job Tâche
+     * @param group Numéro de la région
+     * @param start Premier index restant
+     */
+    private void runGroup(BatchJob job, int group, int start) {
+        long deadline = System.nanoTime() + tickBudgetNanos;
+        int end = job.getRegionEnd(group);
+        int index = start;
+        World world = job.getWorld();
+        LongStream.Builder unloaded = LongStream.builder();
+
+        while (index < end && !job.isCancelled() && System.nanoTime() < deadline) {
+            long key = job.getKey(index++);
+            int x = ChunkKeys.x(key);
+            int z = ChunkKeys.z(key);
+            if (scheduler.isOwnedByCurrentThread(world, x, z)) {
+                if (!process(job, key)) {
+                    unloaded.add(key);
+                }
+            } else {
+                // Une région .mca peut chevaucher plusieurs régions Folia
+                job.forkGroup();
+                scheduler.executeAt(world, x, z, () -> {
+                    if (!job.isCancelled() && !process(job, key)) {
+                        processUnloaded(job, new long[]{key});
+                    }
+                    job.groupDone();
+                });
+            }
+        }
+        processUnloaded(job, unloaded.build().toArray());
+
+        if (index < end && !job.isCancelled()) {
+            int resume = index;
+            long key = job.getKey(resume);
+            scheduler.runAtLater(world, ChunkKeys.x(key), ChunkKeys.z(key), () -> runGroup(job, group, resume), 1L);
+        } else {
+            job.groupDone();
+        }
+    }
+
+    /**
+     * Applique l'action à un chunk s'il est chargé (thread qui possède le chunk)
+     * @param job Tâche
+     * @param key Clé du chunk
+     * @return false si le chunk n'est pas chargé (voir {@link #processUnloaded})
+     */
+    private boolean process(BatchJob job, long key) {
+        World world = job.getWorld();
+        int x = ChunkKeys.x(key);
+        int z = ChunkKeys.z(key);
+        if (!world.isChunkLoaded(x, z)) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        boolean success = job.getAction().apply(chunkManager, world.getChunkAt(x, z));
+        job.record(success ? 1 : -1, System.nanoTime() - start);
+        return true;
+    }
+
+    /**
+     * Traite les chunks non chargés d'une tranche : une suppression les
+     * programme sur disque en une seule fois, les autres actions les ignorent
+     * @param job Tâche
+     * @param keys Clés des chunks non chargés
+     */
+    private void processUnloaded(BatchJob job, long[] keys) {
+        if (keys.length == 0) {
+            return;
+        }
+        boolean delete = job.getAction() == ChunkAction.DELETE;
+        if (delete) {
+            plugin.getDeletionQueue().queue(RegionFiles.dimensionFolder(job.getWorld()), keys);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            job.record(delete ? 1 : 0, 0L);
+        }
+    }
+
+    /**
+     * Termine une opération groupée et envoie le bilan (thread global)
+     * @param job Tâche
+     */
+    private void finish(BatchJob job) {
+        jobs.remove(job.getId());
+
+        long duration = System.currentTimeMillis() - job.getStartedAt();
+        int applied = job.getApplied();
+        String average = applied > 0 ? String.format("%.2f", job.getBusyMillis() / applied) : "0";
+        String status = job.isCancelled() ? "annulé" : "terminé";
+
+        CommandSender sender = job.getSender();
+        sender.sendMessage(ChatColor.GREEN + "Lot #" + job.getId() + " " + status + " (" + job.getAction().getLabel() + ")");
+        sender.sendMessage(ChatColor.GRAY + "  Appliqués: " + ChatColor.WHITE + applied + "/" + job.getTotal()
+                + ChatColor.GRAY + " | Non chargés: " + ChatColor.WHITE + job.getSkipped()
+                + ChatColor.GRAY + " | Échecs: " + ChatColor.WHITE + job.getFailed());
+        sender.sendMessage(ChatColor.GRAY + "  Durée: " + ChatColor.WHITE + (duration / 1000.0) + "s"
+                + ChatColor.GRAY + " | Temps de travail: " + ChatColor.WHITE + String.format("%.1f", job.getBusyMillis()) + "ms"
+                + ChatColor.GRAY + " (" + average + " ms/chunk)");
+        if (job.getAction() == ChunkAction.DELETE && applied > 0) {
+            sender.sendMessage(ChatColor.GRAY + "  Les chunks supprimés seront effacés du disque au prochain démarrage,"
+                    + " sauf s'ils sont rechargés d'ici là (/arkchunk deletions cancel pour tout annuler)");
+        }
+
+        plugin.getLogger().info("Lot #" + job.getId() + " " + status + ": " + job.getAction().getLabel() + " de " + applied + "/"
+                + job.getTotal() + " chunks en " + (duration / 1000.0) + "s (" + job.getSkipped() + " non chargés, "
+                + job.getFailed() + " échecs)");
+    }
+}
@@ -0,0 +1,84 @@
+package com.arklandia.arkchunk.batch;
+
+import com.arklandia.arkchunk.managers.ChunkManager;
+import org.bukkit.Chunk;
+
+/**
+ * Actions applicables à une zone de chunks
+ */
+public enum ChunkAction {
+
+    DELETE("delete", "Suppression") {
+        @Override
+        public boolean apply(ChunkManager chunkManager, Chunk chunk) {
+            return chunkManager.deleteChunk(chunk, false);
+        }
+    },
+
+    RESET("reset", "Réinitialisation") {
+        @Override
+        public boolean apply(ChunkManager chunkManager, Chunk chunk) {
+            return chunkManager.resetChunk(chunk, false);
+        }
+    },
+
+    UNLOAD("unload", "Déchargement") {
+        @Override
+        public boolean apply(ChunkManager chunkManager, Chunk chunk) {
+            return chunkManager.unloadChunk(chunk, false);
+        }
+    },
+
+    RELOAD("reload", "Réinstallation") {
+        @Override
+        public boolean apply(ChunkManager chunkManager, Chunk chunk) {
+            return chunkManager.reloadChunk(chunk, false);
+        }
+    };
+
+    private final String command;
+    private final String label;
+
+    ChunkAction(String command, String label) {
+        this.command = command;
+        this.label = label;
+    }
+
+    /**
+     * Applique l'action à un chunk chargé (thread qui possède le chunk)
+     * @param chunkManager ChunkManager
+     * @param chunk Chunk cible
+     * @return true si succès, false sinon
+     */
+    public abstract boolean apply(ChunkManager chunkManager, Chunk chunk);
+
+    /**
+     * Nom de la sous-commande
+     * @return Nom
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Libellé affiché dans les messages
+     * @return Libellé
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Retrouve une action par sa sous-commande
+     * @param command Sous-commande
+     * @return ChunkAction ou null
+     */
+    public static ChunkAction fromCommand(String command) {
+        for (ChunkAction action : values()) {
+            if (action.command.equalsIgnoreCase(command)) {
+                return action;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,128 @@
+package com.arklandia.arkchunk.batch;
+
+import com.arklandia.arkchunk.util.ChunkKeys;
+
+import java.util.Arrays;
+
+/**
+ * Construction de listes de chunks triées par fichier région (.mca) : les
+ * chunks d'une même région sont contigus, dans l'ordre de l'en-tête (x + z * 32)
+ */
+public final class ChunkArea {
+
+    private ChunkArea() {
+    }
+
+    /**
+     * Nombre de chunks d'un rectangle
+     * @return Nombre de chunks (long pour détecter les zones démesurées)
+     */
+    public static long count(int x1, int z1, int x2, int z2) {
+        return ((long) Math.abs(x2 - x1) + 1) * ((long) Math.abs(z2 - z1) + 1);
+    }
+
+    /**
+     * Chunks d'un rectangle, coins inclus
+     * @param x1 Coordonnée X d'un coin
+     * @param z1 Coordonnée Z d'un coin
+     * @param x2 Coordonnée X du coin opposé
+     * @param z2 Coordonnée Z du coin opposé
+     * @return Clés des chunks, groupées par région
+     */
+    public static long[] rectangle(int x1, int z1, int x2, int z2) {
+        int minX = Math.min(x1, x2);
+        int maxX = Math.max(x1, x2);
+        int minZ = Math.min(z1, z2);
+        int maxZ = Math.max(z1, z2);
+        long[] keys = new long[(int) count(minX, minZ, maxX, maxZ)];
+        int i = 0;
+
+        for (int regionZ = minZ >> 5; regionZ <= maxZ >> 5; regionZ++) {
+            for (int regionX = minX >> 5; regionX <= maxX >> 5; regionX++) {
+                int fromX = Math.max(minX, regionX << 5);
+                int toX = Math.min(maxX, (regionX << 5) + 31);
+                int fromZ = Math.max(minZ, regionZ << 5);
+                int toZ = Math.min(maxZ, (regionZ << 5) + 31);
+                for (int z = fromZ; z <= toZ; z++) {
+                    for (int x = fromX; x <= toX; x++) {
+                        keys[i++] = ChunkKeys.pack(x, z);
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Chunks d'un carré centré
+     * @param centerX Coordonnée X du centre
+     * @param centerZ Coordonnée Z du centre
+     * @param radius Rayon en chunks
+     * @return Clés des chunks, groupées par région
+     */
+    public static long[] radius(int centerX, int centerZ, int radius) {
+        return rectangle(centerX - radius, centerZ - radius, centerX + radius, centerZ + radius);
+    }
+
+    /**
+     * Trie des clés quelconques par région puis dans l'ordre de l'en-tête
+     * @param keys Clés des chunks (modifiées)
+     * @return Les mêmes clés, triées
+     */
+    public static long[] sortByRegion(long[] keys) {
+        long[] sortKeys = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sortKeys[i] = sortKey(keys[i]);
+        }
+        Arrays.sort(sortKeys);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = fromSortKey(sortKeys[i]);
+        }
+        return keys;
+    }
+
+    /**
+     * Index de début de chaque région dans une liste triée, suivi de la taille
+     * @param keys Clés triées par région
+     * @return Bornes des groupes (longueur = nombre de régions + 1)
+     */
+    public static int[] regionStarts(long[] keys) {
+        int[] starts = new int[keys.length + 1];
+        int groups = 0;
+        long previous = 0L;
+        for (int i = 0; i < keys.length; i++) {
+            long region = region(keys[i]);
+            if (i == 0 || region != previous) {
+                starts[groups++] = i;
+                previous = region;
+            }
+        }
+        starts[groups++] = keys.length;
+        return Arrays.copyOf(starts, groups);
+    }
+
+    /**
+     * Clé de la région d'un chunk
+     * @param key Clé du chunk
+     * @return Clé (regionX, regionZ)
+     */
+    public static long region(long key) {
+        return ChunkKeys.pack(ChunkKeys.x(key) >> 5, ChunkKeys.z(key) >> 5);
+    }
+
+    // Région (z puis x, décalés en positif sur 22 bits) puis index local sur 10 bits
+    private static long sortKey(long key) {
+        int x = ChunkKeys.x(key);
+        int z = ChunkKeys.z(key);
+        long regionZ = (z >> 5) + (1L << 21);
+        long regionX = (x >> 5) + (1L << 21);
+        return (regionZ << 32) | (regionX << 10) | ((z & 31) << 5) | (x & 31);
+    }
+
+    private static long fromSortKey(long sortKey) {
+        int regionZ = (int) ((sortKey >>> 32) - (1L << 21));
+        int regionX = (int) (((sortKey >>> 10) & ((1L << 22) - 1)) - (1L << 21));
+        int local = (int) (sortKey & 1023);
+        return ChunkKeys.pack((regionX << 5) | (local & 31), (regionZ << 5) | (local >> 5));
+    }
+}
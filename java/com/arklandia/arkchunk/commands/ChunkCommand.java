@@ -1,8 +1,24 @@
 package com.arklandia.arkchunk.commands;
 
 import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.batch.BatchJob;
+import com.arklandia.arkchunk.batch.BatchRunner;
+import com.arklandia.arkchunk.batch.ChunkAction;
+import com.arklandia.arkchunk.batch.ChunkArea;
 import com.arklandia.arkchunk.managers.ChunkManager;
 import com.arklandia.arkchunk.managers.ChunkMonitor;
+import com.arklandia.arkchunk.managers.HeatmapExporter;
+import com.arklandia.arkchunk.managers.LoadLatencyStats;
+import com.arklandia.arkchunk.metrics.LogLinearHistogram;
+import com.arklandia.arkchunk.preload.ChunkTickets;
+import com.arklandia.arkchunk.preload.PreloadOrder;
+import com.arklandia.arkchunk.profiler.ChunkCostProfiler;
+import com.arklandia.arkchunk.region.ChunkDeletionQueue;
+import com.arklandia.arkchunk.region.RegionFiles;
+import com.arklandia.arkchunk.region.RegionMaintenance;
+import com.arklandia.arkchunk.region.RegionStats;
+import com.arklandia.arkchunk.region.WorldTrimmer;
+import com.arklandia.arkchunk.rules.DetectionRules;
 import net.md_5.bungee.api.ChatColor;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
@@ -12,6 +28,14 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.LongStream;
+
 /**
  * Gestionnaire des commandes du plugin
  */
@@ -19,12 +43,12 @@ public class ChunkCommand implements CommandExecutor {
 
     private final ArkChunk plugin;
     private final ChunkManager chunkManager;
-    private final ChunkMonitor chunkMonitor;
+    private final StatusReport statusReport;
 
     public ChunkCommand(ArkChunk plugin) {
         this.plugin = plugin;
         this.chunkManager = plugin.getChunkManager();
-        this.chunkMonitor = plugin.getChunkMonitor();
+        this.statusReport = new StatusReport(plugin);
     }
 
     @Override
@@ -44,6 +68,8 @@ public class ChunkCommand implements CommandExecutor {
         return switch (subCommand) {
             case "preload" -> handlePreload(sender, args);
             case "stoppreload" -> handleStopPreload(sender, args);
+            case "stopbatch" -> handleStopBatch(sender, args);
+            case "tickets" -> handleTickets(sender, args);
             case "status" -> handleStatus(sender, args);
             case "delete" -> handleDelete(sender, args);
             case "reset" -> handleReset(sender, args);
@@ -51,6 +77,15 @@ public class ChunkCommand implements CommandExecutor {
             case "reload" -> handleReload(sender, args);
             case "info" -> handleInfo(sender, args);
             case "problems" -> handleProblems(sender, args);
+            case "top" -> handleTop(sender, args);
+            case "thrash" -> handleThrash(sender, args);
+            case "latency" -> handleLatency(sender, args);
+            case "rules" -> handleRules(sender, args);
+            case "heatmap" -> handleHeatmap(sender, args);
+            case "trim" -> handleTrim(sender, args);
+            case "regions" -> handleRegions(sender, args);
+            case "compact" -> handleCompact(sender, args);
+            case "deletions" -> handleDeletions(sender, args);
             case "actions" -> handleActions(sender, args);
             case "help" -> {
                 sendHelpMessage(sender);
@@ -87,15 +122,55 @@ public class ChunkCommand implements CommandExecutor {
                 return true;
             }
         }
+        if (radius < 0) {
+            sender.sendMessage(ChatColor.RED + "Le rayon doit être positif");
+            return true;
+        }
+        int maxRadius = chunkManager.getPreloadEngine().getMaxRadius();
+        if (radius > maxRadius) {
+            sender.sendMessage(ChatColor.RED + "Rayon trop grand (maximum: " + maxRadius + ", config preload.max-radius)");
+            return true;
+        }
+
+        PreloadOrder order = chunkManager.getPreloadEngine().getDefaultOrder();
+        if (args.length > 2) {
+            order = PreloadOrder.fromName(args[2]);
+            if (order == null) {
+                sender.sendMessage(ChatColor.RED + "Ordre invalide (lignes, spirale, region, cercle)");
+                return true;
+            }
+        }
+
+        ChunkTickets tickets = chunkManager.getPreloadEngine().getTickets();
+        long ttlMillis = tickets.getDefaultTtlMillis();
+        if (args.length > 3) {
+            try {
+                ttlMillis = Math.max(0L, Long.parseLong(args[3])) * 60_000L;
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "Durée de rétention invalide (minutes)");
+                return true;
+            }
+        }
+        final long retention = ttlMillis;
 
-        int taskId = chunkManager.preloadAroundPlayer(player, radius, () -> {
+        Chunk center = player.getChunk();
+        int taskId = chunkManager.preloadChunks(player.getWorld(), center.getX(), center.getZ(), radius, order, retention, () -> {
             player.sendMessage(ChatColor.GREEN + "✓ Préchargement terminé!");
+            if (retention > 0) {
+                player.sendMessage(ChatColor.GRAY + "Chunks gardés en mémoire pendant " + (retention / 60_000L) + " min (/arkchunk tickets)");
+            }
         }, (loaded, total) -> {
             // Envoyer la progression au joueur
             player.sendMessage(ChatColor.YELLOW + ChunkManager.getProgressBar(loaded, total));
         });
         
-        sender.sendMessage(ChatColor.YELLOW + "Préchargement des chunks en cours... (rayon: " + radius + ")");
+        sender.sendMessage(ChatColor.YELLOW + "Préchargement des chunks en cours... (rayon: " + radius + ", ordre: " + order.getName()
+            + (retention > 0 ? ", rétention: " + (retention / 60_000L) + " min" : "") + ")");
+        int side = 2 * radius + 1;
+        if (retention > 0 && (long) side * side > tickets.getMaxResident() - tickets.getResident()) {
+            sender.sendMessage(ChatColor.GOLD + "⚠ Budget de rétention insuffisant: " + (tickets.getMaxResident() - tickets.getResident())
+                + " chunks disponibles sur " + tickets.getMaxResident() + ", le reste sera chargé sans ticket");
+        }
         sender.sendMessage(ChatColor.GRAY + "ID de la tâche: " + taskId + " (utilisez /arkchunk stoppreload " + taskId + " pour l'arrêter)");
 
         return true;
@@ -135,22 +210,86 @@ public class ChunkCommand implements CommandExecutor {
         return true;
     }
 
+    /**
+     * Gère la commande tickets
+     */
+    private boolean handleTickets(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("arkchunk.preload")) {
+            sender.sendMessage(ChatColor.RED + "Permission insuffisante: arkchunk.preload");
+            return true;
+        }
+
+        ChunkTickets tickets = chunkManager.getPreloadEngine().getTickets();
+        if (args.length > 1 && args[1].equalsIgnoreCase("release")) {
+            if (args.length > 2) {
+                try {
+                    int leaseId = Integer.parseInt(args[2]);
+                    int released = tickets.release(leaseId);
+                    if (released >= 0) {
+                        sender.sendMessage(ChatColor.GREEN + "Tickets du préchargement #" + leaseId + " libérés (" + released + " chunks)");
+                    } else {
+                        sender.sendMessage(ChatColor.RED + "Aucun ticket pour le préchargement #" + leaseId);
+                    }
+                } catch (NumberFormatException e) {
+                    sender.sendMessage(ChatColor.RED + "ID de tâche invalide");
+                }
+            } else {
+                sender.sendMessage(ChatColor.GREEN + "Tous les tickets ont été libérés (" + tickets.releaseAll() + " chunks)");
+            }
+            return true;
+        }
+
+        sender.sendMessage(ChatColor.GOLD + "════════ Tickets de chunks ════════");
+        sender.sendMessage(ChatColor.YELLOW + "Chunks retenus: " + ChatColor.WHITE + tickets.getResident() + "/" + tickets.getMaxResident());
+        long now = System.currentTimeMillis();
+        for (ChunkTickets.Lease lease : tickets.getLeases()) {
+            World world = Bukkit.getWorld(lease.getWorldId());
+            String expiry = lease.getExpiresAt() == Long.MAX_VALUE ? "préchargement en cours"
+                : "expire dans " + Math.max(0L, (lease.getExpiresAt() - now) / 1000L) + "s";
+            sender.sendMessage(ChatColor.YELLOW + "  #" + lease.getId() + " " + (world != null ? world.getName() : lease.getWorldId()) + ": "
+                + ChatColor.WHITE + lease.getHeld() + " chunks" + ChatColor.GRAY + " (" + expiry
+                + (lease.getRefused() > 0 ? ", " + lease.getRefused() + " hors budget" : "") + ")");
+        }
+        sender.sendMessage(ChatColor.GRAY + "Utilisez /arkchunk tickets release [ID] pour libérer");
+        sender.sendMessage(ChatColor.GOLD + "═══════════════════════════════════");
+
+        return true;
+    }
+
+    /**
+     * Gère la commande stopbatch
+     */
+    private boolean handleStopBatch(CommandSender sender, String[] args) {
+        BatchRunner batchRunner = plugin.getBatchRunner();
+
+        if (args.length > 1) {
+            try {
+                int jobId = Integer.parseInt(args[1]);
+                if (batchRunner.cancel(jobId)) {
+                    sender.sendMessage(ChatColor.GREEN + "Lot #" + jobId + " annulé!");
+                } else {
+                    sender.sendMessage(ChatColor.RED + "Lot #" + jobId + " introuvable");
+                }
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "ID de lot invalide");
+            }
+        } else {
+            int count = batchRunner.cancelAll();
+            if (count > 0) {
+                sender.sendMessage(ChatColor.GREEN + "Toutes les opérations groupées ont été annulées (" + count + " lots)");
+            } else {
+                sender.sendMessage(ChatColor.YELLOW + "Aucune opération groupée en cours");
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Gère la commande status
      */
     private boolean handleStatus(CommandSender sender, String[] args) {
-        sender.sendMessage(ChatColor.GOLD + "════════ Status ArkChunk ════════");
-        sender.sendMessage(ChatColor.YELLOW + "Chunks problématiques: " + ChatColor.WHITE + chunkMonitor.getProblemChunkCount());
-        
-        int loadedChunks = 0;
-        for (World world : Bukkit.getWorlds()) {
-            loadedChunks += world.getLoadedChunks().length;
-        }
-        
-        sender.sendMessage(ChatColor.YELLOW + "Chunks chargés: " + ChatColor.WHITE + loadedChunks);
-        sender.sendMessage(ChatColor.YELLOW + "Mondes actifs: " + ChatColor.WHITE + Bukkit.getWorlds().size());
-        sender.sendMessage(ChatColor.GOLD + "════════════════════════════════");
-        
+        statusReport.sendStatus(sender);
         return true;
     }
 
@@ -168,8 +307,12 @@ public class ChunkCommand implements CommandExecutor {
             return true;
         }
 
+        if (args.length >= 2 && isAreaSelector(args[1])) {
+            return handleArea(player, ChunkAction.DELETE, args);
+        }
+
         if (args.length < 3) {
-            sender.sendMessage(ChatColor.RED + "Usage: /arkchunk delete <x> <z>");
+            sender.sendMessage(ChatColor.RED + "Usage: /arkchunk delete <x> <z> | radius <rayon> | rect <x1> <z1> <x2> <z2> | problems");
             return true;
         }
 
@@ -177,13 +320,17 @@ public class ChunkCommand implements CommandExecutor {
             int x = Integer.parseInt(args[1]);
             int z = Integer.parseInt(args[2]);
             
-            Chunk chunk = player.getWorld().getChunkAt(x, z);
+            World world = player.getWorld();
             
-            if (chunkManager.deleteChunk(chunk)) {
-                sender.sendMessage(ChatColor.GREEN + "Chunk supprimé avec succès!");
-            } else {
-                sender.sendMessage(ChatColor.RED + "Erreur lors de la suppression du chunk");
-            }
+            // Sur le thread qui possède le chunk (thread principal hors Folia)
+            plugin.getTaskScheduler().executeAt(world, x, z, () -> {
+                if (chunkManager.deleteChunk(world.getChunkAt(x, z))) {
+                    sender.sendMessage(ChatColor.GREEN + "Chunk supprimé avec succès! Il sera effacé du disque au prochain démarrage.");
+                    sender.sendMessage(ChatColor.GRAY + "S'il est rechargé d'ici là, la suppression est abandonnée (/arkchunk deletions)");
+                } else {
+                    sender.sendMessage(ChatColor.RED + "Impossible de supprimer le chunk (toujours chargé ou erreur, voir la console)");
+                }
+            });
         } catch (NumberFormatException e) {
             sender.sendMessage(ChatColor.RED + "Coordonnées invalides");
         }
@@ -205,8 +352,12 @@ public class ChunkCommand implements CommandExecutor {
             return true;
         }
 
+        if (args.length >= 2 && isAreaSelector(args[1])) {
+            return handleArea(player, ChunkAction.RESET, args);
+        }
+
         if (args.length < 3) {
-            sender.sendMessage(ChatColor.RED + "Usage: /arkchunk reset <x> <z>");
+            sender.sendMessage(ChatColor.RED + "Usage: /arkchunk reset <x> <z> | radius <rayon> | rect <x1> <z1> <x2> <z2> | problems");
             return true;
         }
 
@@ -214,11 +365,11 @@ public class ChunkCommand implements CommandExecutor {
             int x = Integer.parseInt(args[1]);
             int z = Integer.parseInt(args[2]);
             
-            Chunk chunk = player.getWorld().getChunkAt(x, z);
+            World world = player.getWorld();
             sender.sendMessage(ChatColor.YELLOW + "Réinitialisation du chunk...");
             
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-                if (chunkManager.resetChunk(chunk)) {
+            plugin.getTaskScheduler().executeAt(world, x, z, () -> {
+                if (chunkManager.resetChunk(world.getChunkAt(x, z))) {
                     player.sendMessage(ChatColor.GREEN + "Chunk réinitialisé avec succès!");
                 } else {
                     player.sendMessage(ChatColor.RED + "Erreur lors de la réinitialisation du chunk");
@@ -245,8 +396,12 @@ public class ChunkCommand implements CommandExecutor {
             return true;
         }
 
+        if (args.length >= 2 && isAreaSelector(args[1])) {
+            return handleArea(player, ChunkAction.UNLOAD, args);
+        }
+
         if (args.length < 3) {
-            sender.sendMessage(ChatColor.RED + "Usage: /arkchunk unload <x> <z>");
+            sender.sendMessage(ChatColor.RED + "Usage: /arkchunk unload <x> <z> | radius <rayon> | rect <x1> <z1> <x2> <z2> | problems");
             return true;
         }
 
@@ -254,13 +409,15 @@ public class ChunkCommand implements CommandExecutor {
             int x = Integer.parseInt(args[1]);
             int z = Integer.parseInt(args[2]);
             
-            Chunk chunk = player.getWorld().getChunkAt(x, z);
+            World world = player.getWorld();
             
-            if (chunkManager.unloadChunk(chunk)) {
-                sender.sendMessage(ChatColor.GREEN + "Chunk déchargé avec succès!");
-            } else {
-                sender.sendMessage(ChatColor.RED + "Erreur lors du déchargement du chunk");
-            }
+            plugin.getTaskScheduler().executeAt(world, x, z, () -> {
+                if (chunkManager.unloadChunk(world.getChunkAt(x, z))) {
+                    sender.sendMessage(ChatColor.GREEN + "Chunk déchargé avec succès!");
+                } else {
+                    sender.sendMessage(ChatColor.RED + "Erreur lors du déchargement du chunk");
+                }
+            });
         } catch (NumberFormatException e) {
             sender.sendMessage(ChatColor.RED + "Coordonnées invalides");
         }
@@ -282,8 +439,12 @@ public class ChunkCommand implements CommandExecutor {
             return true;
         }
 
+        if (args.length >= 2 && isAreaSelector(args[1])) {
+            return handleArea(player, ChunkAction.RELOAD, args);
+        }
+
         if (args.length < 3) {
-            sender.sendMessage(ChatColor.RED + "Usage: /arkchunk reload <x> <z>");
+            sender.sendMessage(ChatColor.RED + "Usage: /arkchunk reload <x> <z> | radius <rayon> | rect <x1> <z1> <x2> <z2> | problems");
             return true;
         }
 
@@ -291,11 +452,11 @@ public class ChunkCommand implements CommandExecutor {
             int x = Integer.parseInt(args[1]);
             int z = Integer.parseInt(args[2]);
             
-            Chunk chunk = player.getWorld().getChunkAt(x, z);
+            World world = player.getWorld();
             sender.sendMessage(ChatColor.YELLOW + "Réinstallation du chunk...");
             
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-                if (chunkManager.reloadChunk(chunk)) {
+            plugin.getTaskScheduler().executeAt(world, x, z, () -> {
+                if (chunkManager.reloadChunk(world.getChunkAt(x, z))) {
                     player.sendMessage(ChatColor.GREEN + "Chunk réinstallé avec succès!");
                 } else {
                     player.sendMessage(ChatColor.RED + "Erreur lors de la réinstallation du chunk");
@@ -308,6 +469,300 @@ public class ChunkCommand implements CommandExecutor {
         return true;
     }
 
+    /**
+     * Vérifie si un argument désigne une zone plutôt qu'une coordonnée
+     */
+    private boolean isAreaSelector(String arg) {
+        return arg.equalsIgnoreCase("radius") || arg.equalsIgnoreCase("rect") || arg.equalsIgnoreCase("problems");
+    }
+
+    /**
+     * Gère les variantes par zone de delete, reset, unload et reload
+     */
+    private boolean handleArea(Player player, ChunkAction action, String[] args) {
+        World world = player.getWorld();
+        int maxChunks = plugin.getBatchRunner().getMaxChunks();
+        long[] keys;
+
+        try {
+            switch (args[1].toLowerCase()) {
+                case "radius" -> {
+                    if (args.length < 3) {
+                        player.sendMessage(ChatColor.RED + "Usage: /arkchunk " + action.getCommand() + " radius <rayon>");
+                        return true;
+                    }
+                    int radius = Integer.parseInt(args[2]);
+                    if (radius < 0) {
+                        player.sendMessage(ChatColor.RED + "Le rayon doit être positif");
+                        return true;
+                    }
+                    int centerX = player.getLocation().getBlockX() >> 4;
+                    int centerZ = player.getLocation().getBlockZ() >> 4;
+                    if (ChunkArea.count(centerX - radius, centerZ - radius, centerX + radius, centerZ + radius) > maxChunks) {
+                        player.sendMessage(ChatColor.RED + "Zone trop grande (maximum " + maxChunks + " chunks)");
+                        return true;
+                    }
+                    keys = ChunkArea.radius(centerX, centerZ, radius);
+                }
+                case "rect" -> {
+                    if (args.length < 6) {
+                        player.sendMessage(ChatColor.RED + "Usage: /arkchunk " + action.getCommand() + " rect <x1> <z1> <x2> <z2>");
+                        return true;
+                    }
+                    int x1 = Integer.parseInt(args[2]);
+                    int z1 = Integer.parseInt(args[3]);
+                    int x2 = Integer.parseInt(args[4]);
+                    int z2 = Integer.parseInt(args[5]);
+                    if (ChunkArea.count(x1, z1, x2, z2) > maxChunks) {
+                        player.sendMessage(ChatColor.RED + "Zone trop grande (maximum " + maxChunks + " chunks)");
+                        return true;
+                    }
+                    keys = ChunkArea.rectangle(x1, z1, x2, z2);
+                }
+                default -> {
+                    LongStream.Builder problems = LongStream.builder();
+                    chunkManager.getIndex(world).forEachProblem((key, loadNanos, loadedAt) -> problems.add(key));
+                    keys = ChunkArea.sortByRegion(problems.build().limit(maxChunks).toArray());
+                }
+            }
+        } catch (NumberFormatException e) {
+            player.sendMessage(ChatColor.RED + "Coordonnées invalides");
+            return true;
+        }
+
+        if (keys.length == 0) {
+            player.sendMessage(ChatColor.YELLOW + "Aucun chunk à traiter");
+            return true;
+        }
+
+        BatchJob job = plugin.getBatchRunner().submit(world, action, keys, player);
+        player.sendMessage(ChatColor.GREEN + "Lot #" + job.getId() + " démarré: " + action.getLabel() + " de " + job.getTotal()
+            + " chunks (" + job.getRegionCount() + " régions)");
+        player.sendMessage(ChatColor.GRAY + "Utilisez /arkchunk stopbatch " + job.getId() + " pour l'annuler");
+        return true;
+    }
+
+    /**
+     * Gère la commande trim
+     */
+    private boolean handleTrim(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("arkchunk.trim")) {
+            sender.sendMessage(ChatColor.RED + "Permission insuffisante: arkchunk.trim");
+            return true;
+        }
+
+        if (args.length < 2) {
+            sender.sendMessage(ChatColor.RED + "Usage: /arkchunk trim <monde> [seuil-ticks] [simulation]");
+            return true;
+        }
+
+        String worldName = args[1];
+        long maxInhabitedTicks = plugin.getConfig().getLong("trim.max-inhabited-ticks", 200L);
+        boolean dryRun = false;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equalsIgnoreCase("simulation")) {
+                dryRun = true;
+                continue;
+            }
+            try {
+                maxInhabitedTicks = Long.parseLong(args[i]);
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "Seuil invalide: " + args[i]);
+                return true;
+            }
+        }
+
+        boolean started = chunkManager.trimWorld(worldName, maxInhabitedTicks, dryRun, report -> {
+            if (report == null) {
+                sender.sendMessage(ChatColor.RED + "Erreur lors du nettoyage du monde " + worldName + " (voir la console)");
+                return;
+            }
+            sendTrimReport(sender, report);
+        });
+
+        if (!started) {
+            sender.sendMessage(ChatColor.RED + "Monde introuvable ou nettoyage déjà en cours: " + worldName);
+            return true;
+        }
+
+        sender.sendMessage(ChatColor.YELLOW + "Nettoyage de " + worldName + (dryRun ? " (simulation)" : "")
+            + " démarré: chunks occupés moins de " + maxInhabitedTicks + " ticks");
+        return true;
+    }
+
+    /**
+     * Envoie le rapport d'un nettoyage
+     */
+    private void sendTrimReport(CommandSender sender, WorldTrimmer.Report report) {
+        sender.sendMessage(ChatColor.GOLD + "════════ Nettoyage " + report.world + (report.dryRun ? " (simulation)" : "") + " ════════");
+        sender.sendMessage(ChatColor.YELLOW + "Fichiers région: " + ChatColor.WHITE + report.files
+            + (report.failedFiles > 0 ? ChatColor.RED + " (" + report.failedFiles + " en erreur)" : ""));
+        sender.sendMessage(ChatColor.YELLOW + "Chunks analysés: " + ChatColor.WHITE + report.chunks
+            + ChatColor.GRAY + " (" + report.protectedChunks + " protégés, " + report.unreadable + " illisibles)");
+        sender.sendMessage(ChatColor.YELLOW + (report.dryRun ? "Chunks à supprimer: " : "Chunks supprimés: ") + ChatColor.WHITE + report.deleted);
+        sender.sendMessage(ChatColor.YELLOW + "Secteurs libérés: " + ChatColor.WHITE + String.format("%.1f", report.getMegabytes()) + " Mo"
+            + ChatColor.GRAY + " (" + report.filesRemoved + " fichiers vides supprimés)");
+        if (!report.dryRun && report.deleted > 0) {
+            sender.sendMessage(ChatColor.GRAY + "Les fichiers région ne rétrécissent pas : /arkchunk compact " + report.world + " rend cet espace au disque");
+        }
+        sender.sendMessage(ChatColor.YELLOW + "Durée: " + ChatColor.WHITE + (report.durationMillis / 1000.0) + "s");
+        if (report.deferred) {
+            sender.sendMessage(ChatColor.GRAY + "Monde chargé : suppression appliquée au prochain démarrage, sauf pour les chunks rechargés d'ici là");
+        }
+        sender.sendMessage(ChatColor.GOLD + "═════════════════════════════");
+    }
+
+    /**
+     * Gère la commande regions
+     */
+    private boolean handleRegions(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("arkchunk.monitor")) {
+            sender.sendMessage(ChatColor.RED + "Permission insuffisante: arkchunk.monitor");
+            return true;
+        }
+
+        if (args.length < 2) {
+            sender.sendMessage(ChatColor.RED + "Usage: /arkchunk regions <monde>");
+            return true;
+        }
+
+        String worldName = args[1];
+        Path dimensionFolder = RegionFiles.dimensionFolder(worldName);
+        if (dimensionFolder == null) {
+            sender.sendMessage(ChatColor.RED + "Monde introuvable: " + worldName);
+            return true;
+        }
+
+        sender.sendMessage(ChatColor.YELLOW + "Analyse des fichiers région de " + worldName + "...");
+        plugin.getTaskScheduler().runAsync(() -> {
+            List<RegionStats> perFile = new ArrayList<>();
+            try {
+                RegionStats total = RegionStats.analyzeDimension(dimensionFolder, worldName, true, perFile);
+                plugin.getTaskScheduler().executeGlobal(() -> sendRegionReport(sender, total, perFile));
+            } catch (IOException e) {
+                plugin.getLogger().warning("Erreur lors de l'analyse des fichiers région de " + worldName + ": " + e.getMessage());
+                plugin.getTaskScheduler().executeGlobal(() -> sender.sendMessage(ChatColor.RED + "Erreur lors de l'analyse (voir la console)"));
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Envoie le rapport d'analyse des fichiers région
+     */
+    private void sendRegionReport(CommandSender sender, RegionStats total, List<RegionStats> perFile) {
+        sender.sendMessage(ChatColor.GOLD + "════════ Fichiers région " + total.name + " ════════");
+        sender.sendMessage(ChatColor.YELLOW + "Fichiers: " + ChatColor.WHITE + total.files
+            + ChatColor.GRAY + String.format(" (%.1f Mo, %d chunks)", total.fileBytes / (1024.0 * 1024.0), total.chunks));
+        sender.sendMessage(ChatColor.YELLOW + "Secteurs: " + ChatColor.WHITE + total.usedSectors + " utilisés, " + total.freeSectors + " libres"
+            + ChatColor.GRAY + String.format(" (fragmentation %.1f%%)", total.getFragmentation()));
+        sender.sendMessage(ChatColor.YELLOW + "Récupérable par compactage: " + ChatColor.WHITE
+            + String.format("%.1f Mo", total.getReclaimableBytes() / (1024.0 * 1024.0)));
+        if (total.compressedBytes > 0) {
+            sender.sendMessage(ChatColor.YELLOW + "Compression: " + ChatColor.WHITE + String.format("%.1fx", total.getCompressionRatio())
+                + ChatColor.GRAY + String.format(" (par chunk de %.1fx à %.1fx)", total.minChunkRatio, total.maxChunkRatio));
+        }
+        if (total.corrupt > 0) {
+            sender.sendMessage(ChatColor.RED + "Entrées corrompues: " + total.corrupt);
+        }
+        for (RegionStats file : RegionStats.mostFragmented(perFile, 5)) {
+            if (file.freeSectors == 0) {
+                break;
+            }
+            sender.sendMessage(ChatColor.GRAY + "  " + file.name + ": " + ChatColor.WHITE + String.format("%.1f%%", file.getFragmentation())
+                + ChatColor.GRAY + String.format(" (%.1f Mo libres)", file.freeSectors * RegionFiles.SECTOR_SIZE / (1024.0 * 1024.0)));
+        }
+        sender.sendMessage(ChatColor.GOLD + "═════════════════════════════");
+    }
+
+    /**
+     * Gère la commande compact
+     */
+    private boolean handleCompact(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("arkchunk.trim")) {
+            sender.sendMessage(ChatColor.RED + "Permission insuffisante: arkchunk.trim");
+            return true;
+        }
+
+        if (args.length < 2) {
+            sender.sendMessage(ChatColor.RED + "Usage: /arkchunk compact <monde> [fragmentation-min-%]");
+            return true;
+        }
+
+        String worldName = args[1];
+        double minFragmentation = plugin.getConfig().getDouble("region.compact-threshold", 20.0);
+        if (args.length > 2) {
+            try {
+                minFragmentation = Double.parseDouble(args[2]);
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "Seuil invalide: " + args[2]);
+                return true;
+            }
+        }
+
+        Path dimensionFolder = RegionFiles.dimensionFolder(worldName);
+        if (dimensionFolder == null) {
+            sender.sendMessage(ChatColor.RED + "Monde introuvable: " + worldName);
+            return true;
+        }
+
+        RegionMaintenance maintenance = plugin.getRegionMaintenance();
+        if (Bukkit.getWorld(worldName) != null) {
+            // Le serveur garde les fichiers région ouverts : compactage avant le chargement des mondes
+            maintenance.schedule(dimensionFolder, minFragmentation);
+            sender.sendMessage(ChatColor.GREEN + "Monde chargé : compactage de " + worldName + " programmé au prochain démarrage");
+            return true;
+        }
+
+        double threshold = minFragmentation;
+        sender.sendMessage(ChatColor.YELLOW + "Compactage de " + worldName + " (fichiers fragmentés à plus de " + threshold + "%)...");
+        plugin.getTaskScheduler().runAsync(() -> {
+            try {
+                RegionMaintenance.CompactionResult result = maintenance.compactNow(dimensionFolder, threshold);
+                plugin.getLogger().info("Compactage de " + worldName + ": " + result.compacted + "/" + result.files + " fichiers, "
+                    + String.format("%.1f", result.getMegabytes()) + " Mo récupérés");
+                plugin.getTaskScheduler().executeGlobal(() -> sender.sendMessage(ChatColor.GREEN + "Compactage terminé: "
+                    + result.compacted + "/" + result.files + " fichiers compactés, " + String.format("%.1f", result.getMegabytes())
+                    + " Mo récupérés en " + (result.durationMillis / 1000.0) + "s"
+                    + (result.failed > 0 ? ChatColor.RED + " (" + result.failed + " erreurs)" : "")));
+            } catch (IOException e) {
+                plugin.getLogger().warning("Erreur lors du compactage de " + worldName + ": " + e.getMessage());
+                plugin.getTaskScheduler().executeGlobal(() -> sender.sendMessage(ChatColor.RED + "Erreur lors du compactage (voir la console)"));
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Gère la commande deletions
+     */
+    private boolean handleDeletions(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("arkchunk.delete")) {
+            sender.sendMessage(ChatColor.RED + "Permission insuffisante: arkchunk.delete");
+            return true;
+        }
+
+        ChunkDeletionQueue queue = plugin.getDeletionQueue();
+        if (args.length > 1) {
+            if (!args[1].equalsIgnoreCase("cancel")) {
+                sender.sendMessage(ChatColor.RED + "Usage: /arkchunk deletions [cancel]");
+                return true;
+            }
+            int cancelled = queue.cancelAll();
+            sender.sendMessage(ChatColor.GREEN + "✓ " + cancelled + " suppressions en attente annulées");
+            plugin.getLogger().info(sender.getName() + " a annulé " + cancelled + " suppressions en attente");
+            return true;
+        }
+
+        int pending = queue.getPendingCount();
+        sender.sendMessage(ChatColor.YELLOW + "Suppressions en attente: " + ChatColor.WHITE + pending
+            + ChatColor.GRAY + " (appliquées au prochain démarrage)");
+        if (pending > 0) {
+            sender.sendMessage(ChatColor.GRAY + "Un chunk rechargé d'ici là est conservé ; /arkchunk deletions cancel pour tout annuler");
+        }
+        return true;
+    }
+
     /**
      * Gère la commande info
      */
@@ -330,10 +785,16 @@ public class ChunkCommand implements CommandExecutor {
         sender.sendMessage(ChatColor.YELLOW + "Entités: " + ChatColor.WHITE + chunk.getEntities().length);
         sender.sendMessage(ChatColor.YELLOW + "Tile Entities: " + ChatColor.WHITE + chunk.getTileEntities(false).length);
         sender.sendMessage(ChatColor.YELLOW + "Problématique: " + ChatColor.WHITE + (chunkManager.isProblemChunk(chunk) ? ChatColor.RED + "OUI" : ChatColor.GREEN + "NON"));
+        if (plugin.getChunkProfiler().isEnabled()) {
+            sender.sendMessage(ChatColor.YELLOW + "Coût mesuré: " + ChatColor.WHITE + String.format("%.2f", chunkManager.getTickCost(chunk) / 1000.0) + "ms/tick");
+        }
         
         ChunkManager.ChunkData data = chunkManager.getChunkData(chunk);
         if (data != null) {
-            sender.sendMessage(ChatColor.YELLOW + "Temps de chargement: " + ChatColor.WHITE + data.loadTime + "ms");
+            String source = data.generated ? "génération" : "disque";
+            sender.sendMessage(ChatColor.YELLOW + "Temps de chargement: " + ChatColor.WHITE
+                + (data.loadNanos < 0 ? "inconnu" : String.format("%.2f", data.loadNanos / 1_000_000.0) + "ms")
+                + ChatColor.GRAY + " (" + source + ")");
         }
         
         sender.sendMessage(ChatColor.GOLD + "═════════════════════════════");
@@ -350,13 +811,247 @@ public class ChunkCommand implements CommandExecutor {
             return true;
         }
 
-        sender.sendMessage(ChatColor.GOLD + "════════ Chunks Problématiques ════════");
-        sender.sendMessage(chunkMonitor.getProblemChunksSummary());
-        sender.sendMessage(ChatColor.GOLD + "════════════════════════════════════════");
+        statusReport.sendProblems(sender);
+
+        return true;
+    }
+
+    /**
+     * Gère la commande top
+     */
+    private boolean handleTop(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("arkchunk.monitor")) {
+            sender.sendMessage(ChatColor.RED + "Permission insuffisante: arkchunk.monitor");
+            return true;
+        }
+
+        ChunkCostProfiler profiler = plugin.getChunkProfiler();
+        if (!profiler.isEnabled()) {
+            sender.sendMessage(ChatColor.RED + "Le profileur est désactivé (profiler.enabled dans config.yml)");
+            return true;
+        }
+
+        int limit = 10;
+        if (args.length > 1) {
+            try {
+                limit = Math.max(1, Integer.parseInt(args[1]));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "Nombre invalide");
+                return true;
+            }
+        }
+
+        sender.sendMessage(ChatColor.GOLD + "════════ Chunks les plus coûteux ════════");
+        List<ChunkCostProfiler.ChunkCost> top = profiler.getTopChunks(limit);
+        if (top.isEmpty()) {
+            sender.sendMessage(ChatColor.GRAY + "Aucune mesure pour le moment (attendre la fin d'une fenêtre et d'un scan)");
+        }
+        for (ChunkCostProfiler.ChunkCost cost : top) {
+            sender.sendMessage(ChatColor.YELLOW + "  - " + cost.world + " " + cost.x + ", " + cost.z + ": "
+                + ChatColor.WHITE + String.format("%.2f", cost.getMillisPerTick()) + "ms/tick");
+        }
+
+        ChunkCostProfiler.Costs costs = profiler.getCosts();
+        sendTopTypes(sender, "Entités", costs.entities);
+        sendTopTypes(sender, "Tile entities", costs.blockEntities);
+        sender.sendMessage(ChatColor.GOLD + "══════════════════════════════════════════");
+
+        return true;
+    }
+
+    /**
+     * Gère la commande thrash
+     */
+    private boolean handleThrash(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("arkchunk.monitor")) {
+            sender.sendMessage(ChatColor.RED + "Permission insuffisante: arkchunk.monitor");
+            return true;
+        }
+
+        int limit = 10;
+        if (args.length > 1) {
+            try {
+                limit = Math.max(1, Integer.parseInt(args[1]));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "Nombre invalide");
+                return true;
+            }
+        }
+
+        sender.sendMessage(ChatColor.GOLD + "════════ Chunks instables ════════");
+        List<ChunkManager.ChunkActivity> thrashing = chunkManager.getThrashingChunks(limit);
+        if (thrashing.isEmpty()) {
+            sender.sendMessage(ChatColor.GRAY + "Aucun chunk ne se charge et se décharge en boucle");
+        }
+        for (ChunkManager.ChunkActivity activity : thrashing) {
+            World world = Bukkit.getWorld(activity.worldId);
+            String worldName = world != null ? world.getName() : activity.worldId.toString();
+            sender.sendMessage(ChatColor.YELLOW + "  - " + worldName + " " + activity.x + ", " + activity.z + ": "
+                + ChatColor.WHITE + String.format("≈%.1f cycles/min", chunkManager.toPerMinute(activity.getCycles()))
+                + (activity.loaded ? ChatColor.GREEN + " (chargé)" : ChatColor.GRAY + " (déchargé)"));
+        }
+        sender.sendMessage(ChatColor.GOLD + "══════════════════════════════════");
+
+        return true;
+    }
+
+    /**
+     * Gère la commande latency
+     */
+    private boolean handleLatency(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("arkchunk.monitor")) {
+            sender.sendMessage(ChatColor.RED + "Permission insuffisante: arkchunk.monitor");
+            return true;
+        }
+
+        List<World> worlds;
+        if (args.length > 1) {
+            World world = Bukkit.getWorld(args[1]);
+            if (world == null) {
+                sender.sendMessage(ChatColor.RED + "Monde introuvable: " + args[1]);
+                return true;
+            }
+            worlds = List.of(world);
+        } else {
+            worlds = Bukkit.getWorlds();
+        }
+
+        sender.sendMessage(ChatColor.GOLD + "════════ Latence de chargement ════════");
+        boolean any = false;
+        for (World world : worlds) {
+            LoadLatencyStats stats = chunkManager.getLoadLatencyStats(world);
+            if (stats == null) {
+                continue;
+            }
+            String[] labels = {"Génération", "Disque", "Préchargement"};
+            LoadLatencyStats.Source[] sources = {stats.getGenerated(), stats.getDisk(), stats.getPreload()};
+            boolean header = false;
+            for (int i = 0; i < sources.length; i++) {
+                LoadLatencyStats.Source source = sources[i];
+                LogLinearHistogram.Snapshot total = source.getHistogram().snapshotTotal();
+                if (total.getCount() == 0) {
+                    continue;
+                }
+                if (!header) {
+                    sender.sendMessage(ChatColor.YELLOW + world.getName() + ":");
+                    header = true;
+                }
+                sender.sendMessage(ChatColor.YELLOW + "  " + labels[i]);
+                sendPercentileLine(sender, "1 min", source.getHistogram().snapshot(1));
+                sendPercentileLine(sender, "15 min", source.getHistogram().snapshot(15));
+                sendPercentileLine(sender, "Démarrage", total);
+            }
+            any |= header;
+        }
+        if (!any) {
+            sender.sendMessage(ChatColor.GRAY + "Aucun chargement mesuré");
+        }
+        sender.sendMessage(ChatColor.GOLD + "══════════════════════════════════════");
+
+        return true;
+    }
+
+    /**
+     * Envoie les percentiles d'une fenêtre de latence
+     */
+    private void sendPercentileLine(CommandSender sender, String window, LogLinearHistogram.Snapshot snapshot) {
+        if (snapshot.getCount() == 0) {
+            sender.sendMessage(ChatColor.GRAY + "    " + window + ": aucun chargement");
+            return;
+        }
+        sender.sendMessage(ChatColor.GRAY + "    " + window + ": " + ChatColor.WHITE
+            + String.format("p50 %.1fms, p90 %.1fms, p99 %.1fms, max %.1fms", snapshot.getQuantile(0.5) / 1_000_000.0,
+                snapshot.getQuantile(0.9) / 1_000_000.0, snapshot.getQuantile(0.99) / 1_000_000.0, snapshot.getMax() / 1_000_000.0)
+            + ChatColor.GRAY + " (" + snapshot.getCount() + ")");
+    }
+
+    /**
+     * Gère la commande rules
+     */
+    private boolean handleRules(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("arkchunk.monitor")) {
+            sender.sendMessage(ChatColor.RED + "Permission insuffisante: arkchunk.monitor");
+            return true;
+        }
+
+        ChunkMonitor chunkMonitor = plugin.getChunkMonitor();
+        DetectionRules rules = chunkMonitor.getRules();
+        if (args.length > 1) {
+            if (!args[1].equalsIgnoreCase("reload")) {
+                sender.sendMessage(ChatColor.RED + "Usage: /arkchunk rules [reload]");
+                return true;
+            }
+            rules = chunkMonitor.reloadRules();
+            sender.sendMessage(ChatColor.GREEN + "✓ Règles de détection rechargées depuis config.yml");
+        }
+
+        sender.sendMessage(ChatColor.GOLD + "════════ Règles de détection ════════");
+        sender.sendMessage(ChatColor.YELLOW + "Par défaut: " + ChatColor.WHITE + rules.getDefaults().describe());
+        for (Map.Entry<String, DetectionRules.WorldRules> entry : rules.getWorlds().entrySet()) {
+            sender.sendMessage(ChatColor.YELLOW + entry.getKey() + ": " + ChatColor.WHITE + entry.getValue().describe());
+        }
+        sender.sendMessage(ChatColor.GOLD + "═════════════════════════════════════");
+
+        return true;
+    }
+
+    /**
+     * Gère la commande heatmap
+     */
+    private boolean handleHeatmap(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("arkchunk.monitor")) {
+            sender.sendMessage(ChatColor.RED + "Permission insuffisante: arkchunk.monitor");
+            return true;
+        }
+
+        if (args.length < 2) {
+            sender.sendMessage(ChatColor.RED + "Usage: /arkchunk heatmap <monde> [csv|png]");
+            return true;
+        }
+
+        World world = Bukkit.getWorld(args[1]);
+        if (world == null) {
+            sender.sendMessage(ChatColor.RED + "Monde introuvable: " + args[1]);
+            return true;
+        }
+
+        HeatmapExporter.Format format = HeatmapExporter.Format.PNG;
+        if (args.length > 2) {
+            try {
+                format = HeatmapExporter.Format.valueOf(args[2].toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                sender.sendMessage(ChatColor.RED + "Format invalide (csv, png)");
+                return true;
+            }
+        }
+
+        sender.sendMessage(ChatColor.YELLOW + "Export de la carte de chaleur de " + world.getName() + "...");
+        chunkManager.getHeatmapExporter().export(world, format, file -> {
+            if (file == null) {
+                sender.sendMessage(ChatColor.RED + "Erreur lors de l'export (voir la console)");
+            } else {
+                sender.sendMessage(ChatColor.GREEN + "✓ Carte de chaleur exportée: " + ChatColor.WHITE + plugin.getDataFolder().toPath().relativize(file));
+            }
+        });
 
         return true;
     }
 
+    /**
+     * Envoie les types les plus coûteux d'une catégorie
+     */
+    private void sendTopTypes(CommandSender sender, String label, ChunkCostProfiler.Category category) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Double> type : category.getTopTypes(5)) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(type.getKey()).append(String.format(" %.2fms", type.getValue()));
+        }
+        sender.sendMessage(ChatColor.YELLOW + label + ": " + ChatColor.WHITE + String.format("%.2fms/tick", category.getTotalMillisPerTick())
+            + (sb.length() > 0 ? ChatColor.GRAY + " (" + sb + ")" : ""));
+    }
+
     /**
      * Gère la commande actions
      */
@@ -414,15 +1109,29 @@ public class ChunkCommand implements CommandExecutor {
     private void sendHelpMessage(CommandSender sender) {
         sender.sendMessage(ChatColor.GOLD + "════════ Aide ArkChunk ════════");
         sender.sendMessage(" ");
-        sender.sendMessage(ChatColor.YELLOW + "/arkchunk preload [rayon]" + ChatColor.GRAY + " - Précharger les chunks");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk preload [rayon] [ordre] [rétention-min]" + ChatColor.GRAY + " - Précharger les chunks (lignes, spirale, region, cercle)");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk tickets [release [ID]]" + ChatColor.GRAY + " - Chunks gardés en mémoire après préchargement");
         sender.sendMessage(ChatColor.YELLOW + "/arkchunk stoppreload [ID]" + ChatColor.GRAY + " - Arrêter le préchargement");
         sender.sendMessage(ChatColor.YELLOW + "/arkchunk status" + ChatColor.GRAY + " - Voir le statut");
         sender.sendMessage(ChatColor.YELLOW + "/arkchunk info" + ChatColor.GRAY + " - Info du chunk courant");
         sender.sendMessage(ChatColor.YELLOW + "/arkchunk problems" + ChatColor.GRAY + " - Voir les problèmes");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk top [nombre]" + ChatColor.GRAY + " - Chunks les plus coûteux (profileur)");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk thrash [nombre]" + ChatColor.GRAY + " - Chunks qui se chargent et se déchargent en boucle");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk rules [reload]" + ChatColor.GRAY + " - Règles de détection (rechargement à chaud)");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk latency [monde]" + ChatColor.GRAY + " - Percentiles de latence de chargement (1 min, 15 min, démarrage)");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk heatmap <monde> [csv|png]" + ChatColor.GRAY + " - Exporter la carte de chaleur des chargements");
         sender.sendMessage(ChatColor.YELLOW + "/arkchunk delete <x> <z>" + ChatColor.GRAY + " - Supprimer un chunk");
         sender.sendMessage(ChatColor.YELLOW + "/arkchunk reset <x> <z>" + ChatColor.GRAY + " - Réinitialiser un chunk");
         sender.sendMessage(ChatColor.YELLOW + "/arkchunk unload <x> <z>" + ChatColor.GRAY + " - Décharger un chunk");
         sender.sendMessage(ChatColor.YELLOW + "/arkchunk reload <x> <z>" + ChatColor.GRAY + " - Réinstaller un chunk");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk <action> radius <rayon>" + ChatColor.GRAY + " - Appliquer une action autour de vous");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk <action> rect <x1> <z1> <x2> <z2>" + ChatColor.GRAY + " - Appliquer une action à un rectangle");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk <action> problems" + ChatColor.GRAY + " - Appliquer une action aux chunks problématiques");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk stopbatch [ID]" + ChatColor.GRAY + " - Arrêter une opération groupée");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk trim <monde> [seuil] [simulation]" + ChatColor.GRAY + " - Supprimer les chunks jamais visités");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk regions <monde>" + ChatColor.GRAY + " - Analyser les fichiers région");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk compact <monde> [seuil%]" + ChatColor.GRAY + " - Compacter les fichiers région fragmentés");
+        sender.sendMessage(ChatColor.YELLOW + "/arkchunk deletions [cancel]" + ChatColor.GRAY + " - Suppressions en attente du prochain démarrage");
         sender.sendMessage(ChatColor.YELLOW + "/arkchunk actions <x> <z>" + ChatColor.GRAY + " - Actions disponibles");
         sender.sendMessage(" ");
         sender.sendMessage(ChatColor.GOLD + "════════════════════════════");
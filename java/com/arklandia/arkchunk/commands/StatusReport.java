@@ -0,0 +1,228 @@
+package com.arklandia.arkchunk.commands;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.batch.BatchJob;
+import com.arklandia.arkchunk.managers.ChunkManager;
+import com.arklandia.arkchunk.managers.ChunkMonitor;
+import com.arklandia.arkchunk.managers.LoadLatencyStats;
+import com.arklandia.arkchunk.preload.PreloadEngine;
+import com.arklandia.arkchunk.preload.PreloadThrottle;
+import com.arklandia.arkchunk.preload.PredictivePreloader;
+import com.arklandia.arkchunk.profiler.ChunkCostProfiler;
+import com.arklandia.arkchunk.region.RegionStats;
+import com.arklandia.arkchunk.scheduler.TaskScheduler;
+import net.md_5.bungee.api.ChatColor;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Rendu mis en cache des commandes status et problems.
+ * Le texte est produit sur un thread asynchrone à partir de compteurs
+ * maintenus par les événements (chunks chargés, moniteur, préchargement),
+ * puis réutilisé pendant status.cache-ttl-millis : des administrateurs qui
+ * répètent la commande pendant un lag ne déclenchent qu'un seul rendu, et
+ * jamais de parcours des chunks chargés.
+ */
+public class StatusReport {
+
+    private final ArkChunk plugin;
+    private final ChunkManager chunkManager;
+    private final ChunkMonitor chunkMonitor;
+    private final TaskScheduler scheduler;
+    private final long ttlMillis;
+    private final Cached status;
+    private final Cached problems;
+
+    public StatusReport(ArkChunk plugin) {
+        this.plugin = plugin;
+        this.chunkManager = plugin.getChunkManager();
+        this.chunkMonitor = plugin.getChunkMonitor();
+        this.scheduler = plugin.getTaskScheduler();
+        this.ttlMillis = Math.max(0L, plugin.getConfig().getLong("status.cache-ttl-millis", 2000L));
+        this.status = new Cached("status", this::renderStatus);
+        this.problems = new Cached("problems", this::renderProblems);
+    }
+
+    /**
+     * Envoie le statut global (depuis le cache, ou dès le prochain rendu)
+     * @param sender Destinataire
+     */
+    public void sendStatus(CommandSender sender) {
+        status.send(sender);
+    }
+
+    /**
+     * Envoie la liste des chunks problématiques (depuis le cache, ou dès le prochain rendu)
+     * @param sender Destinataire
+     */
+    public void sendProblems(CommandSender sender) {
+        problems.send(sender);
+    }
+
+    /**
+     * Produit le statut global (thread asynchrone)
+     */
+    private String[] renderStatus() {
+        List<String> lines = new ArrayList<>();
+        lines.add(ChatColor.GOLD + "════════ Status ArkChunk ════════");
+        lines.add(ChatColor.YELLOW + "Chunks problématiques: " + ChatColor.WHITE + chunkMonitor.getProblemChunkCount()
+            + ChatColor.GRAY + " (" + chunkMonitor.getTrackedChunkCount() + " suivis)");
+
+        // Compteurs maintenus par ChunkLoadEvent/ChunkUnloadEvent : aucun parcours des chunks
+        int loadedChunks = 0;
+        for (int count : chunkManager.getLoadedCounts().values()) {
+            loadedChunks += count;
+        }
+
+        lines.add(ChatColor.YELLOW + "Chunks chargés: " + ChatColor.WHITE + loadedChunks);
+        lines.add(ChatColor.YELLOW + "Mondes actifs: " + ChatColor.WHITE + Bukkit.getWorlds().size());
+
+        ChunkMonitor.ScanStats scan = chunkMonitor.getLastScan();
+        if (scan != null) {
+            lines.add(ChatColor.YELLOW + "Scan du moniteur: " + ChatColor.WHITE + scan.chunks + " chunks en " + scan.ticks + " ticks"
+                + ChatColor.GRAY + String.format(" (moy %.0fµs/tick, max %.0fµs)", scan.getAverageTickMicros(), scan.maxTickNanos / 1000.0));
+        }
+
+        ChunkCostProfiler profiler = plugin.getChunkProfiler();
+        if (profiler.isEnabled()) {
+            ChunkCostProfiler.Costs costs = profiler.getCosts();
+            lines.add(ChatColor.YELLOW + "Coût des ticks: " + ChatColor.WHITE
+                + String.format("entités %.2fms, tile entities %.2fms", costs.entities.getTotalMillisPerTick(), costs.blockEntities.getTotalMillisPerTick())
+                + ChatColor.GRAY + " (par tick)");
+        }
+
+        LoadLatencyStats latency = chunkManager.getLoadLatencyStats();
+        lines.add(latencyLine("Latence génération", latency.getGenerated()));
+        lines.add(latencyLine("Latence disque", latency.getDisk()));
+        lines.add(latencyLine("Latence préchargement", latency.getPreload()));
+
+        PreloadEngine preloadEngine = chunkManager.getPreloadEngine();
+        PreloadThrottle throttle = preloadEngine.getThrottle();
+        lines.add(ChatColor.YELLOW + "Préchargements actifs: " + ChatColor.WHITE + preloadEngine.getJobs().size()
+            + ChatColor.GRAY + " (en vol: " + preloadEngine.getInFlight() + "/" + throttle.getWindow() + ", max " + throttle.getMaxWindow() + ")");
+        lines.add(ChatColor.YELLOW + "Débit de préchargement: " + ChatColor.WHITE + String.format("%.1f", throttle.getRate()) + " chunks/s"
+            + (throttle.isPaused() ? ChatColor.RED + " (en pause)" : ""));
+        if (throttle.isRegionized()) {
+            lines.add(ChatColor.YELLOW + "MSPT: " + ChatColor.GRAY + "non mesuré (serveur régionalisé, régulation désactivée)");
+        } else if (!throttle.isMeasured()) {
+            lines.add(ChatColor.YELLOW + "MSPT: " + ChatColor.GRAY + "non mesuré (aucun tick relevé)");
+        } else {
+            lines.add(ChatColor.YELLOW + "MSPT: " + ChatColor.WHITE + String.format("%.1f", throttle.getMspt())
+                + ChatColor.GRAY + " (cible: " + String.format("%.1f", throttle.getTargetMspt()) + (throttle.isEnabled() ? "" : ", régulation désactivée") + ")");
+        }
+
+        PredictivePreloader predictive = preloadEngine.getPredictive();
+        if (predictive.isEnabled()) {
+            lines.add(ChatColor.YELLOW + "Préchargement prédictif: " + ChatColor.WHITE + String.format("%.1f%% de succès", predictive.getHitRate())
+                + ChatColor.GRAY + " (" + predictive.getHits() + " atteints, " + predictive.getMisses() + " inutiles, " + predictive.getIssued()
+                + " demandés, en vol: " + predictive.getInFlight() + "/" + predictive.getMaxInFlight() + ", plafond atteint " + predictive.getCapped() + " fois)");
+        }
+
+        for (RegionStats stats : plugin.getRegionMaintenance().getFragmentation().values()) {
+            lines.add(ChatColor.YELLOW + "Fragmentation " + stats.name + ": " + ChatColor.WHITE + String.format("%.1f%%", stats.getFragmentation())
+                + ChatColor.GRAY + String.format(" (%.1f Mo récupérables, %d fichiers)", stats.getReclaimableBytes() / (1024.0 * 1024.0), stats.files));
+        }
+
+        int pendingDeletions = plugin.getDeletionQueue().getPendingCount();
+        if (pendingDeletions > 0) {
+            lines.add(ChatColor.YELLOW + "Suppressions en attente: " + ChatColor.WHITE + pendingDeletions
+                + ChatColor.GRAY + " (appliquées au prochain démarrage, /arkchunk deletions)");
+        }
+
+        for (BatchJob job : plugin.getBatchRunner().getJobs()) {
+            lines.add(ChatColor.YELLOW + "Lot #" + job.getId() + ": " + ChatColor.WHITE + job.getAction().getLabel() + " "
+                + ChunkManager.getProgressBar(job.getProcessed(), job.getTotal()));
+        }
+        lines.add(ChatColor.GOLD + "════════════════════════════════");
+        return lines.toArray(new String[0]);
+    }
+
+    /**
+     * Ligne de statistiques de latence
+     */
+    private static String latencyLine(String label, LoadLatencyStats.Source source) {
+        return ChatColor.YELLOW + label + ": " + ChatColor.WHITE
+            + String.format("moy %.2fms, max %.2fms", source.getAverageMillis(), source.getMaxMillis())
+            + ChatColor.GRAY + " (" + source.getCount() + " chargements)";
+    }
+
+    /**
+     * Produit la liste des chunks problématiques (thread asynchrone)
+     */
+    private String[] renderProblems() {
+        return new String[] {
+            ChatColor.GOLD + "════════ Chunks Problématiques ════════",
+            chunkMonitor.getProblemChunksSummary(),
+            ChatColor.GOLD + "════════════════════════════════════════"
+        };
+    }
+
+    /**
+     * Texte rendu et destinataires en attente du prochain rendu
+     */
+    private final class Cached {
+        private final String name;
+        private final Supplier<String[]> renderer;
+        private String[] lines;
+        private long renderedAt;
+        private List<CommandSender> waiting; // Non nul pendant un rendu
+
+        Cached(String name, Supplier<String[]> renderer) {
+            this.name = name;
+            this.renderer = renderer;
+        }
+
+        void send(CommandSender sender) {
+            String[] cached;
+            synchronized (this) {
+                cached = lines;
+                if (cached == null || System.currentTimeMillis() - renderedAt >= ttlMillis) {
+                    boolean start = waiting == null;
+                    if (start) {
+                        waiting = new ArrayList<>();
+                    }
+                    waiting.add(sender);
+                    if (start) {
+                        scheduler.runAsync(this::render);
+                    }
+                    return;
+                }
+            }
+            sender.sendMessage(cached);
+        }
+
+        /**
+         * Produit le texte et l'envoie aux destinataires en attente (thread asynchrone)
+         */
+        private void render() {
+            String[] rendered;
+            try {
+                rendered = renderer.get();
+            } catch (RuntimeException e) {
+                plugin.getLogger().warning("Erreur lors du rendu de /arkchunk " + name + ": " + e.getMessage());
+                rendered = null;
+            }
+
+            List<CommandSender> recipients;
+            synchronized (this) {
+                if (rendered != null) {
+                    lines = rendered;
+                    renderedAt = System.currentTimeMillis();
+                }
+                recipients = waiting;
+                waiting = null;
+            }
+
+            String[] message = rendered != null ? rendered : new String[] {ChatColor.RED + "Erreur lors du rendu (voir la console)"};
+            scheduler.executeGlobal(() -> {
+                for (CommandSender recipient : recipients) {
+                    recipient.sendMessage(message);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.arklandia.arkchunk.listeners;
+
+import com.arklandia.arkchunk.ArkChunk;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.TileState;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.entity.EntityRemoveEvent;
+import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+
+import java.util.List;
+
+/**
+ * Listener qui maintient les compteurs d'entités et de tile entities par chunk.
+ * Amorcés au chargement, puis ajustés à chaque apparition, suppression, pose
+ * ou destruction de bloc, pour que les vérifications de santé n'aient plus
+ * besoin de Chunk#getEntities ni de Chunk#getTileEntities.
+ * Les joueurs ne sont pas comptés.
+ */
+public class ChunkCounterListener implements Listener {
+
+    private final ArkChunk plugin;
+
+    public ChunkCounterListener(ArkChunk plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Amorce le compteur de tile entities au chargement du chunk
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        plugin.getChunkManager().setCounts(event.getChunk(), -1, event.getChunk().getTileEntities(false).length);
+    }
+
+    /**
+     * Amorce le compteur d'entités quand les entités du chunk sont chargées
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        plugin.getChunkManager().setCounts(event.getChunk(), countEntities(event.getEntities()), -1);
+    }
+
+    /**
+     * Remet le compteur d'entités à zéro quand les entités du chunk sont déchargées
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        plugin.getChunkManager().setCounts(event.getChunk(), 0, -1);
+    }
+
+    /**
+     * Apparition d'une entité
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntitySpawn(EntitySpawnEvent event) {
+        if (event.getEntity() instanceof Player) {
+            return;
+        }
+        Location location = event.getLocation();
+        plugin.getChunkManager().adjustCounts(location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4, 1, 0);
+    }
+
+    /**
+     * Suppression d'une entité (les déchargements sont gérés par EntitiesUnloadEvent)
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveEvent event) {
+        Entity entity = event.getEntity();
+        if (event.getCause() == EntityRemoveEvent.Cause.UNLOAD || entity instanceof Player) {
+            return;
+        }
+        Location location = entity.getLocation();
+        plugin.getChunkManager().adjustCounts(location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4, -1, 0);
+    }
+
+    /**
+     * Pose d'un bloc
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        Block block = event.getBlockPlaced();
+        int delta = (isTile(block) ? 1 : 0) - (event.getBlockReplacedState() instanceof TileState ? 1 : 0);
+        if (delta != 0) {
+            plugin.getChunkManager().adjustCounts(block.getWorld(), block.getX() >> 4, block.getZ() >> 4, 0, delta);
+        }
+    }
+
+    /**
+     * Destruction d'un bloc par un joueur
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        removeTile(event.getBlock());
+    }
+
+    /**
+     * Bloc détruit par le feu
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent event) {
+        removeTile(event.getBlock());
+    }
+
+    /**
+     * Explosion d'un bloc (lit, ancre de réapparition...)
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        removeTiles(event.blockList());
+    }
+
+    /**
+     * Explosion d'une entité (TNT, creeper...)
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        removeTiles(event.blockList());
+    }
+
+    private void removeTiles(List<Block> blocks) {
+        for (Block block : blocks) {
+            removeTile(block);
+        }
+    }
+
+    private void removeTile(Block block) {
+        if (isTile(block)) {
+            plugin.getChunkManager().adjustCounts(block.getWorld(), block.getX() >> 4, block.getZ() >> 4, 0, -1);
+        }
+    }
+
+    /**
+     * Vérifie si un bloc porte une tile entity (état sans copie)
+     * @param block Bloc à vérifier
+     * @return true si tile entity, false sinon
+     */
+    private boolean isTile(Block block) {
+        BlockState state = block.getState(false);
+        return state instanceof TileState;
+    }
+
+    private int countEntities(List<Entity> entities) {
+        int count = 0;
+        for (Entity entity : entities) {
+            if (!(entity instanceof Player)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
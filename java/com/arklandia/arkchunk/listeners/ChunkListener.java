@@ -5,6 +5,7 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.world.ChunkLoadEvent;
 import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.Chunk;
 
 /**
@@ -24,11 +25,12 @@ public class ChunkListener implements Listener {
     @EventHandler
     public void onChunkLoad(ChunkLoadEvent event) {
         Chunk chunk = event.getChunk();
-        long startTime = System.currentTimeMillis();
-        long loadTime = System.currentTimeMillis() - startTime;
         
-        // Enregistrer le temps de chargement
-        plugin.getChunkManager().recordChunkData(chunk, loadTime);
+        // Enregistrer le chargement (latence mesurée si la demande est connue)
+        plugin.getChunkManager().recordChunkLoad(chunk, event.isNewChunk());
+
+        // Un chunk rechargé redevient vivant : sa suppression différée est abandonnée
+        plugin.getDeletionQueue().onChunkLoaded(chunk.getWorld(), chunk.getX(), chunk.getZ());
     }
 
     /**
@@ -36,6 +38,15 @@ public class ChunkListener implements Listener {
      */
     @EventHandler
     public void onChunkUnload(ChunkUnloadEvent event) {
-        // Les données seront supprimées par le ChunkManager lors du déchargement
+        // Ne garder que l'historique borné, sans référence vers le chunk
+        plugin.getChunkManager().onChunkUnloaded(event.getChunk());
+    }
+
+    /**
+     * Événement de déchargement d'un monde
+     */
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        plugin.getChunkManager().onWorldUnloaded(event.getWorld());
     }
 }
\ No newline at end of file
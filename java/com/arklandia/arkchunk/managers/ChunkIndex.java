@@ -0,0 +1,612 @@
+package com.arklandia.arkchunk.managers;
+
+import com.arklandia.arkchunk.util.LongIntMap;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Index des chunks d'un monde, indexé par clé compactée (voir ChunkKeys).
+ * Les données sont stockées dans des tableaux primitifs parallèles : la table
+ * de hachage associe chaque clé à un emplacement, libéré à la suppression.
+ * Aucune référence vers les objets Chunk n'est conservée.
+ *
+ * Les temps de chargement sont mesurés en nanosecondes entre la demande
+ * ({@link #markRequested}) et l'événement de chargement ({@link #recordLoad}),
+ * puis ajoutés aux histogrammes de latence du monde (génération, disque ou
+ * préchargement selon l'origine de la demande).
+ *
+ * Les nombres d'entités et de tile entities des chunks chargés sont maintenus
+ * par les événements (voir ChunkCounterListener) : les lire ne coûte qu'une
+ * recherche dans la table, sans allocation.
+ *
+ * Les chunks déchargés restent dans un historique borné : une liste doublement
+ * chaînée (tableaux prev/next) dans l'ordre des déchargements, dont les plus
+ * anciennes entrées sont évincées au-delà de la capacité (LRU).
+ *
+ * Chaque chargement et déchargement incrémente un compteur à décroissance
+ * exponentielle (demi-vie configurable) : un chunk qui fait des allers-retours
+ * toutes les quelques secondes garde des compteurs élevés, un chunk chargé une
+ * fois revient vers zéro. La décroissance est appliquée à la lecture et à la
+ * mise à jour, sans tâche périodique.
+ */
+public final class ChunkIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final byte FLAG_LOADED = 1;
+    private static final byte FLAG_PROBLEM = 1 << 1;
+    private static final byte FLAG_HISTORY = 1 << 2;
+    private static final byte FLAG_REQUESTED = 1 << 3;
+    private static final byte FLAG_GENERATED = 1 << 4;
+    private static final byte FLAG_PRELOAD = 1 << 5; // Demande du préchargement
+
+    private final LongIntMap slots;
+    private final int maxHistory;
+    private final double decayPerMilli;
+    private final LoadLatencyStats latencyStats;
+    private long[] keys;
+    private long[] loadNanos;
+    private long[] loadedAts;
+    private long[] requestedAts;
+    private byte[] flags;
+    private int[] entityCounts;
+    private int[] tileCounts;
+    private int[] tickCosts;
+    private float[] loadScores;
+    private float[] unloadScores;
+    private long[] scoreAts;
+    private int[] prev;
+    private int[] next;
+    private int[] freeSlots;
+    private int freeCount;
+    private int nextSlot;
+    private int historyHead = -1; // Déchargement le plus récent
+    private volatile int loadedCount; // Lisible sans verrou (export des métriques)
+    private int historyTail = -1; // Déchargement le plus ancien
+    private int historyCount;
+
+    public ChunkIndex(int maxHistory, long halfLifeMillis, LoadLatencyStats latencyStats) {
+        this.maxHistory = Math.max(0, maxHistory);
+        this.decayPerMilli = Math.log(2) / Math.max(1L, halfLifeMillis);
+        this.latencyStats = latencyStats;
+        this.slots = new LongIntMap(INITIAL_CAPACITY);
+        this.keys = new long[INITIAL_CAPACITY];
+        this.loadNanos = new long[INITIAL_CAPACITY];
+        this.loadedAts = new long[INITIAL_CAPACITY];
+        this.requestedAts = new long[INITIAL_CAPACITY];
+        this.flags = new byte[INITIAL_CAPACITY];
+        this.entityCounts = new int[INITIAL_CAPACITY];
+        this.tileCounts = new int[INITIAL_CAPACITY];
+        this.tickCosts = new int[INITIAL_CAPACITY];
+        this.loadScores = new float[INITIAL_CAPACITY];
+        this.unloadScores = new float[INITIAL_CAPACITY];
+        this.scoreAts = new long[INITIAL_CAPACITY];
+        this.prev = new int[INITIAL_CAPACITY];
+        this.next = new int[INITIAL_CAPACITY];
+        this.freeSlots = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Enregistre le chargement d'un chunk avec un temps connu
+     * @param key Clé du chunk
+     * @param loadTime Temps de chargement en ns (-1 si inconnu)
+     * @param loadedAt Instant du chargement (System.currentTimeMillis)
+     */
+    public synchronized void record(long key, long loadTime, long loadedAt) {
+        int slot = slotFor(key);
+        loadNanos[slot] = loadTime;
+        loadedAts[slot] = loadedAt;
+    }
+
+    /**
+     * Note l'instant où le chargement d'un chunk est demandé
+     * @param key Clé du chunk
+     * @param requestedAt Instant de la demande (System.nanoTime)
+     * @param preload true si la demande vient du préchargement
+     */
+    public synchronized void markRequested(long key, long requestedAt, boolean preload) {
+        int slot = slots.get(key, -1);
+        if (slot < 0) {
+            slot = allocateSlot();
+            slots.put(key, slot);
+            keys[slot] = key;
+            flags[slot] = 0;
+            loadNanos[slot] = -1L;
+            loadedAts[slot] = -1L;
+            entityCounts[slot] = 0;
+            tileCounts[slot] = 0;
+            tickCosts[slot] = 0;
+            clearScores(slot);
+        }
+        flags[slot] = (byte) ((flags[slot] & ~FLAG_PRELOAD) | FLAG_REQUESTED | (preload ? FLAG_PRELOAD : 0));
+        requestedAts[slot] = requestedAt;
+    }
+
+    /**
+     * Annule une demande non suivie d'un chargement (chunk déjà chargé, erreur)
+     * @param key Clé du chunk
+     */
+    public synchronized void clearRequest(long key) {
+        int slot = slots.get(key, -1);
+        if (slot < 0 || (flags[slot] & FLAG_REQUESTED) == 0) {
+            return;
+        }
+        flags[slot] &= ~(FLAG_REQUESTED | FLAG_PRELOAD);
+        if (flags[slot] == 0) {
+            release(slot); // Entrée créée uniquement pour la demande
+        }
+    }
+
+    /**
+     * Enregistre l'événement de chargement d'un chunk
+     * @param key Clé du chunk
+     * @param generated true si le chunk vient d'être généré
+     * @param now Instant de l'événement (System.nanoTime)
+     * @param loadedAt Instant de l'événement (System.currentTimeMillis)
+     * @return Latence depuis la demande en ns, -1 si aucune demande n'était connue
+     */
+    public synchronized long recordLoad(long key, boolean generated, long now, long loadedAt) {
+        int slot = slotFor(key);
+        long latency = -1L;
+        if ((flags[slot] & FLAG_REQUESTED) != 0) {
+            latency = now - requestedAts[slot];
+            latencyStats.record(latency, generated, (flags[slot] & FLAG_PRELOAD) != 0);
+            flags[slot] &= ~(FLAG_REQUESTED | FLAG_PRELOAD);
+        }
+        if (generated) {
+            flags[slot] |= FLAG_GENERATED;
+        } else {
+            flags[slot] &= ~FLAG_GENERATED;
+        }
+        loadNanos[slot] = latency;
+        loadedAts[slot] = loadedAt;
+        decay(slot, loadedAt);
+        loadScores[slot] += 1f;
+        return latency;
+    }
+
+    /**
+     * Statistiques de latence de chargement du monde
+     * @return LoadLatencyStats du monde
+     */
+    public LoadLatencyStats getLatencyStats() {
+        return latencyStats;
+    }
+
+    /**
+     * Vérifie si le dernier chargement connu d'un chunk était une génération
+     * @param key Clé du chunk
+     * @return true si généré, false si lu depuis le disque ou inconnu
+     */
+    public synchronized boolean isGenerated(long key) {
+        int slot = slots.get(key, -1);
+        return slot >= 0 && (flags[slot] & FLAG_GENERATED) != 0;
+    }
+
+    /**
+     * Marque un chunk comme déchargé : il passe dans l'historique borné
+     * @param key Clé du chunk
+     * @param unloadedAt Instant du déchargement (System.currentTimeMillis)
+     */
+    public synchronized void markUnloaded(long key, long unloadedAt) {
+        int slot = slots.get(key, -1);
+        if (slot < 0) {
+            return;
+        }
+        if ((flags[slot] & FLAG_HISTORY) != 0) {
+            unlinkHistory(slot);
+        }
+        if ((flags[slot] & FLAG_LOADED) != 0) {
+            loadedCount--;
+        }
+        flags[slot] = (byte) (FLAG_HISTORY | (flags[slot] & FLAG_GENERATED));
+        entityCounts[slot] = 0;
+        tileCounts[slot] = 0;
+        tickCosts[slot] = 0;
+        decay(slot, unloadedAt);
+        unloadScores[slot] += 1f;
+        linkHistoryHead(slot);
+
+        while (historyCount > maxHistory) {
+            int oldest = historyTail;
+            unlinkHistory(oldest);
+            release(oldest);
+        }
+    }
+
+    /**
+     * Fixe les compteurs d'un chunk chargé (amorçage ou resynchronisation)
+     * @param key Clé du chunk
+     * @param entities Nombre d'entités, -1 pour ne pas le modifier
+     * @param tiles Nombre de tile entities, -1 pour ne pas le modifier
+     */
+    public synchronized void setCounts(long key, int entities, int tiles) {
+        int slot = countedSlot(key);
+        if (slot < 0) {
+            return;
+        }
+        if (entities >= 0) {
+            entityCounts[slot] = entities;
+        }
+        if (tiles >= 0) {
+            tileCounts[slot] = tiles;
+        }
+    }
+
+    /**
+     * Ajuste le nombre d'entités d'un chunk chargé (jamais négatif)
+     * @param key Clé du chunk
+     * @param delta Variation
+     */
+    public synchronized void addEntities(long key, int delta) {
+        int slot = countedSlot(key);
+        if (slot < 0) {
+            return;
+        }
+        entityCounts[slot] = Math.max(0, entityCounts[slot] + delta);
+    }
+
+    /**
+     * Ajuste le nombre de tile entities d'un chunk chargé (jamais négatif)
+     * @param key Clé du chunk
+     * @param delta Variation
+     */
+    public synchronized void addTiles(long key, int delta) {
+        int slot = countedSlot(key);
+        if (slot < 0) {
+            return;
+        }
+        tileCounts[slot] = Math.max(0, tileCounts[slot] + delta);
+    }
+
+    /**
+     * Obtient le nombre d'entités d'un chunk
+     * @param key Clé du chunk
+     * @return Nombre d'entités (0 si inconnu)
+     */
+    public synchronized int getEntityCount(long key) {
+        int slot = slots.get(key, -1);
+        return slot < 0 ? 0 : entityCounts[slot];
+    }
+
+    /**
+     * Obtient le nombre de tile entities d'un chunk
+     * @param key Clé du chunk
+     * @return Nombre de tile entities (0 si inconnu)
+     */
+    public synchronized int getTileCount(long key) {
+        int slot = slots.get(key, -1);
+        return slot < 0 ? 0 : tileCounts[slot];
+    }
+
+    /**
+     * Fixe le coût de tick mesuré d'un chunk chargé (voir ChunkCostProfiler)
+     * @param key Clé du chunk
+     * @param micros Coût estimé en µs par tick
+     */
+    public synchronized void setTickCost(long key, int micros) {
+        int slot = countedSlot(key);
+        if (slot >= 0) {
+            tickCosts[slot] = micros;
+        }
+    }
+
+    /**
+     * Obtient le coût de tick mesuré d'un chunk
+     * @param key Clé du chunk
+     * @return Coût estimé en µs par tick (0 si inconnu)
+     */
+    public synchronized int getTickCost(long key) {
+        int slot = slots.get(key, -1);
+        return slot < 0 ? 0 : tickCosts[slot];
+    }
+
+    /**
+     * Parcourt les clés des chunks chargés
+     * @param consumer Consommateur des clés
+     */
+    public synchronized void forEachLoaded(LongConsumer consumer) {
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if ((flags[slot] & FLAG_LOADED) != 0) {
+                consumer.accept(keys[slot]);
+            }
+        }
+    }
+
+    /**
+     * Copie les clés des chunks chargés
+     * @return Clés, dans l'ordre des emplacements
+     */
+    public synchronized long[] getLoadedKeys() {
+        long[] loaded = new long[loadedCount];
+        int count = 0;
+        for (int slot = 0; slot < nextSlot && count < loaded.length; slot++) {
+            if ((flags[slot] & FLAG_LOADED) != 0) {
+                loaded[count++] = keys[slot];
+            }
+        }
+        return count == loaded.length ? loaded : Arrays.copyOf(loaded, count);
+    }
+
+    /**
+     * Parcourt les chunks chargés dont le coût de tick mesuré est non nul
+     * @param consumer Consommateur (clé, coût en µs par tick)
+     */
+    public synchronized void forEachTickCost(CostConsumer consumer) {
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if ((flags[slot] & FLAG_LOADED) != 0 && tickCosts[slot] > 0) {
+                consumer.accept(keys[slot], tickCosts[slot]);
+            }
+        }
+    }
+
+    /**
+     * Marque un chunk chargé comme problématique ou non ; sans effet si le
+     * chunk a été déchargé depuis son relevé (analyse tardive)
+     * @param key Clé du chunk
+     * @param problem true si problématique
+     */
+    public synchronized void setProblem(long key, boolean problem) {
+        int slot = countedSlot(key);
+        if (slot < 0) {
+            return;
+        }
+        if (problem) {
+            flags[slot] |= FLAG_PROBLEM;
+        } else {
+            flags[slot] &= ~FLAG_PROBLEM;
+        }
+    }
+
+    /**
+     * Vérifie si un chunk est marqué problématique
+     * @param key Clé du chunk
+     * @return true si problématique
+     */
+    public synchronized boolean isProblem(long key) {
+        int slot = slots.get(key, -1);
+        return slot >= 0 && (flags[slot] & FLAG_PROBLEM) != 0;
+    }
+
+    /**
+     * Obtient le temps de chargement d'un chunk
+     * @param key Clé du chunk
+     * @return Temps de chargement en ns, -1 si inconnu
+     */
+    public synchronized long getLoadNanos(long key) {
+        int slot = slots.get(key, -1);
+        return slot < 0 ? -1L : loadNanos[slot];
+    }
+
+    /**
+     * Obtient l'instant de chargement d'un chunk
+     * @param key Clé du chunk
+     * @return Instant du chargement, -1 si inconnu
+     */
+    public synchronized long getLoadedAt(long key) {
+        int slot = slots.get(key, -1);
+        return slot < 0 || (flags[slot] & (FLAG_LOADED | FLAG_HISTORY)) == 0 ? -1L : loadedAts[slot];
+    }
+
+    /**
+     * Supprime un chunk de l'index
+     * @param key Clé du chunk
+     * @return true si le chunk était indexé
+     */
+    public synchronized boolean remove(long key) {
+        int slot = slots.get(key, -1);
+        if (slot < 0) {
+            return false;
+        }
+        if ((flags[slot] & FLAG_HISTORY) != 0) {
+            unlinkHistory(slot);
+        }
+        release(slot);
+        return true;
+    }
+
+    /**
+     * Parcourt les chunks indexés (chargés et historique)
+     * @param consumer Consommateur (clé, temps de chargement en ns, instant)
+     */
+    public synchronized void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if ((flags[slot] & (FLAG_LOADED | FLAG_HISTORY)) != 0) {
+                consumer.accept(keys[slot], loadNanos[slot], loadedAts[slot]);
+            }
+        }
+    }
+
+    /**
+     * Parcourt les chunks marqués problématiques
+     * @param consumer Consommateur (clé, temps de chargement en ns, instant)
+     */
+    public synchronized void forEachProblem(EntryConsumer consumer) {
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if ((flags[slot] & FLAG_PROBLEM) != 0) {
+                consumer.accept(keys[slot], loadNanos[slot], loadedAts[slot]);
+            }
+        }
+    }
+
+    /**
+     * Parcourt les compteurs de chargements et déchargements, décrus jusqu'à un instant
+     * @param now Instant de lecture (System.currentTimeMillis)
+     * @param consumer Consommateur (clé, chargements, déchargements, chargé)
+     */
+    public synchronized void forEachActivity(long now, ActivityConsumer consumer) {
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if ((flags[slot] & (FLAG_LOADED | FLAG_HISTORY)) != 0 && (loadScores[slot] > 0f || unloadScores[slot] > 0f)) {
+                float factor = decayFactor(slot, now);
+                consumer.accept(keys[slot], loadScores[slot] * factor, unloadScores[slot] * factor, (flags[slot] & FLAG_LOADED) != 0);
+            }
+        }
+    }
+
+    /**
+     * Nombre de chunks chargés, lu sans verrou
+     * @return Nombre de chunks chargés
+     */
+    public int getLoadedCount() {
+        return loadedCount;
+    }
+
+    /**
+     * Obtient le nombre de chunks indexés
+     * @return Nombre de chunks
+     */
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    /**
+     * Obtient le nombre de chunks déchargés conservés dans l'historique
+     * @return Taille de l'historique
+     */
+    public synchronized int getHistorySize() {
+        return historyCount;
+    }
+
+    private int slotFor(long key) {
+        int slot = slots.get(key, -1);
+        if (slot < 0) {
+            slot = allocateSlot();
+            slots.put(key, slot);
+            keys[slot] = key;
+            flags[slot] = FLAG_LOADED;
+            loadedCount++;
+            entityCounts[slot] = 0;
+            tileCounts[slot] = 0;
+            tickCosts[slot] = 0;
+            clearScores(slot);
+        } else if ((flags[slot] & FLAG_HISTORY) != 0) {
+            // Rechargé : sort de l'historique
+            unlinkHistory(slot);
+            flags[slot] = (byte) (FLAG_LOADED | (flags[slot] & (FLAG_REQUESTED | FLAG_PRELOAD | FLAG_GENERATED)));
+            loadedCount++;
+        } else if ((flags[slot] & FLAG_LOADED) == 0) {
+            flags[slot] |= FLAG_LOADED;
+            loadedCount++;
+        }
+        return slot;
+    }
+
+    /**
+     * Slot d'un chunk chargé modifiable : un événement ou une analyse tardive
+     * (ex. EntitiesUnloadEvent après ChunkUnloadEvent ou après remove) ne doit
+     * ni faire ressortir un chunk de l'historique ni en créer un fantôme.
+     * Seuls les chargements (record, recordLoad) créent un slot chargé.
+     * @return Slot, ou -1 si le chunk n'est pas chargé
+     */
+    private int countedSlot(long key) {
+        int slot = slots.get(key, -1);
+        if (slot < 0 || (flags[slot] & FLAG_LOADED) == 0) {
+            return -1;
+        }
+        return slot;
+    }
+
+    private void decay(int slot, long now) {
+        float factor = decayFactor(slot, now);
+        loadScores[slot] *= factor;
+        unloadScores[slot] *= factor;
+        scoreAts[slot] = Math.max(scoreAts[slot], now);
+    }
+
+    private float decayFactor(int slot, long now) {
+        long elapsed = now - scoreAts[slot];
+        return elapsed <= 0 ? 1f : (float) Math.exp(-decayPerMilli * elapsed);
+    }
+
+    private void clearScores(int slot) {
+        loadScores[slot] = 0f;
+        unloadScores[slot] = 0f;
+        scoreAts[slot] = 0L;
+    }
+
+    private void linkHistoryHead(int slot) {
+        prev[slot] = -1;
+        next[slot] = historyHead;
+        if (historyHead >= 0) {
+            prev[historyHead] = slot;
+        } else {
+            historyTail = slot;
+        }
+        historyHead = slot;
+        historyCount++;
+    }
+
+    private void unlinkHistory(int slot) {
+        int before = prev[slot];
+        int after = next[slot];
+        if (before >= 0) {
+            next[before] = after;
+        } else {
+            historyHead = after;
+        }
+        if (after >= 0) {
+            prev[after] = before;
+        } else {
+            historyTail = before;
+        }
+        flags[slot] &= ~FLAG_HISTORY;
+        historyCount--;
+    }
+
+    private void release(int slot) {
+        slots.remove(keys[slot], -1);
+        if ((flags[slot] & FLAG_LOADED) != 0) {
+            loadedCount--;
+        }
+        flags[slot] = 0;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length << 1);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (nextSlot == keys.length) {
+            int capacity = keys.length << 1;
+            keys = Arrays.copyOf(keys, capacity);
+            loadNanos = Arrays.copyOf(loadNanos, capacity);
+            loadedAts = Arrays.copyOf(loadedAts, capacity);
+            requestedAts = Arrays.copyOf(requestedAts, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+            entityCounts = Arrays.copyOf(entityCounts, capacity);
+            tileCounts = Arrays.copyOf(tileCounts, capacity);
+            tickCosts = Arrays.copyOf(tickCosts, capacity);
+            loadScores = Arrays.copyOf(loadScores, capacity);
+            unloadScores = Arrays.copyOf(unloadScores, capacity);
+            scoreAts = Arrays.copyOf(scoreAts, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return nextSlot++;
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long loadNanos, long loadedAt);
+    }
+
+    /**
+     * Consommateur des compteurs de chargements et déchargements
+     */
+    @FunctionalInterface
+    public interface ActivityConsumer {
+        void accept(long key, float loads, float unloads, boolean loaded);
+    }
+
+    /**
+     * Consommateur des coûts de tick mesurés
+     */
+    @FunctionalInterface
+    public interface CostConsumer {
+        void accept(long key, int micros);
+    }
+}
@@ -1,24 +1,37 @@
 package com.arklandia.arkchunk.managers;
 
 import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.preload.PreloadEngine;
+import com.arklandia.arkchunk.preload.PreloadJob;
+import com.arklandia.arkchunk.preload.PreloadOrder;
+import com.arklandia.arkchunk.region.RegionFiles;
+import com.arklandia.arkchunk.region.WorldTrimmer;
+import com.arklandia.arkchunk.util.ChunkKeys;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.World;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Gestionnaire principal des chunks
  */
-public class ChunkManager {
+public final class ChunkManager {
 
     private final ArkChunk plugin;
-    private final Map<String, ChunkData> chunkDataMap;
-    private final Map<String, Long> chunkLoadTimes;
-    private final Set<Chunk> problemChunks;
-    private final Map<Integer, Integer> preloadTasks; // Map taskId -> playerId
-    private final Map<Integer, ProgressCallback> progressCallbacks; // Map taskId -> callback
+    private final Map<UUID, ChunkIndex> chunkIndexes; // Index primitif par monde
+    private final Map<UUID, String> worldNames; // Noms des mondes indexés, lisibles hors des threads de tick
+    private final int historySize;
+    private final long thrashHalfLifeMillis;
+    private final LoadLatencyStats loadLatencyStats;
+    private final PreloadEngine preloadEngine;
+    private final HeatmapExporter heatmapExporter;
+    private final AtomicBoolean trimming;
 
     @FunctionalInterface
     public interface ProgressCallback {
@@ -27,11 +40,14 @@ public class ChunkManager {
 
     public ChunkManager(ArkChunk plugin) {
         this.plugin = plugin;
-        this.chunkDataMap = new ConcurrentHashMap<>();
-        this.chunkLoadTimes = new ConcurrentHashMap<>();
-        this.problemChunks = Collections.newSetFromMap(new ConcurrentHashMap<>());
-        this.preloadTasks = new ConcurrentHashMap<>();
-        this.progressCallbacks = new ConcurrentHashMap<>();
+        this.chunkIndexes = new ConcurrentHashMap<>();
+        this.worldNames = new ConcurrentHashMap<>();
+        this.historySize = plugin.getConfig().getInt("tracking.history-size", 20000);
+        this.thrashHalfLifeMillis = Math.max(1L, plugin.getConfig().getLong("tracking.thrash-half-life-seconds", 300L)) * 1000L;
+        this.loadLatencyStats = new LoadLatencyStats();
+        this.preloadEngine = new PreloadEngine(plugin, this);
+        this.heatmapExporter = new HeatmapExporter(plugin, this);
+        this.trimming = new AtomicBoolean();
     }
 
     /**
@@ -45,91 +61,38 @@ public class ChunkManager {
      * @return ID de la tâche de préchargement
      */
     public int preloadChunks(World world, int centerX, int centerZ, int radius, Runnable callback, ProgressCallback progressCallback) {
-        int totalChunks = (2 * radius + 1) * (2 * radius + 1);
-        int[] loadedChunks = {0};
-        int[] taskIdRef = {-1};
-        
-        org.bukkit.scheduler.BukkitTask mainTask = Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            java.util.List<int[]> chunkCoords = new java.util.ArrayList<>();
-            
-            for (int x = centerX - radius; x <= centerX + radius; x++) {
-                for (int z = centerZ - radius; z <= centerZ + radius; z++) {
-                    chunkCoords.add(new int[]{x, z});
-                }
-            }
-            
-            int chunksPerTick = 4; // Charger 4 chunks par tick
-            int tickDelay = 0;
-            
-            for (int i = 0; i < chunkCoords.size(); i++) {
-                if (taskIdRef[0] != -1 && !preloadTasks.containsKey(taskIdRef[0])) {
-                    // Tâche annulée
-                    break;
-                }
-                
-                final int[] coords = chunkCoords.get(i);
-                final int finalX = coords[0];
-                final int finalZ = coords[1];
-                final int currentIndex = i;
-                
-                // Calculer le délai en ticks (un délai tous les X chunks)
-                int delay = (i / chunksPerTick);
-                
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                    try {
-                        if (taskIdRef[0] != -1 && !preloadTasks.containsKey(taskIdRef[0])) {
-                            return; // Tâche annulée
-                        }
-                        
-                        Chunk chunk = world.getChunkAt(finalX, finalZ);
-                        long startTime = System.currentTimeMillis();
-                        
-                        chunk.load(true);
-                        
-                        long loadTime = System.currentTimeMillis() - startTime;
-                        String chunkKey = getChunkKey(chunk);
-                        
-                        chunkDataMap.put(chunkKey, new ChunkData(chunk, loadTime));
-                        chunkLoadTimes.put(chunkKey, loadTime);
-                        
-                        loadedChunks[0]++;
-                        
-                        // Envoyer mise à jour de progression (une fois tous les X chunks)
-                        if (progressCallback != null && currentIndex % chunksPerTick == 0) {
-                            progressCallback.onProgress(loadedChunks[0], totalChunks);
-                        }
-                        
-                        // Vérifier si le chunk est problématique
-                        if (loadTime > 100) {
-                            problemChunks.add(chunk);
-                        }
-                    } catch (Exception e) {
-                        plugin.getLogger().warning("Erreur lors du préchargement du chunk " + finalX + ", " + finalZ + ": " + e.getMessage());
-                    }
-                }, delay);
-            }
-            
-            // Calculer le délai total approximatif
-            int totalDelay = (chunkCoords.size() / chunksPerTick) + 5;
-            
-            // Callback exécuté après la fin de tous les chargements
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                plugin.getLogger().info("Préchargement terminé: " + loadedChunks[0] + "/" + totalChunks + " chunks chargés");
-                
-                if (taskIdRef[0] != -1) {
-                    preloadTasks.remove(taskIdRef[0]);
-                }
-                
-                if (callback != null) {
-                    callback.run();
-                }
-            }, totalDelay);
-        });
-        
-        int taskId = mainTask.getTaskId();
-        taskIdRef[0] = taskId;
-        preloadTasks.put(taskId, taskId);
-        return taskId;
+        return preloadChunks(world, centerX, centerZ, radius, preloadEngine.getDefaultOrder(), callback, progressCallback);
+    }
+
+    /**
+     * Précharge les chunks dans un rayon défini selon un ordre de parcours
+     * @param world Monde cible
+     * @param centerX Coordonnée X du centre
+     * @param centerZ Coordonnée Z du centre
+     * @param radius Rayon de préchargement
+     * @param order Ordre de parcours
+     * @param callback Callback après préchargement
+     * @param progressCallback Callback pour les mises à jour de progression
+     * @return ID de la tâche de préchargement
+     */
+    public int preloadChunks(World world, int centerX, int centerZ, int radius, PreloadOrder order, Runnable callback, ProgressCallback progressCallback) {
+        return preloadEngine.submit(world, centerX, centerZ, radius, order, callback, progressCallback);
+    }
+
+    /**
+     * Précharge les chunks dans un rayon défini et les garde chargés après la fin
+     * @param world Monde cible
+     * @param centerX Coordonnée X du centre
+     * @param centerZ Coordonnée Z du centre
+     * @param radius Rayon de préchargement
+     * @param order Ordre de parcours
+     * @param ticketTtlMillis Durée de rétention après la fin du préchargement (0 : aucune)
+     * @param callback Callback après préchargement
+     * @param progressCallback Callback pour les mises à jour de progression
+     * @return ID de la tâche de préchargement
+     */
+    public int preloadChunks(World world, int centerX, int centerZ, int radius, PreloadOrder order, long ticketTtlMillis, Runnable callback, ProgressCallback progressCallback) {
+        return preloadEngine.submit(world, centerX, centerZ, radius, order, ticketTtlMillis, callback, progressCallback);
     }
 
     /**
@@ -154,8 +117,21 @@ public class ChunkManager {
      * @return ID de la tâche de préchargement
      */
     public int preloadAroundPlayer(Player player, int radius, Runnable callback, ProgressCallback progressCallback) {
+        return preloadAroundPlayer(player, radius, preloadEngine.getDefaultOrder(), callback, progressCallback);
+    }
+
+    /**
+     * Précharge les chunks autour d'un joueur selon un ordre de parcours
+     * @param player Joueur cible
+     * @param radius Rayon de préchargement
+     * @param order Ordre de parcours
+     * @param callback Callback après préchargement
+     * @param progressCallback Callback pour les mises à jour de progression
+     * @return ID de la tâche de préchargement
+     */
+    public int preloadAroundPlayer(Player player, int radius, PreloadOrder order, Runnable callback, ProgressCallback progressCallback) {
         Chunk chunk = player.getChunk();
-        return preloadChunks(player.getWorld(), chunk.getX(), chunk.getZ(), radius, callback, progressCallback);
+        return preloadChunks(player.getWorld(), chunk.getX(), chunk.getZ(), radius, order, callback, progressCallback);
     }
 
     /**
@@ -175,18 +151,39 @@ public class ChunkManager {
      * @return true si succès, false sinon
      */
     public boolean deleteChunk(Chunk chunk) {
+        return deleteChunk(chunk, true);
+    }
+
+    /**
+     * Supprime un chunk
+     * @param chunk Chunk à supprimer
+     * @param verbose false pour ne pas journaliser chaque chunk (opérations par lot)
+     * @return true si succès, false sinon
+     */
+    public boolean deleteChunk(Chunk chunk, boolean verbose) {
         try {
             String chunkKey = getChunkKey(chunk);
             
-            // Décharger le chunk
-            chunk.unload(false);
+            // Décharger le chunk sans le sauvegarder ; s'il reste chargé (joueur
+            // présent, ticket, déchargement annulé), il serait sauvegardé puis
+            // effacé au démarrage avec ce qui y aurait été construit
+            if (!chunk.unload(false)) {
+                if (verbose) {
+                    plugin.getLogger().warning("Suppression impossible, le chunk reste chargé: " + chunkKey);
+                }
+                return false;
+            }
             
             // Nettoyer les données
-            chunkDataMap.remove(chunkKey);
-            chunkLoadTimes.remove(chunkKey);
-            problemChunks.remove(chunk);
+            getIndex(chunk.getWorld()).remove(ChunkKeys.pack(chunk.getX(), chunk.getZ()));
+
+            // Effacer le chunk des fichiers région au prochain démarrage, sauf
+            // s'il est rechargé d'ici là
+            plugin.getDeletionQueue().queue(chunk.getWorld(), chunk.getX(), chunk.getZ());
             
-            plugin.getLogger().info("Chunk supprimé: " + chunkKey);
+            if (verbose) {
+                plugin.getLogger().info("Chunk supprimé: " + chunkKey + " (effacé du disque au prochain démarrage)");
+            }
             return true;
         } catch (Exception e) {
             plugin.getLogger().warning("Erreur lors de la suppression du chunk: " + e.getMessage());
@@ -200,6 +197,16 @@ public class ChunkManager {
      * @return true si succès, false sinon
      */
     public boolean resetChunk(Chunk chunk) {
+        return resetChunk(chunk, true);
+    }
+
+    /**
+     * Réinitialise un chunk
+     * @param chunk Chunk à réinitialiser
+     * @param verbose false pour ne pas journaliser chaque chunk (opérations par lot)
+     * @return true si succès, false sinon
+     */
+    public boolean resetChunk(Chunk chunk, boolean verbose) {
         try {
             int x = chunk.getX();
             int z = chunk.getZ();
@@ -207,15 +214,18 @@ public class ChunkManager {
             
             // Décharger le chunk
             world.unloadChunk(chunk);
+            getIndex(world).remove(ChunkKeys.pack(x, z));
             
-            // Recharger le chunk
+            // Recharger le chunk (latence mesurée par le ChunkLoadEvent)
+            markLoadRequested(world, x, z);
             world.loadChunk(x, z);
+            clearLoadRequest(world, x, z);
             
             String chunkKey = getChunkKey(chunk);
-            chunkDataMap.remove(chunkKey);
-            problemChunks.remove(chunk);
             
-            plugin.getLogger().info("Chunk réinitialisé: " + chunkKey);
+            if (verbose) {
+                plugin.getLogger().info("Chunk réinitialisé: " + chunkKey);
+            }
             return true;
         } catch (Exception e) {
             plugin.getLogger().warning("Erreur lors de la réinitialisation du chunk: " + e.getMessage());
@@ -229,14 +239,30 @@ public class ChunkManager {
      * @return true si succès, false sinon
      */
     public boolean unloadChunk(Chunk chunk) {
+        return unloadChunk(chunk, true);
+    }
+
+    /**
+     * Décharge un chunk
+     * @param chunk Chunk à décharger
+     * @param verbose false pour ne pas journaliser chaque chunk (opérations par lot)
+     * @return true si succès, false sinon
+     */
+    public boolean unloadChunk(Chunk chunk, boolean verbose) {
         try {
             String chunkKey = getChunkKey(chunk);
-            chunk.unload(true); // true = sauvegarder avant de décharger
+            if (!chunk.unload(true)) { // true = sauvegarder avant de décharger
+                if (verbose) {
+                    plugin.getLogger().warning("Déchargement impossible, le chunk reste chargé: " + chunkKey);
+                }
+                return false;
+            }
             
-            chunkDataMap.remove(chunkKey);
-            problemChunks.remove(chunk);
+            getIndex(chunk.getWorld()).remove(ChunkKeys.pack(chunk.getX(), chunk.getZ()));
             
-            plugin.getLogger().info("Chunk déchargé: " + chunkKey);
+            if (verbose) {
+                plugin.getLogger().info("Chunk déchargé: " + chunkKey);
+            }
             return true;
         } catch (Exception e) {
             plugin.getLogger().warning("Erreur lors du déchargement du chunk: " + e.getMessage());
@@ -250,6 +276,16 @@ public class ChunkManager {
      * @return true si succès, false sinon
      */
     public boolean reloadChunk(Chunk chunk) {
+        return reloadChunk(chunk, true);
+    }
+
+    /**
+     * Recharge un chunk
+     * @param chunk Chunk à recharger
+     * @param verbose false pour ne pas journaliser chaque chunk (opérations par lot)
+     * @return true si succès, false sinon
+     */
+    public boolean reloadChunk(Chunk chunk, boolean verbose) {
         try {
             int x = chunk.getX();
             int z = chunk.getZ();
@@ -258,17 +294,16 @@ public class ChunkManager {
             // Sauvegarder et décharger
             chunk.unload(true);
             
-            // Recharger
+            // Recharger (latence mesurée par le ChunkLoadEvent)
+            markLoadRequested(world, x, z);
             world.loadChunk(x, z);
+            clearLoadRequest(world, x, z);
             
             String chunkKey = getChunkKey(chunk);
-            long startTime = System.currentTimeMillis();
-            long loadTime = System.currentTimeMillis() - startTime;
-            
-            chunkDataMap.put(chunkKey, new ChunkData(world.getChunkAt(x, z), loadTime));
-            chunkLoadTimes.put(chunkKey, loadTime);
             
-            plugin.getLogger().info("Chunk réinstallé: " + chunkKey);
+            if (verbose) {
+                plugin.getLogger().info("Chunk réinstallé: " + chunkKey);
+            }
             return true;
         } catch (Exception e) {
             plugin.getLogger().warning("Erreur lors de la réinstallation du chunk: " + e.getMessage());
@@ -277,11 +312,82 @@ public class ChunkManager {
     }
 
     /**
-     * Obtient les chunks problématiques
-     * @return Set des chunks problématiques
+     * Nettoie un monde : supprime les chunks dont le temps d'occupation
+     * (InhabitedTime) est sous un seuil, hors zones protégées (configuration,
+     * spawn et chunks chargés). L'analyse tourne sur des threads de travail.
+     * @param worldName Nom du monde (chargé ou simple dossier du serveur)
+     * @param maxInhabitedTicks Seuil d'occupation en ticks
+     * @param dryRun true pour produire le rapport sans rien supprimer
+     * @param callback Callback avec le rapport (thread global), null en cas d'erreur
+     * @return false si le monde est introuvable ou si un nettoyage est déjà en cours
+     */
+    public boolean trimWorld(String worldName, long maxInhabitedTicks, boolean dryRun, Consumer<WorldTrimmer.Report> callback) {
+        World world = Bukkit.getWorld(worldName);
+        Path dimensionFolder = RegionFiles.dimensionFolder(worldName);
+        if (dimensionFolder == null || !trimming.compareAndSet(false, true)) {
+            return false;
+        }
+
+        int threads = plugin.getConfig().getInt("trim.threads", 0);
+        if (threads <= 0) {
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        WorldTrimmer.Settings settings = new WorldTrimmer.Settings(maxInhabitedTicks, threads, dryRun);
+
+        int spawnRadius = plugin.getConfig().getInt("trim.spawn-radius", 16);
+        int spawnX = 0;
+        int spawnZ = 0;
+        if (world != null) {
+            spawnX = world.getSpawnLocation().getBlockX() >> 4;
+            spawnZ = world.getSpawnLocation().getBlockZ() >> 4;
+            settings.setIdle(world.getFullTime(), plugin.getConfig().getLong("trim.min-idle-ticks", 0L));
+
+            List<Long> loaded = new ArrayList<>();
+            getIndex(world).forEachLoaded(loaded::add);
+            settings.protect(loaded.stream().mapToLong(Long::longValue).toArray());
+        }
+        settings.protect(spawnX - spawnRadius, spawnZ - spawnRadius, spawnX + spawnRadius, spawnZ + spawnRadius);
+
+        for (String area : plugin.getConfig().getStringList("trim.protected-areas")) {
+            String[] parts = area.split(";");
+            if (parts.length != 5 || !parts[0].equals(worldName)) {
+                continue;
+            }
+            try {
+                settings.protect(Integer.parseInt(parts[1].trim()), Integer.parseInt(parts[2].trim()),
+                    Integer.parseInt(parts[3].trim()), Integer.parseInt(parts[4].trim()));
+            } catch (NumberFormatException e) {
+                plugin.getLogger().warning("Zone protégée invalide: " + area);
+            }
+        }
+
+        plugin.getTaskScheduler().runAsync(() -> {
+            WorldTrimmer.Report report = null;
+            try {
+                report = new WorldTrimmer(plugin, settings).run(world, dimensionFolder);
+                plugin.getLogger().info("Nettoyage de " + worldName + (dryRun ? " (simulation)" : "") + ": " + report.deleted + "/"
+                    + report.chunks + " chunks supprimés dans " + report.files + " fichiers, "
+                    + String.format("%.1f", report.getMegabytes()) + " Mo de secteurs libérés en " + (report.durationMillis / 1000.0) + "s");
+            } catch (Exception e) {
+                plugin.getLogger().warning("Erreur lors du nettoyage du monde " + worldName + ": " + e.getMessage());
+            } finally {
+                trimming.set(false);
+            }
+            WorldTrimmer.Report result = report;
+            plugin.getTaskScheduler().executeGlobal(() -> callback.accept(result));
+        });
+        return true;
+    }
+
+    /**
+     * Obtient les chunks problématiques (chargés) de tous les mondes
+     * @return Liste des données des chunks problématiques
      */
-    public Set<Chunk> getProblemChunks() {
-        return new HashSet<>(problemChunks);
+    public List<ChunkData> getProblemChunks() {
+        List<ChunkData> problems = new ArrayList<>();
+        chunkIndexes.forEach((worldId, index) -> index.forEachProblem((key, loadNanos, loadedAt) ->
+            problems.add(new ChunkData(worldId, ChunkKeys.x(key), ChunkKeys.z(key), loadNanos, index.isGenerated(key), loadedAt))));
+        return problems;
     }
 
     /**
@@ -289,7 +395,33 @@ public class ChunkManager {
      * @param chunk Chunk problématique
      */
     public void addProblemChunk(Chunk chunk) {
-        problemChunks.add(chunk);
+        getIndex(chunk.getWorld()).setProblem(ChunkKeys.pack(chunk.getX(), chunk.getZ()), true);
+    }
+
+    /**
+     * Marque un chunk comme problématique (thread quelconque)
+     * @param worldId UUID du monde
+     * @param x Coordonnée X du chunk
+     * @param z Coordonnée Z du chunk
+     */
+    public void addProblemChunk(UUID worldId, int x, int z) {
+        ChunkIndex index = chunkIndexes.get(worldId);
+        if (index != null) {
+            index.setProblem(ChunkKeys.pack(x, z), true);
+        }
+    }
+
+    /**
+     * Retire la marque problématique d'un chunk redevenu sain (thread quelconque)
+     * @param worldId UUID du monde
+     * @param x Coordonnée X du chunk
+     * @param z Coordonnée Z du chunk
+     */
+    public void removeProblemChunk(UUID worldId, int x, int z) {
+        ChunkIndex index = chunkIndexes.get(worldId);
+        if (index != null) {
+            index.setProblem(ChunkKeys.pack(x, z), false);
+        }
     }
 
     /**
@@ -298,7 +430,29 @@ public class ChunkManager {
      * @return true si problématique, false sinon
      */
     public boolean isProblemChunk(Chunk chunk) {
-        return problemChunks.contains(chunk);
+        ChunkIndex index = chunkIndexes.get(chunk.getWorld().getUID());
+        return index != null && index.isProblem(ChunkKeys.pack(chunk.getX(), chunk.getZ()));
+    }
+
+    /**
+     * Enregistre le déchargement d'un chunk : ses données passent dans l'historique borné
+     * @param chunk Chunk déchargé
+     */
+    public void onChunkUnloaded(Chunk chunk) {
+        ChunkIndex index = chunkIndexes.get(chunk.getWorld().getUID());
+        if (index != null) {
+            index.markUnloaded(ChunkKeys.pack(chunk.getX(), chunk.getZ()), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Oublie toutes les données d'un monde déchargé
+     * @param world Monde déchargé
+     */
+    public void onWorldUnloaded(World world) {
+        preloadEngine.getTickets().onWorldUnloaded(world);
+        chunkIndexes.remove(world.getUID());
+        worldNames.remove(world.getUID());
     }
 
     /**
@@ -307,16 +461,25 @@ public class ChunkManager {
      * @return ChunkData ou null
      */
     public ChunkData getChunkData(Chunk chunk) {
-        return chunkDataMap.get(getChunkKey(chunk));
+        ChunkIndex index = chunkIndexes.get(chunk.getWorld().getUID());
+        if (index == null) {
+            return null;
+        }
+        long key = ChunkKeys.pack(chunk.getX(), chunk.getZ());
+        long loadedAt = index.getLoadedAt(key);
+        return loadedAt < 0 ? null : new ChunkData(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ(),
+            index.getLoadNanos(key), index.isGenerated(key), loadedAt);
     }
 
     /**
      * Obtient le temps de chargement d'un chunk
      * @param chunk Chunk cible
-     * @return Temps de chargement en ms
+     * @return Temps de chargement en ms, -1 si inconnu
      */
     public long getChunkLoadTime(Chunk chunk) {
-        return chunkLoadTimes.getOrDefault(getChunkKey(chunk), -1L);
+        ChunkIndex index = chunkIndexes.get(chunk.getWorld().getUID());
+        long nanos = index == null ? -1L : index.getLoadNanos(ChunkKeys.pack(chunk.getX(), chunk.getZ()));
+        return nanos < 0 ? -1L : nanos / 1_000_000L;
     }
 
     /**
@@ -326,12 +489,17 @@ public class ChunkManager {
      */
     public Map<String, Long> getSlowChunksInWorld(World world) {
         Map<String, Long> slowChunks = new HashMap<>();
+        ChunkIndex index = chunkIndexes.get(world.getUID());
+        if (index == null) {
+            return slowChunks;
+        }
         
-        for (Map.Entry<String, Long> entry : chunkLoadTimes.entrySet()) {
-            if (entry.getValue() > 100) {
-                slowChunks.put(entry.getKey(), entry.getValue());
+        index.forEach((key, loadNanos, loadedAt) -> {
+            long loadTime = loadNanos / 1_000_000L;
+            if (loadTime > 100) {
+                slowChunks.put(getChunkKey(world, ChunkKeys.x(key), ChunkKeys.z(key)), loadTime);
             }
-        }
+        });
         
         return slowChunks;
     }
@@ -342,18 +510,247 @@ public class ChunkManager {
      * @return Clé unique
      */
     public String getChunkKey(Chunk chunk) {
-        return chunk.getWorld().getName() + ":" + chunk.getX() + ":" + chunk.getZ();
+        return getChunkKey(chunk.getWorld(), chunk.getX(), chunk.getZ());
+    }
+
+    /**
+     * Génère une clé lisible pour des coordonnées de chunk (affichage)
+     * @param world Monde du chunk
+     * @param x Coordonnée X du chunk
+     * @param z Coordonnée Z du chunk
+     * @return Clé unique
+     */
+    public String getChunkKey(World world, int x, int z) {
+        return world.getName() + ":" + x + ":" + z;
+    }
+
+    /**
+     * Obtient l'index primitif d'un monde (créé à la demande)
+     * @param world Monde cible
+     * @return ChunkIndex du monde
+     */
+    public ChunkIndex getIndex(World world) {
+        return chunkIndexes.computeIfAbsent(world.getUID(), id -> {
+            worldNames.put(id, world.getName());
+            return new ChunkIndex(historySize, thrashHalfLifeMillis, new LoadLatencyStats(loadLatencyStats));
+        });
+    }
+
+    /**
+     * Statistiques de latence de chargement d'un monde
+     * @param world Monde cible
+     * @return LoadLatencyStats du monde, null si aucun chunk n'y a été suivi
+     */
+    public LoadLatencyStats getLoadLatencyStats(World world) {
+        ChunkIndex index = chunkIndexes.get(world.getUID());
+        return index == null ? null : index.getLatencyStats();
+    }
+
+    /**
+     * Nombre de chunks chargés par monde, sans passer par les threads de tick
+     * @return Nombre de chunks chargés par nom de monde
+     */
+    public Map<String, Integer> getLoadedCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        chunkIndexes.forEach((worldId, index) -> counts.put(worldNames.getOrDefault(worldId, worldId.toString()), index.getLoadedCount()));
+        return counts;
     }
 
     /**
      * Enregistre les données d'un chunk
      * @param chunk Chunk cible
-     * @param loadTime Temps de chargement
+     * @param loadTime Temps de chargement en ms
      */
     public void recordChunkData(Chunk chunk, long loadTime) {
-        String chunkKey = getChunkKey(chunk);
-        chunkDataMap.put(chunkKey, new ChunkData(chunk, loadTime));
-        chunkLoadTimes.put(chunkKey, loadTime);
+        getIndex(chunk.getWorld()).record(ChunkKeys.pack(chunk.getX(), chunk.getZ()), loadTime * 1_000_000L, System.currentTimeMillis());
+    }
+
+    /**
+     * Note qu'un chargement de chunk vient d'être demandé (getChunkAtAsync, loadChunk...)
+     * pour mesurer sa latence jusqu'au ChunkLoadEvent
+     * @param world Monde du chunk
+     * @param x Coordonnée X du chunk
+     * @param z Coordonnée Z du chunk
+     */
+    public void markLoadRequested(World world, int x, int z) {
+        markLoadRequested(world, x, z, false);
+    }
+
+    /**
+     * Note qu'un chargement de chunk vient d'être demandé
+     * @param world Monde du chunk
+     * @param x Coordonnée X du chunk
+     * @param z Coordonnée Z du chunk
+     * @param preload true si la demande vient du préchargement (latence comptée à part)
+     */
+    public void markLoadRequested(World world, int x, int z, boolean preload) {
+        getIndex(world).markRequested(ChunkKeys.pack(x, z), System.nanoTime(), preload);
+    }
+
+    /**
+     * Oublie une demande de chargement qui n'a pas déclenché de ChunkLoadEvent
+     * @param world Monde du chunk
+     * @param x Coordonnée X du chunk
+     * @param z Coordonnée Z du chunk
+     */
+    public void clearLoadRequest(World world, int x, int z) {
+        ChunkIndex index = chunkIndexes.get(world.getUID());
+        if (index != null) {
+            index.clearRequest(ChunkKeys.pack(x, z));
+        }
+    }
+
+    /**
+     * Enregistre le chargement effectif d'un chunk (ChunkLoadEvent)
+     * @param chunk Chunk chargé
+     * @param isNewChunk true si le chunk vient d'être généré
+     */
+    public void recordChunkLoad(Chunk chunk, boolean isNewChunk) {
+        // La latence est ajoutée aux statistiques du monde et du serveur par l'index
+        getIndex(chunk.getWorld()).recordLoad(ChunkKeys.pack(chunk.getX(), chunk.getZ()), isNewChunk,
+            System.nanoTime(), System.currentTimeMillis());
+    }
+
+    /**
+     * Ajuste les compteurs d'un chunk chargé à partir d'un événement
+     * @param world Monde du chunk
+     * @param x Coordonnée X du chunk
+     * @param z Coordonnée Z du chunk
+     * @param entities Variation du nombre d'entités
+     * @param tiles Variation du nombre de tile entities
+     */
+    public void adjustCounts(World world, int x, int z, int entities, int tiles) {
+        ChunkIndex index = getIndex(world);
+        long key = ChunkKeys.pack(x, z);
+        if (entities != 0) {
+            index.addEntities(key, entities);
+        }
+        if (tiles != 0) {
+            index.addTiles(key, tiles);
+        }
+    }
+
+    /**
+     * Fixe les compteurs d'un chunk chargé
+     * @param chunk Chunk cible
+     * @param entities Nombre d'entités, -1 pour ne pas le modifier
+     * @param tiles Nombre de tile entities, -1 pour ne pas le modifier
+     */
+    public void setCounts(Chunk chunk, int entities, int tiles) {
+        getIndex(chunk.getWorld()).setCounts(ChunkKeys.pack(chunk.getX(), chunk.getZ()), entities, tiles);
+    }
+
+    /**
+     * Recompte exactement les entités et tile entities d'un chunk chargé.
+     * Alloue les tableaux d'entités et de BlockState : réservé à l'amorçage
+     * et à la correction de dérive, jamais à chaque vérification.
+     * @param chunk Chunk cible
+     */
+    public void resyncCounts(Chunk chunk) {
+        int entities = 0;
+        for (Entity entity : chunk.getEntities()) {
+            if (!(entity instanceof Player)) {
+                entities++;
+            }
+        }
+        setCounts(chunk, entities, chunk.getTileEntities(false).length);
+    }
+
+    /**
+     * Enregistre et amorce les compteurs de tous les chunks déjà chargés
+     * (activation du plugin)
+     */
+    public void seedLoadedChunks() {
+        long now = System.currentTimeMillis();
+        for (World world : Bukkit.getWorlds()) {
+            ChunkIndex index = getIndex(world);
+            for (Chunk chunk : world.getLoadedChunks()) {
+                // Chargés avant le plugin : aucun ChunkLoadEvent, temps de chargement inconnu
+                index.record(ChunkKeys.pack(chunk.getX(), chunk.getZ()), -1L, now);
+                resyncCounts(chunk);
+            }
+        }
+    }
+
+    /**
+     * Obtient le nombre d'entités d'un chunk (hors joueurs), sans allocation
+     * @param chunk Chunk cible
+     * @return Nombre d'entités
+     */
+    public int getEntityCount(Chunk chunk) {
+        ChunkIndex index = chunkIndexes.get(chunk.getWorld().getUID());
+        return index == null ? 0 : index.getEntityCount(ChunkKeys.pack(chunk.getX(), chunk.getZ()));
+    }
+
+    /**
+     * Obtient le nombre de tile entities d'un chunk, sans allocation
+     * @param chunk Chunk cible
+     * @return Nombre de tile entities
+     */
+    public int getTileEntityCount(Chunk chunk) {
+        ChunkIndex index = chunkIndexes.get(chunk.getWorld().getUID());
+        return index == null ? 0 : index.getTileCount(ChunkKeys.pack(chunk.getX(), chunk.getZ()));
+    }
+
+    /**
+     * Enregistre le coût de tick estimé d'un chunk chargé
+     * @param chunk Chunk cible
+     * @param micros Coût en µs par tick
+     */
+    public void setTickCost(Chunk chunk, int micros) {
+        getIndex(chunk.getWorld()).setTickCost(ChunkKeys.pack(chunk.getX(), chunk.getZ()), micros);
+    }
+
+    /**
+     * Obtient le coût de tick estimé d'un chunk
+     * @param chunk Chunk cible
+     * @return Coût en µs par tick (0 si inconnu)
+     */
+    public int getTickCost(Chunk chunk) {
+        ChunkIndex index = chunkIndexes.get(chunk.getWorld().getUID());
+        return index == null ? 0 : index.getTickCost(ChunkKeys.pack(chunk.getX(), chunk.getZ()));
+    }
+
+    /**
+     * Chunks qui se chargent et se déchargent le plus souvent, tous mondes confondus
+     * @param limit Nombre maximum de résultats
+     * @return Chunks triés du plus instable au plus stable
+     */
+    public List<ChunkActivity> getThrashingChunks(int limit) {
+        long now = System.currentTimeMillis();
+        PriorityQueue<ChunkActivity> top = new PriorityQueue<>(Comparator.comparingDouble(ChunkActivity::getCycles));
+        chunkIndexes.forEach((worldId, index) -> index.forEachActivity(now, (key, loads, unloads, loaded) -> {
+            float cycles = Math.min(loads, unloads);
+            if (cycles < 1f || (top.size() >= limit && cycles <= top.peek().getCycles())) {
+                return;
+            }
+            top.add(new ChunkActivity(worldId, ChunkKeys.x(key), ChunkKeys.z(key), loads, unloads, loaded));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }));
+
+        List<ChunkActivity> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingDouble(ChunkActivity::getCycles).reversed());
+        return result;
+    }
+
+    /**
+     * Convertit un compteur décru en fréquence approximative
+     * @param score Compteur (chargements ou cycles)
+     * @return Événements par minute en régime établi
+     */
+    public double toPerMinute(float score) {
+        // Un flux constant de r événements/ms se stabilise à r / ln(2) * demi-vie
+        return score * Math.log(2) / thrashHalfLifeMillis * 60000.0;
+    }
+
+    /**
+     * Obtient les statistiques de latence de chargement
+     * @return LoadLatencyStats
+     */
+    public LoadLatencyStats getLoadLatencyStats() {
+        return loadLatencyStats;
     }
 
     /**
@@ -362,9 +759,7 @@ public class ChunkManager {
      * @return true si annulée, false sinon
      */
     public boolean cancelPreload(int taskId) {
-        if (preloadTasks.containsKey(taskId)) {
-            Bukkit.getScheduler().cancelTask(taskId);
-            preloadTasks.remove(taskId);
+        if (preloadEngine.cancel(taskId)) {
             plugin.getLogger().info("Préchargement annulé (ID: " + taskId + ")");
             return true;
         }
@@ -376,11 +771,7 @@ public class ChunkManager {
      * @return nombre de tâches annulées
      */
     public int cancelAllPreloads() {
-        int count = preloadTasks.size();
-        for (int taskId : new HashSet<>(preloadTasks.keySet())) {
-            Bukkit.getScheduler().cancelTask(taskId);
-            preloadTasks.remove(taskId);
-        }
+        int count = preloadEngine.cancelAll();
         if (count > 0) {
             plugin.getLogger().info("Tous les préchargements annulés (" + count + " tâches)");
         }
@@ -392,7 +783,27 @@ public class ChunkManager {
      * @return Set des IDs de tâches
      */
     public Set<Integer> getActivePreloadTasks() {
-        return new HashSet<>(preloadTasks.keySet());
+        Set<Integer> ids = new HashSet<>();
+        for (PreloadJob job : preloadEngine.getJobs()) {
+            ids.add(job.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Obtient le moteur de préchargement
+     * @return PreloadEngine
+     */
+    public PreloadEngine getPreloadEngine() {
+        return preloadEngine;
+    }
+
+    /**
+     * Obtient l'exporteur de cartes de chaleur
+     * @return HeatmapExporter
+     */
+    public HeatmapExporter getHeatmapExporter() {
+        return heatmapExporter;
     }
 
     /**
@@ -425,17 +836,54 @@ public class ChunkManager {
     }
 
     /**
-     * Classe interne pour stocker les données d'un chunk
+     * Classe interne pour stocker les données d'un chunk (coordonnées uniquement,
+     * sans référence vers le Chunk)
      */
     public static class ChunkData {
-        public final Chunk chunk;
-        public final long loadTime;
+        public final UUID worldId;
+        public final int x;
+        public final int z;
+        public final long loadTime; // ms, -1 si inconnu
+        public final long loadNanos; // ns, -1 si inconnu
+        public final boolean generated;
         public final long loadedAt;
 
-        public ChunkData(Chunk chunk, long loadTime) {
-            this.chunk = chunk;
-            this.loadTime = loadTime;
-            this.loadedAt = System.currentTimeMillis();
+        public ChunkData(UUID worldId, int x, int z, long loadNanos, boolean generated, long loadedAt) {
+            this.worldId = worldId;
+            this.x = x;
+            this.z = z;
+            this.loadNanos = loadNanos;
+            this.loadTime = loadNanos < 0 ? -1L : loadNanos / 1_000_000L;
+            this.generated = generated;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Activité de chargement d'un chunk (compteurs à décroissance exponentielle)
+     */
+    public static class ChunkActivity {
+        public final UUID worldId;
+        public final int x;
+        public final int z;
+        public final float loads;
+        public final float unloads;
+        public final boolean loaded;
+
+        public ChunkActivity(UUID worldId, int x, int z, float loads, float unloads, boolean loaded) {
+            this.worldId = worldId;
+            this.x = x;
+            this.z = z;
+            this.loads = loads;
+            this.unloads = unloads;
+            this.loaded = loaded;
+        }
+
+        /**
+         * @return Cycles chargement/déchargement récents
+         */
+        public float getCycles() {
+            return Math.min(loads, unloads);
         }
     }
-}
\ No newline at end of file
+}
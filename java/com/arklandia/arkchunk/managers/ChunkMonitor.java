@@ -1,39 +1,82 @@
 package com.arklandia.arkchunk.managers;
 
 import com.arklandia.arkchunk.ArkChunk;
-import net.md_5.bungee.api.ChatColor;
-import net.md_5.bungee.api.chat.ClickEvent;
-import net.md_5.bungee.api.chat.ComponentBuilder;
-import net.md_5.bungee.api.chat.HoverEvent;
-import net.md_5.bungee.api.chat.TextComponent;
+import com.arklandia.arkchunk.metrics.LogLinearHistogram;
+import com.arklandia.arkchunk.profiler.ChunkCostProfiler;
+import com.arklandia.arkchunk.rules.DetectionRules;
+import com.arklandia.arkchunk.scheduler.TaskScheduler;
+import com.arklandia.arkchunk.util.ChunkKeys;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.World;
-import org.bukkit.entity.Player;
 
 import java.util.*;
 
 /**
- * Moniteur de chunks pour détecter les problèmes
+ * Moniteur de chunks pour détecter les problèmes.
+ * Le parcours des chunks chargés est étalé sur plusieurs ticks : un curseur
+ * avance dans un instantané des chunks chargés avec un budget de temps par
+ * tick, tout en garantissant que chaque chunk est visité une fois par période.
+ * Sur le thread principal, chaque chunk visité se résume à quelques compteurs
+ * (maintenus par les événements, ou coût mesuré par le profileur) relevés dans
+ * un lot, plus un passage sur son contenu si ses totaux permettent de dépasser
+ * une règle par type ({@link DetectionRules}) ; l'évaluation des seuils,
+ * l'agrégation des erreurs et la décision de notifier se font sur le thread
+ * d'analyse ({@link MonitorAnalyzer}).
+ * Quelques chunks par tick sont recomptés exactement pour corriger la dérive
+ * des compteurs (entités qui changent de chunk), ainsi que tout chunk qui
+ * dépasse un seuil avant d'être signalé.
  */
 public class ChunkMonitor {
 
     private final ArkChunk plugin;
-    private int monitorTaskId = -1;
-    private final Map<String, Integer> chunkErrors;
-    private final Map<String, Long> lastNotificationTime;
+    private TaskScheduler.Task monitorTask;
+    private final MonitorAnalyzer analyzer;
+    private final ProblemNotifier notifier;
+    private final int scanPeriodTicks;
+    private final long tickBudgetNanos;
+    private final int resyncPerTick;
+
+    // Curseur du parcours en cours (serveur classique : clés par monde ; Folia : groupes par région .mca)
+    private World[] scanWorlds;
+    private long[][] scanWorldKeys;
+    private List<RegionGroup> scanGroups;
+    private int groupCursor;
+    private int worldCursor;
+    private int scanCursor;
+    private int cycleScanned;
+    private int cycleTicks;
+    private int cycleChunks;
+    private long cycleNanos;
+    private int cycleActiveTicks;
+    private long cycleMaxTickNanos;
+
+    // Coût du dernier parcours complet
+    private volatile ScanStats lastScan;
+
+    // Règles de détection compilées (remplacées d'un bloc au rechargement)
+    private volatile DetectionRules rules;
+
+    // Durée de chaque tranche de parcours (un tick, ou un groupe .mca sur Folia)
+    private final LogLinearHistogram sliceNanos = new LogLinearHistogram();
 
     public ChunkMonitor(ArkChunk plugin) {
         this.plugin = plugin;
-        this.chunkErrors = new HashMap<>();
-        this.lastNotificationTime = new HashMap<>();
+        this.notifier = new ProblemNotifier(plugin);
+        this.analyzer = new MonitorAnalyzer(plugin, notifier);
+        this.scanPeriodTicks = Math.max(1, plugin.getConfig().getInt("monitor.scan-period-ticks", 200));
+        this.tickBudgetNanos = Math.max(1L, plugin.getConfig().getLong("monitor.tick-budget-micros", 1000L)) * 1000L;
+        this.resyncPerTick = Math.max(0, plugin.getConfig().getInt("monitor.resync-per-tick", 2));
+        this.cycleTicks = scanPeriodTicks; // Premier parcours dès le premier tick
+        this.rules = DetectionRules.load(plugin.getConfig().getConfigurationSection("rules"), plugin.getLogger());
     }
 
     /**
      * Démarre la surveillance des chunks
      */
     public void startMonitoring() {
-        monitorTaskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, this::monitorChunks, 0L, 200L); // Tous les 10 secondes
+        notifier.start();
+        monitorTask = plugin.getTaskScheduler().runGlobalTimer(this::monitorChunks, 1L, 1L); // Une tranche par tick
         plugin.getLogger().info("Surveillance des chunks démarrée");
     }
 
@@ -41,164 +84,309 @@ public class ChunkMonitor {
      * Arrête la surveillance des chunks
      */
     public void stopMonitoring() {
-        if (monitorTaskId != -1) {
-            Bukkit.getScheduler().cancelTask(monitorTaskId);
+        if (monitorTask != null) {
+            monitorTask.cancel();
+            monitorTask = null;
+            scanWorlds = null;
+            scanWorldKeys = null;
+            scanGroups = null;
+            analyzer.shutdown();
             plugin.getLogger().info("Surveillance des chunks arrêtée");
         }
     }
 
     /**
-     * Monitore les chunks pour détecter les problèmes
+     * Monitore une tranche des chunks chargés pour détecter les problèmes
      */
     private void monitorChunks() {
+        cycleTicks++;
+        if (plugin.getTaskScheduler().isRegionized()) {
+            monitorRegions();
+            return;
+        }
+
         ChunkManager chunkManager = plugin.getChunkManager();
-        
-        for (World world : Bukkit.getWorlds()) {
-            Chunk[] chunks = world.getLoadedChunks();
-            
-            for (Chunk chunk : chunks) {
-                try {
-                    checkChunkHealth(chunk, chunkManager);
-                } catch (Exception e) {
-                    plugin.getLogger().warning("Erreur lors de la vérification du chunk " + chunk.getX() + "," + chunk.getZ() + ": " + e.getMessage());
-                    recordChunkError(chunk);
-                }
+        ChunkCostProfiler profiler = plugin.getChunkProfiler();
+        MonitorAnalyzer.Batch batch = new MonitorAnalyzer.Batch(profiler.isEnabled(), 16);
+        long start = System.nanoTime();
+
+        // Dépassements de seuil à confirmer par un comptage exact
+        MonitorAnalyzer.ChunkRef confirmation;
+        while (System.nanoTime() - start < tickBudgetNanos && (confirmation = analyzer.pollConfirmation()) != null) {
+            World world = Bukkit.getWorld(confirmation.worldId);
+            int x = ChunkKeys.x(confirmation.key);
+            int z = ChunkKeys.z(confirmation.key);
+            if (world != null && world.isChunkLoaded(x, z)) {
+                Chunk chunk = world.getChunkAt(x, z);
+                chunkManager.resyncCounts(chunk);
+                collect(chunk, chunkManager, profiler, batch, true);
             }
         }
+
+        if (scanWorlds == null && cycleTicks > scanPeriodTicks) {
+            startCycle();
+        }
+
+        if (scanWorlds != null) {
+            scanSlice(chunkManager, profiler, batch, start);
+        }
+
+        if (batch.size > 0) {
+            analyzer.submit(batch);
+        }
     }
 
     /**
-     * Vérifie la santé d'un chunk
-     * @param chunk Chunk à vérifier
-     * @param chunkManager ChunkManager
+     * Variante régionalisée (Folia), exécutée sur le thread global : les chunks
+     * chargés connus de l'index sont groupés par région .mca (32x32) et chaque
+     * groupe est relevé sur le thread de la région qui le possède, en parallèle.
+     * Les durées du ScanStats ne couvrent alors que la répartition.
      */
-    private void checkChunkHealth(Chunk chunk, ChunkManager chunkManager) {
-        String chunkKey = chunkManager.getChunkKey(chunk);
-        
-        // Vérifier le nombre d'erreurs
-        int errorCount = chunkErrors.getOrDefault(chunkKey, 0);
-        
-        // Détecter les chunks qui ralentissent le serveur
-        if (isChunkProblematic(chunk)) {
-            chunkManager.addProblemChunk(chunk);
-            recordChunkError(chunk);
-            
-            if (shouldNotifyAdmins(chunkKey)) {
-                notifyAdminsOfProblem(chunk, errorCount);
-                updateLastNotificationTime(chunkKey);
+    private void monitorRegions() {
+        TaskScheduler scheduler = plugin.getTaskScheduler();
+        long start = System.nanoTime();
+
+        // Dépassements de seuil à confirmer par un comptage exact, sur la région du chunk
+        MonitorAnalyzer.ChunkRef confirmation;
+        while (System.nanoTime() - start < tickBudgetNanos && (confirmation = analyzer.pollConfirmation()) != null) {
+            World world = Bukkit.getWorld(confirmation.worldId);
+            if (world != null) {
+                long key = confirmation.key;
+                scheduler.executeAt(world, ChunkKeys.x(key), ChunkKeys.z(key), () -> scanKeys(world, new long[]{key}, 1, 1));
             }
         }
-        
-        // Nettoyer les chunks sans erreurs
-        if (errorCount > 0 && !isChunkProblematic(chunk)) {
-            chunkErrors.remove(chunkKey);
+
+        if (scanGroups == null) {
+            if (cycleTicks <= scanPeriodTicks) {
+                return;
+            }
+            startRegionCycle();
         }
-    }
 
-    /**
-     * Vérifie si un chunk est problématique
-     * @param chunk Chunk à vérifier
-     * @return true si problématique, false sinon
-     */
-    private boolean isChunkProblematic(Chunk chunk) {
-        // Vérifier plusieurs critères
-        return hasHighEntityCount(chunk) || hasHighTileEntityCount(chunk) || hasTooManyTickingBlocks(chunk);
+        // Répartir les groupes restants sur les ticks restants de la période
+        int remaining = scanGroups.size() - groupCursor;
+        int ticksLeft = Math.max(1, scanPeriodTicks - cycleTicks + 1);
+        int count = (remaining + ticksLeft - 1) / ticksLeft;
+        for (int i = 0; i < count; i++) {
+            RegionGroup group = scanGroups.get(groupCursor);
+            scanGroups.set(groupCursor++, null);
+            long first = group.keys[0];
+            scheduler.executeAt(group.world, ChunkKeys.x(first), ChunkKeys.z(first),
+                () -> scanKeys(group.world, group.keys, group.size, resyncPerTick));
+        }
+
+        long elapsed = System.nanoTime() - start;
+        cycleNanos += elapsed;
+        cycleActiveTicks++;
+        cycleMaxTickNanos = Math.max(cycleMaxTickNanos, elapsed);
+
+        if (groupCursor >= scanGroups.size()) {
+            lastScan = new ScanStats(cycleChunks, cycleTicks, cycleActiveTicks, cycleNanos, cycleMaxTickNanos);
+            scanGroups = null;
+            analyzer.sweep();
+        }
     }
 
     /**
-     * Vérifie si un chunk a trop d'entités
-     * @param chunk Chunk à vérifier
-     * @return true si trop d'entités, false sinon
+     * Groupe les chunks chargés de chaque monde par région .mca
      */
-    private boolean hasHighEntityCount(Chunk chunk) {
-        return chunk.getEntities().length > 500;
+    private void startRegionCycle() {
+        ChunkManager chunkManager = plugin.getChunkManager();
+        List<RegionGroup> groups = new ArrayList<>();
+        int chunks = 0;
+        for (World world : Bukkit.getWorlds()) {
+            Map<Long, RegionGroup> byRegion = new HashMap<>();
+            chunkManager.getIndex(world).forEachLoaded(key ->
+                byRegion.computeIfAbsent(ChunkKeys.pack(ChunkKeys.x(key) >> 5, ChunkKeys.z(key) >> 5), region -> new RegionGroup(world)).add(key));
+            groups.addAll(byRegion.values());
+            for (RegionGroup group : byRegion.values()) {
+                chunks += group.size;
+            }
+        }
+
+        scanGroups = groups;
+        groupCursor = 0;
+        cycleChunks = chunks;
+        cycleTicks = 1;
+        cycleNanos = 0L;
+        cycleActiveTicks = 0;
+        cycleMaxTickNanos = 0L;
     }
 
     /**
-     * Vérifie si un chunk a trop d'entités tuiles
-     * @param chunk Chunk à vérifier
-     * @return true si trop d'entités tuiles, false sinon
+     * Relève des chunks d'une même région sur le thread qui la possède (Folia).
+     * Un chunk qui appartient à une autre région est renvoyé vers celle-ci.
+     * @param world Monde des chunks
+     * @param keys Clés des chunks
+     * @param size Nombre de clés utilisées
+     * @param exactCount Nombre de chunks à recompter exactement
      */
-    private boolean hasHighTileEntityCount(Chunk chunk) {
-        return chunk.getTileEntities(false).length > 200;
+    private void scanKeys(World world, long[] keys, int size, int exactCount) {
+        TaskScheduler scheduler = plugin.getTaskScheduler();
+        ChunkManager chunkManager = plugin.getChunkManager();
+        ChunkCostProfiler profiler = plugin.getChunkProfiler();
+        MonitorAnalyzer.Batch batch = new MonitorAnalyzer.Batch(false, size);
+        int resynced = 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < size; i++) {
+            long key = keys[i];
+            int x = ChunkKeys.x(key);
+            int z = ChunkKeys.z(key);
+            if (!scheduler.isOwnedByCurrentThread(world, x, z)) {
+                boolean exact = resynced++ < exactCount;
+                scheduler.executeAt(world, x, z, () -> scanKeys(world, new long[]{key}, 1, exact ? 1 : 0));
+                continue;
+            }
+            if (!world.isChunkLoaded(x, z)) {
+                continue;
+            }
+
+            Chunk chunk = world.getChunkAt(x, z);
+            try {
+                boolean exact = resynced < exactCount;
+                if (exact) {
+                    chunkManager.resyncCounts(chunk);
+                    resynced++;
+                }
+                collect(chunk, chunkManager, profiler, batch, exact);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Erreur lors de la vérification du chunk " + x + "," + z + ": " + e.getMessage());
+                analyzer.recordError(world.getUID(), world.getName(), x, z);
+            }
+        }
+
+        sliceNanos.record(System.nanoTime() - start);
+        if (batch.size > 0) {
+            analyzer.submit(batch);
+        }
     }
 
     /**
-     * Vérifie si un chunk a trop de blocs qui font des ticks
-     * @param chunk Chunk à vérifier
-     * @return true si trop de blocs, false sinon
+     * Relève une tranche du parcours en cours
      */
-    private boolean hasTooManyTickingBlocks(Chunk chunk) {
-        // Cette vérification est basée sur le nombre de blocs spécialisés
-        return chunk.getTileEntities(false).length > 150;
+    private void scanSlice(ChunkManager chunkManager, ChunkCostProfiler profiler, MonitorAnalyzer.Batch batch, long start) {
+        // Minimum à traiter pour finir dans la période, même si le budget est dépassé
+        int remaining = cycleChunks - cycleScanned;
+        int ticksLeft = Math.max(1, scanPeriodTicks - cycleTicks + 1);
+        int minimum = (remaining + ticksLeft - 1) / ticksLeft;
+        int processed = 0;
+        int resynced = 0;
+
+        while (worldCursor < scanWorlds.length && (processed < minimum || System.nanoTime() - start < tickBudgetNanos)) {
+            long[] keys = scanWorldKeys[worldCursor];
+            if (scanCursor >= keys.length) {
+                scanWorldKeys[worldCursor] = null;
+                worldCursor++;
+                scanCursor = 0;
+                continue;
+            }
+            World world = scanWorlds[worldCursor];
+            long key = keys[scanCursor++];
+            cycleScanned++;
+            processed++;
+
+            // Chunk résolu seulement au moment de sa visite
+            int x = ChunkKeys.x(key);
+            int z = ChunkKeys.z(key);
+            if (!world.isChunkLoaded(x, z)) {
+                continue;
+            }
+            try {
+                Chunk chunk = world.getChunkAt(x, z);
+                boolean exact = resynced < resyncPerTick;
+                if (exact) {
+                    chunkManager.resyncCounts(chunk); // Correction de dérive progressive
+                    resynced++;
+                }
+                collect(chunk, chunkManager, profiler, batch, exact);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Erreur lors de la vérification du chunk " + x + "," + z + ": " + e.getMessage());
+                analyzer.recordError(world.getUID(), world.getName(), x, z);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        cycleNanos += elapsed;
+        cycleActiveTicks++;
+        cycleMaxTickNanos = Math.max(cycleMaxTickNanos, elapsed);
+        sliceNanos.record(elapsed);
+
+        if (worldCursor >= scanWorlds.length) {
+            finishCycle();
+        }
     }
 
     /**
-     * Enregistre une erreur pour un chunk
-     * @param chunk Chunk avec erreur
+     * Relève les compteurs d'un chunk dans le lot
+     * @param exact true si les compteurs viennent d'être recomptés
      */
-    private void recordChunkError(Chunk chunk) {
-        String chunkKey = plugin.getChunkManager().getChunkKey(chunk);
-        chunkErrors.put(chunkKey, chunkErrors.getOrDefault(chunkKey, 0) + 1);
+    private void collect(Chunk chunk, ChunkManager chunkManager, ChunkCostProfiler profiler, MonitorAnalyzer.Batch batch, boolean exact) {
+        World world = chunk.getWorld();
+        int cost = profiler.isEnabled() ? profiler.measure(chunk, chunkManager) : 0;
+        int entities = chunkManager.getEntityCount(chunk);
+        int tiles = chunkManager.getTileEntityCount(chunk);
+        // Passage sur le contenu du chunk seulement si une règle par type peut être dépassée
+        DetectionRules.WorldRules worldRules = rules.forWorld(world.getName());
+        DetectionRules.Violation violation = worldRules.needsScan(entities, tiles) ? worldRules.scan(chunk, entities, tiles) : null;
+        batch.add(world.getUID(), world.getName(), chunk.getX(), chunk.getZ(), entities, tiles, cost, exact, violation);
     }
 
     /**
-     * Vérifie si on doit notifier les admins
-     * @param chunkKey Clé du chunk
-     * @return true si on doit notifier, false sinon
+     * Démarre un nouveau parcours sur un instantané des clés des chunks chargés
+     * connues de l'index (les chunks ne sont résolus qu'à leur visite)
      */
-    private boolean shouldNotifyAdmins(String chunkKey) {
-        long lastNotif = lastNotificationTime.getOrDefault(chunkKey, 0L);
-        return System.currentTimeMillis() - lastNotif > 300000; // Notifier au max toutes les 5 minutes
+    private void startCycle() {
+        ChunkManager chunkManager = plugin.getChunkManager();
+        List<World> worlds = Bukkit.getWorlds();
+        World[] cycleWorlds = worlds.toArray(new World[0]);
+        long[][] keys = new long[cycleWorlds.length][];
+        int total = 0;
+        for (int i = 0; i < cycleWorlds.length; i++) {
+            keys[i] = chunkManager.getIndex(cycleWorlds[i]).getLoadedKeys();
+            total += keys[i].length;
+        }
+
+        scanWorlds = cycleWorlds;
+        scanWorldKeys = keys;
+        worldCursor = 0;
+        scanCursor = 0;
+        cycleScanned = 0;
+        cycleChunks = total;
+        cycleTicks = 1;
+        cycleNanos = 0L;
+        cycleActiveTicks = 0;
+        cycleMaxTickNanos = 0L;
     }
 
     /**
-     * Met à jour le temps de dernière notification
-     * @param chunkKey Clé du chunk
+     * Enregistre le coût du parcours terminé
      */
-    private void updateLastNotificationTime(String chunkKey) {
-        lastNotificationTime.put(chunkKey, System.currentTimeMillis());
+    private void finishCycle() {
+        lastScan = new ScanStats(cycleChunks, cycleTicks, cycleActiveTicks, cycleNanos, cycleMaxTickNanos);
+        scanWorlds = null;
+        scanWorldKeys = null;
+        plugin.getChunkProfiler().onCycleEnd();
+        analyzer.sweep();
     }
 
     /**
-     * Notifie les admins d'un problème de chunk
-     * @param chunk Chunk problématique
-     * @param errorCount Nombre d'erreurs
+     * Recharge config.yml et recompile les règles de détection (thread quelconque)
+     * @return Nouvelles règles
      */
-    private void notifyAdminsOfProblem(Chunk chunk, int errorCount) {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            if (player.hasPermission("arkchunk.monitor")) {
-                sendNotificationToPlayer(player, chunk, errorCount);
-            }
-        }
+    public DetectionRules reloadRules() {
+        plugin.reloadConfig();
+        DetectionRules reloaded = DetectionRules.load(plugin.getConfig().getConfigurationSection("rules"), plugin.getLogger());
+        rules = reloaded;
+        return reloaded;
     }
 
     /**
-     * Envoie une notification à un joueur
-     * @param player Joueur cible
-     * @param chunk Chunk problématique
-     * @param errorCount Nombre d'erreurs
+     * Obtient les règles de détection en vigueur
+     * @return Règles compilées
      */
-    private void sendNotificationToPlayer(Player player, Chunk chunk, int errorCount) {
-        TextComponent message = new TextComponent(ChatColor.RED + "⚠ Problème détecté dans le chunk ");
-        message.addExtra(ChatColor.YELLOW + "" + chunk.getX() + ", " + chunk.getZ() + ChatColor.RED + " (" + chunk.getWorld().getName() + ")");
-        message.addExtra("\n");
-        
-        TextComponent detailsComponent = new TextComponent(ChatColor.GRAY + "[Détails]");
-        detailsComponent.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, 
-            new ComponentBuilder(ChatColor.YELLOW + "Entités: " + ChatColor.WHITE + chunk.getEntities().length + "\n" +
-                ChatColor.YELLOW + "Tile Entities: " + ChatColor.WHITE + chunk.getTileEntities(false).length + "\n" +
-                ChatColor.YELLOW + "Erreurs signalées: " + ChatColor.WHITE + errorCount).create()));
-        message.addExtra(detailsComponent);
-        message.addExtra(" ");
-        
-        TextComponent actionComponent = new TextComponent(ChatColor.GREEN + "[Actions]");
-        actionComponent.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/arkchunk actions " + chunk.getX() + " " + chunk.getZ()));
-        actionComponent.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, 
-            new ComponentBuilder("Cliquez pour afficher les actions disponibles").create()));
-        message.addExtra(actionComponent);
-        
-        player.spigot().sendMessage(message);
+    public DetectionRules getRules() {
+        return rules;
     }
 
     /**
@@ -206,19 +394,7 @@ public class ChunkMonitor {
      * @return Résumé en chaîne de caractères
      */
     public String getProblemChunksSummary() {
-        if (chunkErrors.isEmpty()) {
-            return ChatColor.GREEN + "Aucun problème détecté";
-        }
-        
-        StringBuilder sb = new StringBuilder();
-        sb.append(ChatColor.RED).append("Chunks problématiques détectés: ").append(chunkErrors.size()).append("\n");
-        
-        chunkErrors.forEach((chunkKey, errorCount) -> {
-            sb.append(ChatColor.YELLOW).append("  - ").append(chunkKey).append(": ");
-            sb.append(ChatColor.RED).append(errorCount).append(" erreurs\n");
-        });
-        
-        return sb.toString();
+        return analyzer.getSummary();
     }
 
     /**
@@ -226,14 +402,83 @@ public class ChunkMonitor {
      * @return Nombre de chunks problématiques
      */
     public int getProblemChunkCount() {
-        return chunkErrors.size();
+        return analyzer.getProblemCount();
+    }
+
+    /**
+     * Obtient le nombre de chunks dont le moniteur garde un état
+     * @return Nombre d'états (borné par monitor.max-tracked)
+     */
+    public int getTrackedChunkCount() {
+        return analyzer.getTrackedCount();
+    }
+
+    /**
+     * Obtient le coût du dernier parcours complet
+     * @return ScanStats ou null si aucun parcours n'est encore terminé
+     */
+    public ScanStats getLastScan() {
+        return lastScan;
+    }
+
+    /**
+     * Obtient la distribution des durées des tranches de parcours
+     * @return Durées en ns (tick du thread principal, ou groupe .mca sur Folia)
+     */
+    public LogLinearHistogram getSliceHistogram() {
+        return sliceNanos;
+    }
+
+    /**
+     * Chunks chargés d'une même région .mca d'un monde (Folia)
+     */
+    private static final class RegionGroup {
+        final World world;
+        long[] keys = new long[16];
+        int size;
+
+        RegionGroup(World world) {
+            this.world = world;
+        }
+
+        void add(long key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            keys[size++] = key;
+        }
+    }
+
+    /**
+     * Coût d'un parcours complet des chunks chargés
+     */
+    public static class ScanStats {
+        public final int chunks;
+        public final int ticks;
+        public final int activeTicks;
+        public final long totalNanos;
+        public final long maxTickNanos;
+
+        public ScanStats(int chunks, int ticks, int activeTicks, long totalNanos, long maxTickNanos) {
+            this.chunks = chunks;
+            this.ticks = ticks;
+            this.activeTicks = activeTicks;
+            this.totalNanos = totalNanos;
+            this.maxTickNanos = maxTickNanos;
+        }
+
+        /**
+         * @return Coût moyen par tick actif en µs
+         */
+        public double getAverageTickMicros() {
+            return activeTicks == 0 ? 0.0 : totalNanos / (double) activeTicks / 1000.0;
+        }
     }
 
     /**
      * Réinitialise les statistiques
      */
     public void resetStatistics() {
-        chunkErrors.clear();
-        lastNotificationTime.clear();
+        analyzer.reset();
     }
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.arklandia.arkchunk.managers;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.util.ChunkKeys;
+import org.bukkit.World;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Export de la carte de chaleur des chargements d'un monde (CSV ou PNG) dans
+ * plugins/ArkChunk/heatmaps. L'index est copié puis le fichier est produit
+ * hors des threads de tick.
+ */
+public class HeatmapExporter {
+
+    public enum Format {
+        CSV, PNG
+    }
+
+    private final ArkChunk plugin;
+    private final ChunkManager chunkManager;
+    private final int maxSize;
+
+    public HeatmapExporter(ArkChunk plugin, ChunkManager chunkManager) {
+        this.plugin = plugin;
+        this.chunkManager = chunkManager;
+        this.maxSize = Math.max(64, plugin.getConfig().getInt("tracking.heatmap-max-size", 2048));
+    }
+
+    /**
+     * Exporte la carte de chaleur d'un monde (thread quelconque)
+     * @param world Monde
+     * @param format Format du fichier
+     * @param callback Callback avec le fichier produit (thread global), null en cas d'erreur
+     */
+    public void export(World world, Format format, Consumer<Path> callback) {
+        String worldName = world.getName();
+        ChunkIndex index = chunkManager.getIndex(world);
+        Path folder = plugin.getDataFolder().toPath().resolve("heatmaps");
+
+        plugin.getTaskScheduler().runAsync(() -> {
+            Path file = null;
+            try {
+                Snapshot snapshot = snapshot(index);
+                Files.createDirectories(folder);
+                String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+                file = folder.resolve(worldName + "-" + stamp + "." + format.name().toLowerCase(Locale.ROOT));
+                if (format == Format.CSV) {
+                    writeCsv(snapshot, file);
+                } else {
+                    writePng(snapshot, file);
+                }
+                plugin.getLogger().info("Carte de chaleur exportée: " + file.getFileName() + " (" + snapshot.size + " chunks)");
+            } catch (IOException | RuntimeException e) {
+                plugin.getLogger().warning("Erreur lors de l'export de la carte de chaleur: " + e.getMessage());
+                file = null;
+            }
+            Path result = file;
+            plugin.getTaskScheduler().executeGlobal(() -> callback.accept(result));
+        });
+    }
+
+    private Snapshot snapshot(ChunkIndex index) {
+        Snapshot snapshot = new Snapshot();
+        index.forEachActivity(System.currentTimeMillis(), (key, loads, unloads, loaded) -> snapshot.add(key, loads, unloads, loaded));
+        return snapshot;
+    }
+
+    private void writeCsv(Snapshot snapshot, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("x,z,chargements,dechargements,cycles_par_minute,charge");
+            writer.newLine();
+            for (int i = 0; i < snapshot.size; i++) {
+                float cycles = Math.min(snapshot.loads[i], snapshot.unloads[i]);
+                writer.write(ChunkKeys.x(snapshot.keys[i]) + "," + ChunkKeys.z(snapshot.keys[i]) + ","
+                    + String.format(Locale.ROOT, "%.3f,%.3f,%.3f", snapshot.loads[i], snapshot.unloads[i], chunkManager.toPerMinute(cycles))
+                    + "," + (snapshot.loaded[i] ? 1 : 0));
+                writer.newLine();
+            }
+        }
+    }
+
+    private void writePng(Snapshot snapshot, Path file) throws IOException {
+        if (snapshot.size == 0) {
+            throw new IOException("Aucun chargement enregistré pour ce monde");
+        }
+
+        int minX = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        for (int i = 0; i < snapshot.size; i++) {
+            int x = ChunkKeys.x(snapshot.keys[i]);
+            int z = ChunkKeys.z(snapshot.keys[i]);
+            minX = Math.min(minX, x);
+            minZ = Math.min(minZ, z);
+            maxX = Math.max(maxX, x);
+            maxZ = Math.max(maxZ, z);
+        }
+
+        // Plusieurs chunks par pixel si le monde est plus grand que l'image maximale
+        long span = Math.max((long) maxX - minX, (long) maxZ - minZ) + 1;
+        int scale = (int) Math.max(1L, (span + maxSize - 1) / maxSize);
+        int width = (int) (((long) maxX - minX) / scale + 1);
+        int height = (int) (((long) maxZ - minZ) / scale + 1);
+
+        float[] heat = new float[width * height];
+        float max = 0f;
+        for (int i = 0; i < snapshot.size; i++) {
+            int px = (int) (((long) ChunkKeys.x(snapshot.keys[i]) - minX) / scale);
+            int pz = (int) (((long) ChunkKeys.z(snapshot.keys[i]) - minZ) / scale);
+            int cell = pz * width + px;
+            heat[cell] += snapshot.loads[i];
+            max = Math.max(max, heat[cell]);
+        }
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        double logMax = Math.log1p(max);
+        for (int pz = 0; pz < height; pz++) {
+            for (int px = 0; px < width; px++) {
+                float value = heat[pz * width + px];
+                image.setRGB(px, pz, value <= 0f ? 0x000000 : color(Math.log1p(value) / logMax));
+            }
+        }
+        ImageIO.write(image, "png", file.toFile());
+    }
+
+    // Dégradé bleu → rouge → jaune selon l'intensité (échelle logarithmique)
+    private static int color(double ratio) {
+        double t = Math.max(0.0, Math.min(1.0, ratio));
+        int r;
+        int g;
+        int b;
+        if (t < 0.5) {
+            double u = t / 0.5;
+            r = (int) (255 * u);
+            g = 0;
+            b = (int) (255 * (1 - u));
+        } else {
+            double u = (t - 0.5) / 0.5;
+            r = 255;
+            g = (int) (255 * u);
+            b = 0;
+        }
+        return (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Copie des compteurs d'un monde en tableaux parallèles
+     */
+    private static class Snapshot {
+        long[] keys = new long[1024];
+        float[] loads = new float[1024];
+        float[] unloads = new float[1024];
+        boolean[] loaded = new boolean[1024];
+        int size;
+
+        void add(long key, float load, float unload, boolean isLoaded) {
+            if (size == keys.length) {
+                int capacity = size << 1;
+                keys = Arrays.copyOf(keys, capacity);
+                loads = Arrays.copyOf(loads, capacity);
+                unloads = Arrays.copyOf(unloads, capacity);
+                loaded = Arrays.copyOf(loaded, capacity);
+            }
+            keys[size] = key;
+            loads[size] = load;
+            unloads[size] = unload;
+            loaded[size] = isLoaded;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.arklandia.arkchunk.managers;
+
+import com.arklandia.arkchunk.metrics.RollingHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistiques de latence de chargement (demande -> ChunkLoadEvent),
+ * séparées entre chunks générés, chunks lus depuis le disque et chunks
+ * demandés par le préchargement (quelle que soit leur origine).
+ * Les statistiques d'un monde transmettent chaque mesure à celles du serveur.
+ */
+public class LoadLatencyStats {
+
+    private final LoadLatencyStats parent;
+    private final Source generated = new Source();
+    private final Source disk = new Source();
+    private final Source preload = new Source();
+
+    public LoadLatencyStats() {
+        this(null);
+    }
+
+    /**
+     * @param parent Statistiques globales recevant aussi chaque mesure, ou null
+     */
+    public LoadLatencyStats(LoadLatencyStats parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Enregistre une latence mesurée (sans allocation)
+     * @param nanos Latence en ns
+     * @param isNewChunk true si le chunk vient d'être généré
+     * @param preloaded true si le chargement a été demandé par le préchargement
+     */
+    public void record(long nanos, boolean isNewChunk, boolean preloaded) {
+        (preloaded ? preload : isNewChunk ? generated : disk).record(nanos);
+        if (parent != null) {
+            parent.record(nanos, isNewChunk, preloaded);
+        }
+    }
+
+    public Source getGenerated() {
+        return generated;
+    }
+
+    public Source getDisk() {
+        return disk;
+    }
+
+    public Source getPreload() {
+        return preload;
+    }
+
+    /**
+     * Réinitialise les statistiques
+     */
+    public void reset() {
+        generated.reset();
+        disk.reset();
+        preload.reset();
+    }
+
+    /**
+     * Accumulateurs d'une source de chargement
+     */
+    public static class Source {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final RollingHistogram histogram = new RollingHistogram();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            histogram.record(nanos);
+        }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.set(0L);
+            histogram.reset();
+        }
+
+        /**
+         * @return Distribution des latences en ns (depuis le démarrage et sur 1 à 15 min)
+         */
+        public RollingHistogram getHistogram() {
+            return histogram;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return Latence moyenne en ms
+         */
+        public double getAverageMillis() {
+            long n = count.sum();
+            return n == 0 ? 0.0 : totalNanos.sum() / (double) n / 1_000_000.0;
+        }
+
+        /**
+         * @return Latence maximale en ms
+         */
+        public double getMaxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.arklandia.arkchunk.managers;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.profiler.ChunkCostProfiler;
+import com.arklandia.arkchunk.rules.DetectionRules;
+import com.arklandia.arkchunk.util.ChunkKeys;
+import net.md_5.bungee.api.ChatColor;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partie analyse du moniteur, exécutée sur un thread dédié.
+ * Le thread principal ne fait que relever des compteurs dans des lots
+ * ({@link Batch}) ; ici sont évalués les seuils, agrégées les erreurs et
+ * décidées les notifications, regroupées par parcours
+ * ({@link ProblemNotifier}). L'état par chunk est borné en nombre
+ * (monitor.max-tracked) et expire après monitor.state-ttl-minutes sans
+ * nouvelle erreur.
+ */
+class MonitorAnalyzer {
+
+    private static final long NOTIFICATION_INTERVAL = 300000L; // Notifier au max toutes les 5 minutes
+
+    private final ArkChunk plugin;
+    private final ProblemNotifier notifier;
+    private final ExecutorService worker;
+    private final Map<ChunkRef, ChunkState> states = new ConcurrentHashMap<>();
+    private final Queue<ChunkRef> confirmations = new ConcurrentLinkedQueue<>();
+    private final int maxTracked;
+    private final long ttlMillis;
+
+    MonitorAnalyzer(ArkChunk plugin, ProblemNotifier notifier) {
+        this.plugin = plugin;
+        this.notifier = notifier;
+        this.maxTracked = Math.max(16, plugin.getConfig().getInt("monitor.max-tracked", 10000));
+        this.ttlMillis = Math.max(1L, plugin.getConfig().getLong("monitor.state-ttl-minutes", 30L)) * 60000L;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ArkChunk-Monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Transmet un lot de relevés au thread d'analyse
+     * @param batch Lot rempli par le thread principal (plus modifié ensuite)
+     */
+    void submit(Batch batch) {
+        execute(() -> analyze(batch));
+    }
+
+    /**
+     * Enregistre une erreur de vérification
+     * @param worldId UUID du monde
+     * @param worldName Nom du monde
+     * @param x Coordonnée X du chunk
+     * @param z Coordonnée Z du chunk
+     */
+    void recordError(UUID worldId, String worldName, int x, int z) {
+        long now = System.currentTimeMillis();
+        execute(() -> state(new ChunkRef(worldId, worldName, ChunkKeys.pack(x, z)), now).errors++);
+    }
+
+    /**
+     * Purge l'état expiré et envoie le résumé des problèmes du parcours (fin de parcours)
+     */
+    void sweep() {
+        execute(() -> {
+            expire(System.currentTimeMillis());
+            notifier.flush();
+        });
+    }
+
+    /**
+     * Prochain chunk dont le dépassement de seuil doit être confirmé par un
+     * comptage exact sur le thread principal
+     * @return Chunk à recompter, ou null
+     */
+    ChunkRef pollConfirmation() {
+        return confirmations.poll();
+    }
+
+    private void execute(Runnable task) {
+        try {
+            worker.execute(task);
+        } catch (RejectedExecutionException ignored) {
+            // Arrêt en cours
+        }
+    }
+
+    /**
+     * Analyse un lot (thread d'analyse)
+     */
+    private void analyze(Batch batch) {
+        ChunkCostProfiler profiler = plugin.getChunkProfiler();
+        ChunkManager chunkManager = plugin.getChunkManager();
+        long now = System.currentTimeMillis();
+
+        DetectionRules rules = plugin.getChunkMonitor().getRules();
+
+        for (int i = 0; i < batch.size; i++) {
+            DetectionRules.Violation violation = batch.violations[i];
+            boolean problematic = violation != null || (batch.measured
+                ? profiler.isCostly(batch.costs[i])
+                : rules.forWorld(batch.worldNames[i]).exceedsTotals(batch.entities[i], batch.tiles[i]));
+            ChunkRef ref = new ChunkRef(batch.worlds[i], batch.worldNames[i], ChunkKeys.pack(batch.xs[i], batch.zs[i]));
+
+            if (!problematic) {
+                // Nettoyer les chunks sans erreurs (la date de notification reste jusqu'à expiration)
+                ChunkState state = states.get(ref);
+                if (state != null) {
+                    state.errors = 0;
+                }
+                chunkManager.removeProblemChunk(ref.worldId, batch.xs[i], batch.zs[i]);
+                continue;
+            }
+
+            // Une règle par type vient d'un comptage exact : pas de confirmation
+            if (violation == null && !batch.measured && !batch.confirmed[i]) {
+                // Confirmer par un comptage exact avant de signaler
+                confirmations.add(ref);
+                continue;
+            }
+
+            chunkManager.addProblemChunk(ref.worldId, batch.xs[i], batch.zs[i]);
+            ChunkState state = state(ref, now);
+            int errorCount = state.errors++;
+
+            if (now - state.lastNotification > NOTIFICATION_INTERVAL) {
+                state.lastNotification = now;
+                notifier.add(ref, batch.entities[i], batch.tiles[i], batch.costs[i], errorCount, violation);
+            }
+        }
+    }
+
+    /**
+     * Obtient ou crée l'état d'un chunk, en respectant la borne
+     */
+    private ChunkState state(ChunkRef ref, long now) {
+        ChunkState state = states.get(ref);
+        if (state == null) {
+            if (states.size() >= maxTracked) {
+                expire(now);
+            }
+            state = new ChunkState();
+            states.put(ref, state);
+        }
+        state.lastSeen = now;
+        return state;
+    }
+
+    /**
+     * Retire les états expirés puis, si la borne est encore dépassée, les plus
+     * anciens jusqu'à 90 % de la borne
+     */
+    private void expire(long now) {
+        states.values().removeIf(state -> now - state.lastSeen > ttlMillis);
+        if (states.size() < maxTracked) {
+            return;
+        }
+
+        List<Map.Entry<ChunkRef, ChunkState>> entries = new ArrayList<>(states.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastSeen));
+        int excess = states.size() - maxTracked * 9 / 10;
+        for (int i = 0; i < excess; i++) {
+            states.remove(entries.get(i).getKey());
+        }
+    }
+
+    /**
+     * Obtient un résumé de tous les chunks problématiques (thread quelconque)
+     * @return Résumé en chaîne de caractères
+     */
+    String getSummary() {
+        StringBuilder lines = new StringBuilder();
+        int count = 0;
+        for (Map.Entry<ChunkRef, ChunkState> entry : states.entrySet()) {
+            int errors = entry.getValue().errors;
+            if (errors > 0) {
+                ChunkRef ref = entry.getKey();
+                lines.append(ChatColor.YELLOW).append("  - ").append(ref.worldName).append(':')
+                    .append(ChunkKeys.x(ref.key)).append(':').append(ChunkKeys.z(ref.key)).append(": ");
+                lines.append(ChatColor.RED).append(errors).append(" erreurs\n");
+                count++;
+            }
+        }
+
+        if (count == 0) {
+            return ChatColor.GREEN + "Aucun problème détecté";
+        }
+        return ChatColor.RED + "Chunks problématiques détectés: " + count + "\n" + lines;
+    }
+
+    /**
+     * Obtient le nombre de chunks problématiques (thread quelconque)
+     * @return Nombre de chunks avec des erreurs
+     */
+    int getProblemCount() {
+        int count = 0;
+        for (ChunkState state : states.values()) {
+            if (state.errors > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Obtient le nombre de chunks suivis (erreurs ou notification récente)
+     * @return Nombre d'états
+     */
+    int getTrackedCount() {
+        return states.size();
+    }
+
+    /**
+     * Oublie tout l'état
+     */
+    void reset() {
+        execute(() -> {
+            states.clear();
+            confirmations.clear();
+            notifier.clear();
+        });
+    }
+
+    /**
+     * Arrête le thread d'analyse
+     */
+    void shutdown() {
+        worker.shutdown();
+        try {
+            worker.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Relevés d'une tranche du parcours (tableaux primitifs parallèles)
+     */
+    static final class Batch {
+        final boolean measured;
+        UUID[] worlds;
+        String[] worldNames;
+        int[] xs;
+        int[] zs;
+        int[] entities;
+        int[] tiles;
+        int[] costs;
+        boolean[] confirmed;
+        DetectionRules.Violation[] violations; // null sauf règle par type dépassée
+        int size;
+
+        /**
+         * @param measured true si les coûts viennent du profileur
+         * @param capacity Capacité initiale
+         */
+        Batch(boolean measured, int capacity) {
+            this.measured = measured;
+            this.worlds = new UUID[capacity];
+            this.worldNames = new String[capacity];
+            this.xs = new int[capacity];
+            this.zs = new int[capacity];
+            this.entities = new int[capacity];
+            this.tiles = new int[capacity];
+            this.costs = new int[capacity];
+            this.confirmed = new boolean[capacity];
+            this.violations = new DetectionRules.Violation[capacity];
+        }
+
+        void add(UUID worldId, String worldName, int x, int z, int entityCount, int tileCount, int cost, boolean exact,
+                 DetectionRules.Violation violation) {
+            if (size == xs.length) {
+                int capacity = Math.max(16, size * 2);
+                worlds = Arrays.copyOf(worlds, capacity);
+                worldNames = Arrays.copyOf(worldNames, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                zs = Arrays.copyOf(zs, capacity);
+                entities = Arrays.copyOf(entities, capacity);
+                tiles = Arrays.copyOf(tiles, capacity);
+                costs = Arrays.copyOf(costs, capacity);
+                confirmed = Arrays.copyOf(confirmed, capacity);
+                violations = Arrays.copyOf(violations, capacity);
+            }
+            worlds[size] = worldId;
+            worldNames[size] = worldName;
+            xs[size] = x;
+            zs[size] = z;
+            entities[size] = entityCount;
+            tiles[size] = tileCount;
+            costs[size] = cost;
+            confirmed[size] = exact;
+            violations[size] = violation;
+            size++;
+        }
+    }
+
+    /**
+     * Référence d'un chunk dans l'état du moniteur
+     */
+    static final class ChunkRef {
+        final UUID worldId;
+        final String worldName;
+        final long key;
+
+        ChunkRef(UUID worldId, String worldName, long key) {
+            this.worldId = worldId;
+            this.worldName = worldName;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ChunkRef other)) return false;
+            return key == other.key && worldId.equals(other.worldId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * worldId.hashCode() + Long.hashCode(key);
+        }
+    }
+
+    /**
+     * État d'un chunk, modifié uniquement par le thread d'analyse
+     */
+    private static final class ChunkState {
+        volatile int errors;
+        volatile long lastSeen;
+        volatile long lastNotification;
+    }
+}
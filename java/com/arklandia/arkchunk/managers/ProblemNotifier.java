@@ -0,0 +1,205 @@
+package com.arklandia.arkchunk.managers;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.rules.DetectionRules;
+import com.arklandia.arkchunk.util.ChunkKeys;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.ClickEvent;
+import net.md_5.bungee.api.chat.ComponentBuilder;
+import net.md_5.bungee.api.chat.HoverEvent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Notifications des chunks problématiques aux administrateurs, regroupées
+ * en un résumé par parcours du moniteur.
+ * Les problèmes sont accumulés par le thread d'analyse puis, à la fin de
+ * chaque parcours, le message est construit une seule fois (sur ce même
+ * thread) et le même composant est envoyé à chaque destinataire. Un
+ * intervalle minimal entre deux résumés s'ajoute au délai de 5 minutes par
+ * chunk : les problèmes d'un résumé retardé sont conservés pour le suivant.
+ *
+ * Les destinataires (joueurs en ligne avec arkchunk.monitor) sont mis en
+ * cache ; le cache est invalidé aux connexions et déconnexions, et
+ * reconstruit au plus tard après monitor.notifications.subscriber-refresh-seconds
+ * pour suivre les changements de permissions.
+ */
+class ProblemNotifier implements Listener {
+
+    private final ArkChunk plugin;
+    private final long minIntervalMillis;
+    private final int maxLines;
+    private final long subscriberRefreshMillis;
+
+    // Modifiés uniquement par le thread d'analyse
+    private final Map<MonitorAnalyzer.ChunkRef, Problem> pending = new LinkedHashMap<>();
+    private long lastDigestAt;
+
+    // Modifiés uniquement par le thread global
+    private List<UUID> subscribers = List.of();
+    private long subscribersAt;
+    private volatile boolean subscribersDirty = true;
+
+    ProblemNotifier(ArkChunk plugin) {
+        this.plugin = plugin;
+        ConfigurationSection config = plugin.getConfig().getConfigurationSection("monitor.notifications");
+        this.minIntervalMillis = Math.max(0L, config != null ? config.getLong("min-interval-seconds", 30L) : 30L) * 1000L;
+        this.maxLines = Math.max(1, config != null ? config.getInt("max-lines", 10) : 10);
+        this.subscriberRefreshMillis = Math.max(1L, config != null ? config.getLong("subscriber-refresh-seconds", 60L) : 60L) * 1000L;
+    }
+
+    /**
+     * Commence à suivre les connexions et déconnexions
+     */
+    void start() {
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    @EventHandler
+    public void onJoin(PlayerJoinEvent event) {
+        subscribersDirty = true;
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        subscribersDirty = true;
+    }
+
+    /**
+     * Ajoute un problème au prochain résumé (thread d'analyse)
+     * @param ref Chunk concerné
+     * @param entities Nombre d'entités relevé
+     * @param tiles Nombre de tile entities relevé
+     * @param cost Coût mesuré en µs par tick (0 sans profileur)
+     * @param errorCount Nombre d'erreurs
+     * @param violation Règle par type dépassée, ou null
+     */
+    void add(MonitorAnalyzer.ChunkRef ref, int entities, int tiles, int cost, int errorCount, DetectionRules.Violation violation) {
+        pending.put(ref, new Problem(ref, entities, tiles, cost, errorCount, violation));
+    }
+
+    /**
+     * Envoie le résumé du parcours, sauf si le précédent est trop récent (thread d'analyse)
+     */
+    void flush() {
+        long now = System.currentTimeMillis();
+        if (pending.isEmpty() || now - lastDigestAt < minIntervalMillis) {
+            return;
+        }
+        lastDigestAt = now;
+        TextComponent digest = build(pending.values());
+        pending.clear();
+        plugin.getTaskScheduler().executeGlobal(() -> deliver(digest));
+    }
+
+    /**
+     * Oublie les problèmes en attente (thread d'analyse)
+     */
+    void clear() {
+        pending.clear();
+    }
+
+    /**
+     * Construit le résumé : une ligne par chunk, dans la limite de max-lines
+     */
+    private TextComponent build(Collection<Problem> problems) {
+        boolean profiled = plugin.getChunkProfiler().isEnabled();
+        TextComponent message = new TextComponent(ChatColor.RED + "⚠ " + problems.size()
+            + (problems.size() > 1 ? " chunks problématiques détectés" : " chunk problématique détecté"));
+
+        int lines = 0;
+        for (Problem problem : problems) {
+            if (lines++ == maxLines) {
+                message.addExtra("\n" + ChatColor.GRAY + "  ... et " + (problems.size() - maxLines) + " autres (/arkchunk problems)");
+                break;
+            }
+            int x = ChunkKeys.x(problem.ref.key);
+            int z = ChunkKeys.z(problem.ref.key);
+            message.addExtra("\n" + ChatColor.YELLOW + "  " + x + ", " + z + ChatColor.RED + " (" + problem.ref.worldName + ") ");
+
+            TextComponent details = new TextComponent(ChatColor.GRAY + "[Détails]");
+            details.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
+                new ComponentBuilder(ChatColor.YELLOW + "Entités: " + ChatColor.WHITE + problem.entities + "\n" +
+                    ChatColor.YELLOW + "Tile Entities: " + ChatColor.WHITE + problem.tiles + "\n" +
+                    (profiled ? ChatColor.YELLOW + "Coût: " + ChatColor.WHITE
+                        + String.format("%.2f ms/tick", problem.cost / 1000.0) + "\n" : "") +
+                    (problem.violation != null ? ChatColor.YELLOW + "Règle dépassée: " + ChatColor.WHITE
+                        + problem.violation.label + " " + problem.violation.count + " > " + problem.violation.limit + "\n" : "") +
+                    ChatColor.YELLOW + "Erreurs signalées: " + ChatColor.WHITE + problem.errorCount).create()));
+            message.addExtra(details);
+            message.addExtra(" ");
+
+            TextComponent actions = new TextComponent(ChatColor.GREEN + "[Actions]");
+            actions.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/arkchunk actions " + x + " " + z));
+            actions.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
+                new ComponentBuilder("Cliquez pour afficher les actions disponibles").create()));
+            message.addExtra(actions);
+        }
+        return message;
+    }
+
+    /**
+     * Envoie le résumé aux administrateurs en ligne (thread global)
+     */
+    private void deliver(TextComponent digest) {
+        for (UUID id : getSubscribers()) {
+            Player player = Bukkit.getPlayer(id);
+            if (player != null) {
+                player.spigot().sendMessage(digest);
+            }
+        }
+    }
+
+    /**
+     * Destinataires en cache, reconstruits si invalidés ou trop anciens (thread global)
+     */
+    private List<UUID> getSubscribers() {
+        long now = System.currentTimeMillis();
+        if (subscribersDirty || now - subscribersAt > subscriberRefreshMillis) {
+            subscribersDirty = false;
+            List<UUID> ids = new ArrayList<>();
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                if (player.hasPermission("arkchunk.monitor")) {
+                    ids.add(player.getUniqueId());
+                }
+            }
+            subscribers = ids;
+            subscribersAt = now;
+        }
+        return subscribers;
+    }
+
+    /**
+     * Relevé d'un chunk problématique en attente de notification
+     */
+    private static final class Problem {
+        final MonitorAnalyzer.ChunkRef ref;
+        final int entities;
+        final int tiles;
+        final int cost;
+        final int errorCount;
+        final DetectionRules.Violation violation;
+
+        Problem(MonitorAnalyzer.ChunkRef ref, int entities, int tiles, int cost, int errorCount, DetectionRules.Violation violation) {
+            this.ref = ref;
+            this.entities = entities;
+            this.tiles = tiles;
+            this.cost = cost;
+            this.errorCount = errorCount;
+            this.violation = violation;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.arklandia.arkchunk.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme log-linéaire sans verrou (à la HdrHistogram) pour des valeurs
+ * positives en nanosecondes : chaque puissance de deux est découpée en
+ * {@value #SUB_BUCKETS} intervalles égaux, soit une erreur relative d'au plus
+ * 12,5 % sur les quantiles, pour 496 compteurs couvrant toute la plage d'un long.
+ * L'enregistrement ne fait qu'un incrément atomique : il peut être appelé depuis
+ * n'importe quel thread de tick, et la lecture n'interrompt jamais l'écriture.
+ */
+public final class LogLinearHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Enregistre une valeur
+     * @param value Valeur en ns (les valeurs négatives comptent comme 0)
+     */
+    public void record(long value) {
+        long v = Math.max(0L, value);
+        counts.incrementAndGet(bucketOf(v));
+        sum.add(v);
+        if (v > max.get()) {
+            max.accumulateAndGet(v, Math::max);
+        }
+    }
+
+    /**
+     * Index de l'intervalle contenant une valeur
+     * @param value Valeur positive
+     * @return Index entre 0 et BUCKETS - 1
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Borne supérieure (incluse) d'un intervalle
+     * @param bucket Index de l'intervalle
+     * @return Plus grande valeur comptée dans cet intervalle
+     */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (1L << exponent) + sub * width;
+        return lower + width - 1 < lower ? Long.MAX_VALUE : lower + width - 1;
+    }
+
+    /**
+     * Copie cohérente à un intervalle près des compteurs
+     * @return Instantané
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, sum.sum(), max.get());
+    }
+
+    /**
+     * Remet l'histogramme à zéro (les enregistrements concurrents peuvent survivre)
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0L);
+        }
+        sum.reset();
+        max.set(0L);
+    }
+
+    /**
+     * Instantané immuable d'un histogramme
+     */
+    public static final class Snapshot {
+        /** Instantané sans aucune valeur */
+        public static final Snapshot EMPTY = new Snapshot(new long[BUCKETS], 0L, 0L, 0L);
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * Additionne deux instantanés (fenêtres, mondes)
+         * @param other Autre instantané
+         * @return Nouvel instantané
+         */
+        public Snapshot merge(Snapshot other) {
+            long[] merged = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                merged[i] = counts[i] + other.counts[i];
+            }
+            return new Snapshot(merged, count + other.count, sum + other.sum, Math.max(max, other.max));
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return Somme des valeurs en ns
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * @return Plus grande valeur en ns
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Nombre de valeurs inférieures ou égales à une borne (à la précision
+         * des intervalles : seuls les intervalles entièrement sous la borne comptent)
+         * @param bound Borne en ns
+         * @return Nombre cumulé de valeurs
+         */
+        public long countAtOrBelow(long bound) {
+            long cumulative = 0L;
+            for (int i = 0; i < counts.length && upperBound(i) <= bound; i++) {
+                cumulative += counts[i];
+            }
+            return cumulative;
+        }
+
+        /**
+         * Quantile approché (borne supérieure de l'intervalle qui le contient)
+         * @param quantile Quantile entre 0 et 1
+         * @return Valeur en ns, 0 sans donnée
+         */
+        public long getQuantile(double quantile) {
+            if (count == 0) {
+                return 0L;
+            }
+            long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+            long cumulative = 0L;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
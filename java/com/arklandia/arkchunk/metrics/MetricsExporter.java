@@ -0,0 +1,204 @@
+package com.arklandia.arkchunk.metrics;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.managers.ChunkManager;
+import com.arklandia.arkchunk.managers.ChunkMonitor;
+import com.arklandia.arkchunk.managers.LoadLatencyStats;
+import com.arklandia.arkchunk.preload.PreloadEngine;
+import com.arklandia.arkchunk.preload.PredictivePreloader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Export des métriques au format OpenMetrics (Prometheus) via le serveur HTTP
+ * du JDK, sur l'adresse locale par défaut.
+ * Une requête ne lit que des compteurs atomiques, des champs volatils et des
+ * histogrammes sans verrou : elle est servie par un thread dédié et ne passe
+ * jamais par les threads de tick.
+ */
+public class MetricsExporter {
+
+    private static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    // Bornes des histogrammes exportés, en secondes
+    private static final double[] LATENCY_BOUNDS = {0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0, 10.0};
+    private static final double[] SLICE_BOUNDS = {0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05};
+
+    private final ArkChunk plugin;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public MetricsExporter(ArkChunk plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Démarre le serveur HTTP (si activé dans la configuration)
+     */
+    public void start() {
+        if (!plugin.getConfig().getBoolean("metrics.enabled", false)) {
+            return;
+        }
+        String host = plugin.getConfig().getString("metrics.bind", "127.0.0.1");
+        int port = plugin.getConfig().getInt("metrics.port", 9464);
+        try {
+            server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Erreur lors du démarrage de l'export des métriques sur " + host + ":" + port + ": " + e.getMessage());
+            return;
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ArkChunk-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+        plugin.getLogger().info("Métriques OpenMetrics disponibles sur http://" + host + ":" + port + "/metrics");
+    }
+
+    /**
+     * Arrête le serveur HTTP
+     */
+    public void shutdown() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body;
+            try {
+                body = render().getBytes(StandardCharsets.UTF_8);
+            } catch (RuntimeException e) {
+                plugin.getLogger().warning("Erreur lors de l'export des métriques: " + e.getMessage());
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Produit l'exposition complète (thread du serveur HTTP)
+     * @return Texte OpenMetrics terminé par # EOF
+     */
+    String render() {
+        StringBuilder out = new StringBuilder(4096);
+        ChunkManager chunkManager = plugin.getChunkManager();
+        ChunkMonitor chunkMonitor = plugin.getChunkMonitor();
+
+        family(out, "arkchunk_loaded_chunks", "gauge", "Chunks chargés par monde");
+        for (Map.Entry<String, Integer> entry : chunkManager.getLoadedCounts().entrySet()) {
+            out.append("arkchunk_loaded_chunks{world=\"").append(escape(entry.getKey())).append("\"} ").append(entry.getValue()).append('\n');
+        }
+
+        LoadLatencyStats latency = chunkManager.getLoadLatencyStats();
+        family(out, "arkchunk_chunk_load_latency_seconds", "histogram", "Latence entre la demande et le chargement d'un chunk");
+        out.append("# UNIT arkchunk_chunk_load_latency_seconds seconds\n");
+        histogram(out, "arkchunk_chunk_load_latency_seconds", "source=\"generated\"", latency.getGenerated().getHistogram().snapshotTotal(), LATENCY_BOUNDS);
+        histogram(out, "arkchunk_chunk_load_latency_seconds", "source=\"disk\"", latency.getDisk().getHistogram().snapshotTotal(), LATENCY_BOUNDS);
+        histogram(out, "arkchunk_chunk_load_latency_seconds", "source=\"preload\"", latency.getPreload().getHistogram().snapshotTotal(), LATENCY_BOUNDS);
+
+        PreloadEngine preloadEngine = chunkManager.getPreloadEngine();
+        family(out, "arkchunk_preload_chunks", "counter", "Chunks préchargés depuis le démarrage");
+        sample(out, "arkchunk_preload_chunks_total", preloadEngine.getCompleted());
+        family(out, "arkchunk_preload_in_flight", "gauge", "Chargements de préchargement en vol");
+        sample(out, "arkchunk_preload_in_flight", preloadEngine.getInFlight());
+        family(out, "arkchunk_preload_window", "gauge", "Fenêtre de préchargement autorisée par la régulation");
+        sample(out, "arkchunk_preload_window", preloadEngine.getThrottle().getWindow());
+        if (preloadEngine.getThrottle().isMeasured()) {
+            // Absent plutôt que 0 quand le MSPT n'est pas relevé (Folia)
+            family(out, "arkchunk_mspt", "gauge", "Durée moyenne lissée d'un tick en millisecondes");
+            sample(out, "arkchunk_mspt", preloadEngine.getThrottle().getMspt());
+        }
+
+        PredictivePreloader predictive = preloadEngine.getPredictive();
+        if (predictive.isEnabled()) {
+            family(out, "arkchunk_predictive_chunks", "counter", "Chunks spéculatifs par résultat");
+            out.append("arkchunk_predictive_chunks_total{result=\"hit\"} ").append(predictive.getHits()).append('\n');
+            out.append("arkchunk_predictive_chunks_total{result=\"miss\"} ").append(predictive.getMisses()).append('\n');
+            out.append("arkchunk_predictive_chunks_total{result=\"failed\"} ").append(predictive.getFailed()).append('\n');
+        }
+
+        family(out, "arkchunk_monitor_slice_seconds", "histogram", "Durée d'une tranche de parcours du moniteur");
+        out.append("# UNIT arkchunk_monitor_slice_seconds seconds\n");
+        histogram(out, "arkchunk_monitor_slice_seconds", null, chunkMonitor.getSliceHistogram().snapshot(), SLICE_BOUNDS);
+
+        ChunkMonitor.ScanStats scan = chunkMonitor.getLastScan();
+        if (scan != null) {
+            family(out, "arkchunk_monitor_last_scan_chunks", "gauge", "Chunks relevés par le dernier parcours complet");
+            sample(out, "arkchunk_monitor_last_scan_chunks", scan.chunks);
+            family(out, "arkchunk_monitor_last_scan_seconds", "gauge", "Temps total consacré au dernier parcours complet");
+            sample(out, "arkchunk_monitor_last_scan_seconds", scan.totalNanos / 1e9);
+        }
+
+        family(out, "arkchunk_problem_chunks", "gauge", "Chunks problématiques");
+        sample(out, "arkchunk_problem_chunks", chunkMonitor.getProblemChunkCount());
+        family(out, "arkchunk_monitor_tracked_chunks", "gauge", "Chunks dont le moniteur garde un état");
+        sample(out, "arkchunk_monitor_tracked_chunks", chunkMonitor.getTrackedChunkCount());
+
+        out.append("# EOF\n");
+        return out.toString();
+    }
+
+    private static void family(StringBuilder out, String name, String type, String help) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, double value) {
+        out.append(name).append(' ').append(format(value)).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, long value) {
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Écrit un histogramme cumulatif : chaque intervalle log-linéaire est compté
+     * sous la première borne exportée qui le contient entièrement
+     */
+    private static void histogram(StringBuilder out, String name, String labels, LogLinearHistogram.Snapshot snapshot, double[] bounds) {
+        String prefix = labels == null ? "" : labels + ",";
+        for (double bound : bounds) {
+            out.append(name).append("_bucket{").append(prefix).append("le=\"").append(format(bound)).append("\"} ")
+                .append(snapshot.countAtOrBelow((long) (bound * 1e9))).append('\n');
+        }
+        out.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ").append(snapshot.getCount()).append('\n');
+        String suffix = labels == null ? "" : "{" + labels + "}";
+        out.append(name).append("_count").append(suffix).append(' ').append(snapshot.getCount()).append('\n');
+        out.append(name).append("_sum").append(suffix).append(' ').append(format(snapshot.getSum() / 1e9)).append('\n');
+    }
+
+    private static String format(double value) {
+        return Double.toString(value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,107 @@
+package com.arklandia.arkchunk.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogramme log-linéaire à fenêtres glissantes : un anneau de
+ * {@value #SLOTS} tranches de 30 secondes (15 minutes) en plus du cumul
+ * depuis le démarrage. Une fenêtre additionne les tranches récentes à
+ * l'instantané, à la granularité d'une tranche près.
+ * L'enregistrement reste sans verrou et sans allocation ; seul le passage à
+ * une nouvelle tranche (une fois toutes les 30 secondes) prend un verrou pour
+ * vider la tranche recyclée, et un enregistrement concurrent à ce vidage
+ * peut être perdu pour les fenêtres (jamais pour le cumul).
+ */
+public final class RollingHistogram {
+
+    private static final long SLOT_NANOS = 30_000_000_000L;
+    private static final int SLOTS = 30;
+    private static final long UNUSED = Long.MIN_VALUE;
+
+    private final LogLinearHistogram total = new LogLinearHistogram();
+    private final LogLinearHistogram[] slots = new LogLinearHistogram[SLOTS];
+    private final AtomicLongArray epochs = new AtomicLongArray(SLOTS); // Tranche couverte par chaque emplacement
+
+    public RollingHistogram() {
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new LogLinearHistogram();
+            epochs.set(i, UNUSED);
+        }
+    }
+
+    /**
+     * Enregistre une valeur
+     * @param value Valeur en ns
+     */
+    public void record(long value) {
+        total.record(value);
+        long epoch = Math.floorDiv(System.nanoTime(), SLOT_NANOS);
+        int index = (int) Math.floorMod(epoch, (long) SLOTS);
+        if (epochs.get(index) != epoch) {
+            rotate(index, epoch);
+        }
+        slots[index].record(value);
+    }
+
+    /**
+     * Vide un emplacement pour une nouvelle tranche
+     */
+    private void rotate(int index, long epoch) {
+        synchronized (slots[index]) {
+            if (epochs.get(index) != epoch) {
+                slots[index].reset();
+                epochs.set(index, epoch);
+            }
+        }
+    }
+
+    /**
+     * Instantané d'une fenêtre glissante
+     * @param minutes Durée de la fenêtre en minutes (au plus 15)
+     * @return Instantané fusionné des tranches de la fenêtre
+     */
+    public LogLinearHistogram.Snapshot snapshot(int minutes) {
+        long current = Math.floorDiv(System.nanoTime(), SLOT_NANOS);
+        // La tranche en cours est partielle : la fenêtre couvre entre minutes - 0,5 et minutes
+        long oldest = current - Math.min(SLOTS, minutes * 60_000_000_000L / SLOT_NANOS) + 1;
+        LogLinearHistogram.Snapshot merged = null;
+        for (int i = 0; i < SLOTS; i++) {
+            long epoch = epochs.get(i);
+            if (epoch == UNUSED || epoch < oldest || epoch > current) {
+                continue;
+            }
+            LogLinearHistogram.Snapshot snapshot = slots[i].snapshot();
+            merged = merged == null ? snapshot : merged.merge(snapshot);
+        }
+        return merged != null ? merged : LogLinearHistogram.Snapshot.EMPTY;
+    }
+
+    /**
+     * Instantané du cumul depuis le démarrage
+     * @return Instantané
+     */
+    public LogLinearHistogram.Snapshot snapshotTotal() {
+        return total.snapshot();
+    }
+
+    /**
+     * Histogramme cumulé depuis le démarrage
+     * @return LogLinearHistogram
+     */
+    public LogLinearHistogram getTotal() {
+        return total;
+    }
+
+    /**
+     * Remet le cumul et toutes les fenêtres à zéro
+     */
+    public void reset() {
+        total.reset();
+        for (int i = 0; i < SLOTS; i++) {
+            synchronized (slots[i]) {
+                slots[i].reset();
+                epochs.set(i, UNUSED);
+            }
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.arklandia.arkchunk.preload;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.scheduler.TaskScheduler;
+import com.arklandia.arkchunk.util.ChunkKeys;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tickets de chunk du plugin (World#addPluginChunkTicket) qui gardent les
+ * zones préchargées en mémoire après la fin du préchargement.
+ * Les tickets sont regroupés en baux : un bail par préchargement, dont le
+ * délai d'expiration ne démarre qu'à la fin du préchargement, puis qui est
+ * libéré d'un bloc par la tâche d'expiration. Un chunk demandé par plusieurs
+ * baux appartient au plus récent.
+ *
+ * Le nombre total de chunks retenus est plafonné : au-delà, les nouveaux
+ * chunks sont chargés sans ticket et le refus est compté dans le bail.
+ */
+public class ChunkTickets {
+
+    private final ArkChunk plugin;
+    private final TaskScheduler scheduler;
+    private final int maxResident;
+    private final long defaultTtlMillis;
+    private final Map<Integer, Lease> leases;
+    private final Map<UUID, Map<Long, Lease>> owners; // Monde -> clé du chunk -> bail propriétaire
+    private int resident;
+    private TaskScheduler.Task sweepTask;
+
+    public ChunkTickets(ArkChunk plugin) {
+        this.plugin = plugin;
+        this.scheduler = plugin.getTaskScheduler();
+        this.maxResident = Math.max(0, plugin.getConfig().getInt("preload.tickets.max-resident", 10000));
+        this.defaultTtlMillis = Math.max(0L, plugin.getConfig().getLong("preload.tickets.default-ttl-minutes", 0L)) * 60_000L;
+        this.leases = new HashMap<>();
+        this.owners = new HashMap<>();
+    }
+
+    /**
+     * Démarre l'expiration périodique des baux
+     */
+    public void start() {
+        long interval = Math.max(1L, plugin.getConfig().getLong("preload.tickets.sweep-interval-seconds", 10L)) * 20L;
+        sweepTask = scheduler.runGlobalTimer(this::sweep, interval, interval);
+    }
+
+    /**
+     * Arrête l'expiration et libère tous les tickets du plugin
+     */
+    public void shutdown() {
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+        synchronized (this) {
+            leases.clear();
+            owners.clear();
+            resident = 0;
+        }
+        // Le serveur s'arrête ou le plugin est désactivé : libération directe
+        for (World world : Bukkit.getWorlds()) {
+            world.removePluginChunkTickets(plugin);
+        }
+    }
+
+    /**
+     * Ouvre un bail dont l'expiration démarrera à la fin du préchargement
+     * @param id Identifiant du bail (ID de la tâche de préchargement)
+     * @param world Monde
+     * @param ttlMillis Durée de rétention après la fin du préchargement
+     * @return Bail ouvert
+     */
+    public synchronized Lease open(int id, World world, long ttlMillis) {
+        Lease lease = new Lease(id, world.getUID(), ttlMillis);
+        leases.put(id, lease);
+        return lease;
+    }
+
+    /**
+     * Retient un chunk chargé pour un bail (dans la limite du budget)
+     * @param lease Bail
+     * @param world Monde du chunk
+     * @param x Coordonnée X du chunk
+     * @param z Coordonnée Z du chunk
+     * @return true si le chunk est retenu, false si le budget est épuisé ou le bail clos
+     */
+    public boolean hold(Lease lease, World world, int x, int z) {
+        long key = ChunkKeys.pack(x, z);
+        synchronized (this) {
+            if (leases.get(lease.id) != lease) {
+                return false;
+            }
+            Map<Long, Lease> worldOwners = owners.computeIfAbsent(world.getUID(), id -> new HashMap<>());
+            Lease previous = worldOwners.get(key);
+            if (previous == null) {
+                if (resident >= maxResident) {
+                    lease.refused++;
+                    return false;
+                }
+                resident++;
+            } else if (previous != lease) {
+                previous.held--;
+            } else {
+                return true;
+            }
+            worldOwners.put(key, lease);
+            lease.add(key);
+            if (previous != null) {
+                return true; // Ticket déjà posé
+            }
+        }
+        scheduler.executeAt(world, x, z, () -> world.addPluginChunkTicket(x, z, plugin));
+        return true;
+    }
+
+    /**
+     * Démarre le délai d'expiration d'un bail (fin du préchargement)
+     * @param lease Bail
+     */
+    public synchronized void startExpiry(Lease lease) {
+        lease.expiresAt = System.currentTimeMillis() + lease.ttlMillis;
+    }
+
+    /**
+     * Libère immédiatement un bail
+     * @param id Identifiant du bail
+     * @return Nombre de chunks libérés, -1 si le bail n'existe pas
+     */
+    public int release(int id) {
+        Lease lease;
+        synchronized (this) {
+            lease = leases.get(id);
+        }
+        return lease == null ? -1 : release(List.of(lease));
+    }
+
+    /**
+     * Libère tous les baux
+     * @return Nombre de chunks libérés
+     */
+    public int releaseAll() {
+        List<Lease> all;
+        synchronized (this) {
+            all = new ArrayList<>(leases.values());
+        }
+        return release(all);
+    }
+
+    /**
+     * Libère les baux expirés (thread global)
+     */
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        List<Lease> expired = new ArrayList<>();
+        synchronized (this) {
+            for (Lease lease : leases.values()) {
+                if (lease.expiresAt <= now) {
+                    expired.add(lease);
+                }
+            }
+        }
+        if (!expired.isEmpty()) {
+            int released = release(expired);
+            plugin.getLogger().info("Tickets expirés: " + released + " chunks libérés (" + expired.size() + " baux)");
+        }
+    }
+
+    /**
+     * Retire des baux et libère les tickets des chunks qu'ils possèdent encore
+     */
+    private int release(List<Lease> toRelease) {
+        Map<World, List<Long>> byWorld = new HashMap<>();
+        synchronized (this) {
+            for (Lease lease : toRelease) {
+                if (leases.remove(lease.id) != lease) {
+                    continue;
+                }
+                Map<Long, Lease> worldOwners = owners.get(lease.worldId);
+                World world = Bukkit.getWorld(lease.worldId);
+                for (int i = 0; i < lease.size; i++) {
+                    long key = lease.keys[i];
+                    if (worldOwners == null || worldOwners.get(key) != lease) {
+                        continue; // Repris par un bail plus récent
+                    }
+                    worldOwners.remove(key);
+                    resident--;
+                    if (world != null) {
+                        byWorld.computeIfAbsent(world, w -> new ArrayList<>()).add(key);
+                    }
+                }
+                lease.held = 0;
+            }
+        }
+
+        int released = 0;
+        for (Map.Entry<World, List<Long>> entry : byWorld.entrySet()) {
+            World world = entry.getKey();
+            List<Long> keys = entry.getValue();
+            released += keys.size();
+            if (!scheduler.isRegionized()) {
+                scheduler.executeGlobal(() -> {
+                    for (long key : keys) {
+                        world.removePluginChunkTicket(ChunkKeys.x(key), ChunkKeys.z(key), plugin);
+                    }
+                });
+                continue;
+            }
+            for (long key : keys) {
+                int x = ChunkKeys.x(key);
+                int z = ChunkKeys.z(key);
+                scheduler.executeAt(world, x, z, () -> world.removePluginChunkTicket(x, z, plugin));
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Oublie les baux d'un monde déchargé (ses tickets disparaissent avec lui)
+     * @param world Monde déchargé
+     */
+    public synchronized void onWorldUnloaded(World world) {
+        Map<Long, Lease> worldOwners = owners.remove(world.getUID());
+        if (worldOwners != null) {
+            resident -= worldOwners.size();
+        }
+        leases.values().removeIf(lease -> lease.worldId.equals(world.getUID()));
+    }
+
+    /**
+     * Obtient les baux en cours
+     * @return Copie de la liste des baux
+     */
+    public synchronized List<Lease> getLeases() {
+        return new ArrayList<>(leases.values());
+    }
+
+    public synchronized int getResident() {
+        return resident;
+    }
+
+    public int getMaxResident() {
+        return maxResident;
+    }
+
+    public long getDefaultTtlMillis() {
+        return defaultTtlMillis;
+    }
+
+    /**
+     * Ensemble de tickets libérés ensemble
+     */
+    public static class Lease {
+        private final int id;
+        private final UUID worldId;
+        private final long ttlMillis;
+        private long[] keys = new long[64];
+        private int size;
+        private int held;
+        private int refused;
+        private long expiresAt = Long.MAX_VALUE; // Pas d'expiration avant la fin du préchargement
+
+        Lease(int id, UUID worldId, long ttlMillis) {
+            this.id = id;
+            this.worldId = worldId;
+            this.ttlMillis = ttlMillis;
+        }
+
+        private void add(long key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size << 1);
+            }
+            keys[size++] = key;
+            held++;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public UUID getWorldId() {
+            return worldId;
+        }
+
+        /**
+         * @return Nombre de chunks retenus par ce bail
+         */
+        public int getHeld() {
+            return held;
+        }
+
+        /**
+         * @return Nombre de chunks chargés sans ticket faute de budget
+         */
+        public int getRefused() {
+            return refused;
+        }
+
+        /**
+         * @return Date d'expiration en millisecondes, Long.MAX_VALUE tant que le préchargement continue
+         */
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
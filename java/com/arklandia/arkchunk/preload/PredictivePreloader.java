@@ -0,0 +1,331 @@
+package com.arklandia.arkchunk.preload;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.scheduler.TaskScheduler;
+import com.arklandia.arkchunk.util.ChunkKeys;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Préchargement prédictif devant les joueurs rapides (élytres, bateaux, etc.).
+ * La position de chaque joueur est échantillonnée périodiquement sur le thread
+ * qui le possède ; la vitesse est déduite du déplacement entre deux
+ * échantillons (la vélocité serveur d'un joueur est quasi nulle, le client
+ * étant maître de ses mouvements). Au-delà d'une vitesse minimale, les chunks
+ * d'un cône orienté selon le cap, juste après la distance de vue et sur une
+ * profondeur proportionnelle à la vitesse, sont demandés via getChunkAtAsync
+ * sans priorité.
+ *
+ * Le nombre de chargements spéculatifs en vol est plafonné pour tout le
+ * serveur, et rien n'est demandé quand la régulation des préchargements est en
+ * pause. Un chunk spéculatif est un succès si un joueur arrive à portée de vue
+ * dans la fenêtre configurée, un échec sinon.
+ */
+public class PredictivePreloader implements Listener {
+
+    private static final double MAX_SPEED = 100.0; // Blocs/s, au-delà : téléportation
+
+    private final ArkChunk plugin;
+    private final TaskScheduler scheduler;
+    private final PreloadThrottle throttle;
+    private final boolean enabled;
+    private final long intervalTicks;
+    private final double minSpeed;
+    private final double lookaheadSeconds;
+    private final int maxDistance;
+    private final double coneCos;
+    private final double coneTan;
+    private final int maxPerSample;
+    private final int maxInFlight;
+    private final long hitWindowMillis;
+
+    private final Map<UUID, Track> tracks;
+    private final Map<UUID, Map<Long, Long>> speculated; // Monde -> clé du chunk -> date de la demande
+    private final AtomicInteger inFlight;
+    private final AtomicLong issued;
+    private final AtomicLong capped;
+    private final AtomicLong failed;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private TaskScheduler.Task sampleTask;
+
+    public PredictivePreloader(ArkChunk plugin, PreloadThrottle throttle) {
+        this.plugin = plugin;
+        this.scheduler = plugin.getTaskScheduler();
+        this.throttle = throttle;
+
+        ConfigurationSection config = plugin.getConfig().getConfigurationSection("preload.predictive");
+        this.enabled = config != null && config.getBoolean("enabled", false);
+        this.intervalTicks = Math.max(1L, config != null ? config.getLong("interval-ticks", 10L) : 10L);
+        this.minSpeed = config != null ? config.getDouble("min-speed", 12.0) : 12.0;
+        this.lookaheadSeconds = config != null ? config.getDouble("lookahead-seconds", 4.0) : 4.0;
+        this.maxDistance = Math.max(1, config != null ? config.getInt("max-distance", 16) : 16);
+        double coneDegrees = Math.max(1.0, Math.min(89.0, config != null ? config.getDouble("cone-degrees", 30.0) : 30.0));
+        this.coneCos = Math.cos(Math.toRadians(coneDegrees));
+        this.coneTan = Math.tan(Math.toRadians(coneDegrees));
+        this.maxPerSample = Math.max(1, config != null ? config.getInt("max-per-sample", 8) : 8);
+        this.maxInFlight = Math.max(1, config != null ? config.getInt("max-in-flight", 32) : 32);
+        this.hitWindowMillis = Math.max(1L, config != null ? config.getLong("hit-window-seconds", 30L) : 30L) * 1000L;
+
+        this.tracks = new ConcurrentHashMap<>();
+        this.speculated = new ConcurrentHashMap<>();
+        this.inFlight = new AtomicInteger();
+        this.issued = new AtomicLong();
+        this.capped = new AtomicLong();
+        this.failed = new AtomicLong();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Démarre l'échantillonnage des joueurs (si activé dans la configuration)
+     */
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        sampleTask = scheduler.runGlobalTimer(this::sampleAll, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Arrête l'échantillonnage
+     */
+    public void shutdown() {
+        if (sampleTask != null) {
+            sampleTask.cancel();
+            sampleTask = null;
+        }
+        tracks.clear();
+        speculated.clear();
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        tracks.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Échantillonne chaque joueur sur son thread et expire les chunks spéculatifs (thread global)
+     */
+    private void sampleAll() {
+        long now = System.currentTimeMillis();
+        for (Map<Long, Long> chunks : speculated.values()) {
+            Iterator<Long> requestedAts = chunks.values().iterator();
+            while (requestedAts.hasNext()) {
+                if (now - requestedAts.next() > hitWindowMillis) {
+                    requestedAts.remove();
+                    misses.incrementAndGet();
+                }
+            }
+        }
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            scheduler.executeFor(player, () -> sample(player));
+        }
+    }
+
+    /**
+     * Met à jour la vitesse d'un joueur et demande les chunks devant lui (thread du joueur)
+     * @param player Joueur
+     */
+    private void sample(Player player) {
+        Location location = player.getLocation();
+        World world = location.getWorld();
+        if (world == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        double x = location.getX();
+        double z = location.getZ();
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+
+        Track track = tracks.get(player.getUniqueId());
+        if (track == null || !track.worldId.equals(world.getUID())) {
+            tracks.put(player.getUniqueId(), new Track(world.getUID(), x, z, chunkX, chunkZ, now));
+            return;
+        }
+
+        double seconds = (now - track.sampledAt) / 1_000_000_000.0;
+        if (seconds <= 0) {
+            return;
+        }
+        double vx = (x - track.x) / seconds;
+        double vz = (z - track.z) / seconds;
+        boolean movedChunk = chunkX != track.chunkX || chunkZ != track.chunkZ;
+        track.update(x, z, chunkX, chunkZ, now);
+
+        int viewDistance = player.getViewDistance();
+        if (movedChunk) {
+            recordHits(world, chunkX, chunkZ, viewDistance);
+        }
+
+        double speed = Math.sqrt(vx * vx + vz * vz);
+        // Une téléportation donne une vitesse aberrante : pas de prédiction sur ce saut
+        if (speed < minSpeed || speed > MAX_SPEED || throttle.isPaused()) {
+            return;
+        }
+        requestAhead(world, x / 16.0, z / 16.0, vx / speed, vz / speed, speed, viewDistance);
+    }
+
+    /**
+     * Demande les chunks du cône devant le joueur, du plus proche au plus lointain
+     * @param world Monde
+     * @param originX Position X du joueur en chunks
+     * @param originZ Position Z du joueur en chunks
+     * @param dirX Composante X du cap (normée)
+     * @param dirZ Composante Z du cap (normée)
+     * @param speed Vitesse en blocs par seconde
+     * @param viewDistance Distance de vue du joueur en chunks
+     */
+    private void requestAhead(World world, double originX, double originZ, double dirX, double dirZ, double speed, int viewDistance) {
+        int depth = Math.min(maxDistance, (int) Math.ceil(speed * lookaheadSeconds / 16.0));
+        Map<Long, Long> worldChunks = speculated.computeIfAbsent(world.getUID(), id -> new ConcurrentHashMap<>());
+        int requested = 0;
+
+        // Les chunks à portée de vue sont déjà chargés par le serveur
+        for (int distance = viewDistance + 1; distance <= viewDistance + depth; distance++) {
+            int halfWidth = (int) Math.ceil(distance * coneTan);
+            for (int step = 0; step <= 2 * halfWidth; step++) {
+                // Centre du cône d'abord, puis alternativement de chaque côté
+                int lateral = (step & 1) == 0 ? step >> 1 : -((step + 1) >> 1);
+                double pointX = originX + dirX * distance - dirZ * lateral;
+                double pointZ = originZ + dirZ * distance + dirX * lateral;
+                int targetX = (int) Math.floor(pointX);
+                int targetZ = (int) Math.floor(pointZ);
+
+                double offsetX = targetX + 0.5 - originX;
+                double offsetZ = targetZ + 0.5 - originZ;
+                double length = Math.sqrt(offsetX * offsetX + offsetZ * offsetZ);
+                if (length == 0 || (offsetX * dirX + offsetZ * dirZ) / length < coneCos) {
+                    continue;
+                }
+
+                long key = ChunkKeys.pack(targetX, targetZ);
+                if (worldChunks.containsKey(key) || world.isChunkLoaded(targetX, targetZ)) {
+                    continue;
+                }
+                if (inFlight.get() >= maxInFlight) {
+                    capped.incrementAndGet();
+                    return;
+                }
+                request(world, worldChunks, key, targetX, targetZ);
+                if (++requested >= maxPerSample) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Demande un chunk spéculatif sans priorité
+     */
+    private void request(World world, Map<Long, Long> worldChunks, long key, int x, int z) {
+        worldChunks.put(key, System.currentTimeMillis());
+        inFlight.incrementAndGet();
+        issued.incrementAndGet();
+        world.getChunkAtAsync(x, z, true, false).whenComplete((chunk, error) -> {
+            inFlight.decrementAndGet();
+            if (error != null || chunk == null) {
+                failed.incrementAndGet();
+                worldChunks.remove(key); // Ni succès ni échec de prédiction
+            }
+        });
+    }
+
+    /**
+     * Compte les chunks spéculatifs désormais à portée de vue d'un joueur
+     */
+    private void recordHits(World world, int chunkX, int chunkZ, int viewDistance) {
+        Map<Long, Long> worldChunks = speculated.get(world.getUID());
+        if (worldChunks == null || worldChunks.isEmpty()) {
+            return;
+        }
+        for (int dx = -viewDistance; dx <= viewDistance; dx++) {
+            for (int dz = -viewDistance; dz <= viewDistance; dz++) {
+                if (worldChunks.remove(ChunkKeys.pack(chunkX + dx, chunkZ + dz)) != null) {
+                    hits.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public long getIssued() {
+        return issued.get();
+    }
+
+    public long getCapped() {
+        return capped.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return Part des chunks spéculatifs atteints par un joueur, en pourcentage (0 sans donnée)
+     */
+    public double getHitRate() {
+        long resolved = hits.get() + misses.get();
+        return resolved == 0 ? 0.0 : hits.get() * 100.0 / resolved;
+    }
+
+    /**
+     * Dernier échantillon d'un joueur (modifié uniquement sur le thread du joueur)
+     */
+    private static class Track {
+        final UUID worldId;
+        double x;
+        double z;
+        int chunkX;
+        int chunkZ;
+        long sampledAt;
+
+        Track(UUID worldId, double x, double z, int chunkX, int chunkZ, long sampledAt) {
+            this.worldId = worldId;
+            update(x, z, chunkX, chunkZ, sampledAt);
+        }
+
+        void update(double x, double z, int chunkX, int chunkZ, long sampledAt) {
+            this.x = x;
+            this.z = z;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.sampledAt = sampledAt;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.arklandia.arkchunk.preload;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Point de reprise d'une tâche de préchargement sur disque.
+ * En-tête fixe suivi d'un bitmap d'un bit par chunk du carré (index x * côté + z,
+ * quel que soit l'ordre de parcours), écrit via un FileChannel puis synchronisé
+ * (fsync) périodiquement. Le fichier d'un nouveau point de reprise n'est créé
+ * qu'à la première écriture, hors du thread qui démarre la tâche.
+ */
+public final class PreloadCheckpoint {
+
+    private static final int MAGIC = 0x41524B50; // "ARKP"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+
+    private final Path file;
+    private FileChannel channel; // Ouvert à la première écriture pour un nouveau point de reprise
+    private boolean closed;
+    private final int jobId;
+    private final UUID worldId;
+    private final int centerX;
+    private final int centerZ;
+    private final int radius;
+    private final PreloadOrder order;
+    private final int total;
+    private final long[] bits;
+    private boolean dirty;
+
+    private PreloadCheckpoint(Path file, FileChannel channel, int jobId, UUID worldId, int centerX, int centerZ, int radius, PreloadOrder order, long[] bits) {
+        this.file = file;
+        this.channel = channel;
+        this.jobId = jobId;
+        this.worldId = worldId;
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.radius = radius;
+        this.order = order;
+        this.total = order.count(radius);
+        this.bits = bits;
+    }
+
+    /**
+     * Prépare un nouveau point de reprise vide, sans accès disque : le fichier
+     * est créé par la première écriture ({@link #write})
+     * @param file Fichier cible
+     * @param jobId ID de la tâche
+     * @param worldId UUID du monde
+     * @param centerX Coordonnée X du centre
+     * @param centerZ Coordonnée Z du centre
+     * @param radius Rayon de préchargement
+     * @param order Ordre de parcours
+     * @return PreloadCheckpoint
+     */
+    public static PreloadCheckpoint create(Path file, int jobId, UUID worldId, int centerX, int centerZ, int radius, PreloadOrder order) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("Rayon invalide: " + radius);
+        }
+        int side = 2 * radius + 1;
+        PreloadCheckpoint checkpoint = new PreloadCheckpoint(file, null, jobId, worldId, centerX, centerZ, radius, order,
+            new long[(int) (((long) side * side + 63) >>> 6)]);
+        checkpoint.dirty = true;
+        return checkpoint;
+    }
+
+    /**
+     * Crée le fichier d'un nouveau point de reprise et écrit son en-tête
+     */
+    private void createFile() throws IOException {
+        Files.createDirectories(file.getParent());
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(jobId)
+            .putLong(worldId.getMostSignificantBits()).putLong(worldId.getLeastSignificantBits())
+            .putInt(centerX).putInt(centerZ).putInt(radius).put((byte) order.getId());
+        header.clear();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    /**
+     * Ouvre un point de reprise existant
+     * @param file Fichier source
+     * @return PreloadCheckpoint
+     * @throws IOException si le fichier est illisible ou corrompu
+     */
+    public static PreloadCheckpoint open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("En-tête invalide");
+            }
+            int jobId = header.getInt();
+            UUID worldId = new UUID(header.getLong(), header.getLong());
+            int centerX = header.getInt();
+            int centerZ = header.getInt();
+            int radius = header.getInt();
+            if (radius < 0) {
+                throw new IOException("Rayon invalide: " + radius);
+            }
+            PreloadOrder order = PreloadOrder.fromId(header.get());
+            if (order == null) {
+                throw new IOException("Ordre de parcours inconnu");
+            }
+
+            int side = 2 * radius + 1;
+            long[] bits = new long[(side * side + 63) >>> 6];
+            ByteBuffer bitmap = ByteBuffer.allocate(bits.length * Long.BYTES);
+            readFully(channel, bitmap, HEADER_SIZE);
+            bitmap.flip();
+            bitmap.asLongBuffer().get(bits);
+
+            return new PreloadCheckpoint(file, channel, jobId, worldId, centerX, centerZ, radius, order, bits);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Fichier tronqué");
+            }
+        }
+    }
+
+    /**
+     * Vérifie si un chunk est déjà préchargé
+     * @param index Index du chunk dans le carré
+     * @return true si terminé, false sinon
+     */
+    public boolean isDone(int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Marque un chunk comme préchargé
+     * @param index Index du chunk dans le carré
+     */
+    public void markDone(int index) {
+        bits[index >>> 6] |= 1L << index;
+        dirty = true;
+    }
+
+    /**
+     * Compte les chunks déjà préchargés
+     * @return Nombre de bits à 1
+     */
+    public int countDone() {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Copie le bitmap s'il a changé depuis la dernière copie (thread principal)
+     * @return Copie à écrire, ou null si rien n'a changé
+     */
+    public ByteBuffer snapshot() {
+        if (!dirty) {
+            return null;
+        }
+        dirty = false;
+        ByteBuffer buffer = ByteBuffer.allocate(bits.length * Long.BYTES);
+        buffer.asLongBuffer().put(bits);
+        return buffer;
+    }
+
+    /**
+     * Écrit une copie du bitmap puis force la synchronisation disque, en créant
+     * le fichier à la première écriture (thread quelconque, hors thread principal)
+     * @param snapshot Copie obtenue par {@link #snapshot()}
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public synchronized void write(ByteBuffer snapshot) throws IOException {
+        if (snapshot == null || closed) {
+            return;
+        }
+        if (channel == null) {
+            createFile();
+        }
+        while (snapshot.hasRemaining()) {
+            channel.write(snapshot, HEADER_SIZE + snapshot.position());
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Ferme le fichier
+     */
+    public synchronized void close() {
+        closed = true;
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Rien à faire : le fichier sera relu au prochain démarrage
+        }
+    }
+
+    /**
+     * Ferme et supprime le fichier (tâche terminée ou annulée)
+     * @throws IOException en cas d'erreur de suppression
+     */
+    public synchronized void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    public int getJobId() {
+        return jobId;
+    }
+
+    public UUID getWorldId() {
+        return worldId;
+    }
+
+    public int getCenterX() {
+        return centerX;
+    }
+
+    public int getCenterZ() {
+        return centerZ;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public PreloadOrder getOrder() {
+        return order;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,445 @@
+package com.arklandia.arkchunk.preload;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.managers.ChunkManager;
+import com.arklandia.arkchunk.scheduler.TaskScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moteur de préchargement basé sur World#getChunkAtAsync.
+ * Le chargement et la génération se font sur les workers de Paper : le thread
+ * principal ne reçoit que les callbacks de fin, qui relancent la fenêtre.
+ * L'état de la fenêtre n'est modifié que sur le thread global (thread principal,
+ * ou région globale sur Folia où les futures se terminent sur le thread de la
+ * région du chunk).
+ * La taille de la fenêtre est pilotée par le {@link PreloadThrottle}, et chaque
+ * tâche est persistée pour être reprise automatiquement au démarrage.
+ */
+public class PreloadEngine {
+
+    private final ArkChunk plugin;
+    private final ChunkManager chunkManager;
+    private final Map<Integer, PreloadJob> jobs;
+    private final AtomicInteger nextJobId;
+    private final PreloadThrottle throttle;
+    private final PredictivePreloader predictive;
+    private final ChunkTickets tickets;
+    private final Path checkpointDir;
+    private final TaskScheduler scheduler;
+    private TaskScheduler.Task throttleTask;
+    private TaskScheduler.Task checkpointTask;
+    private volatile int inFlight;
+    private volatile long completed; // Écrit sur le thread global uniquement
+    private boolean pumping;
+
+    public PreloadEngine(ArkChunk plugin, ChunkManager chunkManager) {
+        this.plugin = plugin;
+        this.chunkManager = chunkManager;
+        this.jobs = new ConcurrentSkipListMap<>(); // Ordre des IDs : tour de rôle équitable
+        this.scheduler = plugin.getTaskScheduler();
+        this.nextJobId = new AtomicInteger(1);
+        this.throttle = new PreloadThrottle(plugin, plugin.getConfig().getInt("preload.max-in-flight", 16));
+        this.predictive = new PredictivePreloader(plugin, throttle);
+        this.tickets = new ChunkTickets(plugin);
+        this.checkpointDir = plugin.getDataFolder().toPath().resolve("preload-jobs");
+    }
+
+    /**
+     * Démarre la régulation de la fenêtre
+     */
+    public void start() {
+        if (!scheduler.isRegionized()) {
+            Bukkit.getPluginManager().registerEvents(throttle, plugin); // ServerTickEndEvent absent sur Folia
+        }
+        long interval = Math.max(1L, plugin.getConfig().getLong("preload.throttle.interval-ticks", 20L));
+        throttleTask = scheduler.runGlobalTimer(() -> {
+            throttle.adjust(completed);
+            pump(); // La fenêtre a pu s'agrandir ou sortir de pause
+        }, interval, interval);
+
+        long syncTicks = Math.max(1L, plugin.getConfig().getLong("preload.checkpoint.sync-seconds", 5L)) * 20L;
+        checkpointTask = scheduler.runGlobalTimer(this::syncCheckpoints, syncTicks, syncTicks);
+
+        predictive.start();
+        tickets.start();
+        resumeJobs();
+    }
+
+    /**
+     * Arrête le moteur : les points de reprise sont écrits puis conservés
+     * pour reprendre les tâches au prochain démarrage
+     */
+    public void shutdown() {
+        if (throttleTask != null) {
+            throttleTask.cancel();
+            throttleTask = null;
+        }
+        if (checkpointTask != null) {
+            checkpointTask.cancel();
+            checkpointTask = null;
+        }
+        predictive.shutdown();
+        tickets.shutdown();
+
+        for (PreloadJob job : jobs.values()) {
+            job.cancel();
+            PreloadCheckpoint checkpoint = job.getCheckpoint();
+            if (checkpoint != null) {
+                try {
+                    checkpoint.write(checkpoint.snapshot());
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Erreur lors de la sauvegarde du préchargement #" + job.getId() + ": " + e.getMessage());
+                }
+                checkpoint.close();
+            }
+        }
+        jobs.clear();
+    }
+
+    /**
+     * Reprend les tâches interrompues par un arrêt du serveur
+     */
+    private void resumeJobs() {
+        if (!Files.isDirectory(checkpointDir)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(checkpointDir, "*.ckpt")) {
+            for (Path file : files) {
+                PreloadCheckpoint checkpoint;
+                try {
+                    checkpoint = PreloadCheckpoint.open(file);
+                } catch (IOException e) {
+                    // Supprimé pour ne pas répéter l'avertissement à chaque démarrage
+                    plugin.getLogger().warning("Point de reprise illisible supprimé (" + file.getFileName() + "): " + e.getMessage());
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException deleteError) {
+                        plugin.getLogger().warning("Impossible de supprimer " + file.getFileName() + ": " + deleteError.getMessage());
+                    }
+                    continue;
+                }
+
+                // Ne jamais réutiliser l'ID d'un fichier existant
+                nextJobId.accumulateAndGet(checkpoint.getJobId() + 1, Math::max);
+
+                World world = Bukkit.getWorld(checkpoint.getWorldId());
+                if (world == null) {
+                    plugin.getLogger().warning("Préchargement #" + checkpoint.getJobId() + " en attente: monde " + checkpoint.getWorldId() + " non chargé");
+                    checkpoint.close();
+                    continue;
+                }
+
+                PreloadJob job = new PreloadJob(checkpoint.getJobId(), world, checkpoint.getCenterX(), checkpoint.getCenterZ(),
+                    checkpoint.getRadius(), checkpoint.getOrder(), null, null, checkpoint);
+                jobs.put(job.getId(), job);
+                plugin.getLogger().info("Reprise du préchargement #" + job.getId() + " (" + world.getName() + "): "
+                    + job.getLoaded() + "/" + job.getTotal() + " chunks déjà chargés");
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Erreur lors de la lecture des préchargements interrompus: " + e.getMessage());
+        }
+
+        pump();
+    }
+
+    /**
+     * Copie les bitmaps modifiés puis les écrit et les synchronise hors du thread principal
+     */
+    private void syncCheckpoints() {
+        for (PreloadJob job : jobs.values()) {
+            PreloadCheckpoint checkpoint = job.getCheckpoint();
+            if (checkpoint == null) {
+                continue;
+            }
+            ByteBuffer snapshot = checkpoint.snapshot();
+            if (snapshot == null) {
+                continue;
+            }
+            scheduler.runAsync(() -> {
+                try {
+                    checkpoint.write(snapshot);
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Erreur lors de la sauvegarde du préchargement #" + job.getId() + ": " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Crée le point de reprise d'une nouvelle tâche ; le fichier est écrit et
+     * synchronisé sur un thread asynchrone
+     * @return PreloadCheckpoint
+     */
+    private PreloadCheckpoint createCheckpoint(int jobId, World world, int centerX, int centerZ, int radius, PreloadOrder order) {
+        PreloadCheckpoint checkpoint = PreloadCheckpoint.create(checkpointDir.resolve(jobId + ".ckpt"), jobId, world.getUID(),
+            centerX, centerZ, radius, order);
+        ByteBuffer initial = checkpoint.snapshot();
+        scheduler.runAsync(() -> {
+            try {
+                checkpoint.write(initial);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Préchargement #" + jobId + " non persistant: " + e.getMessage());
+                checkpoint.close(); // Écritures suivantes ignorées
+            }
+        });
+        return checkpoint;
+    }
+
+    /**
+     * Supprime le point de reprise d'une tâche terminée ou annulée
+     * @param job Tâche
+     */
+    private void deleteCheckpoint(PreloadJob job) {
+        if (job.getCheckpoint() == null) {
+            return;
+        }
+        try {
+            job.getCheckpoint().delete();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Impossible de supprimer le point de reprise #" + job.getId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Démarre une tâche de préchargement (thread quelconque)
+     * @param world Monde cible
+     * @param centerX Coordonnée X du centre
+     * @param centerZ Coordonnée Z du centre
+     * @param radius Rayon de préchargement
+     * @param order Ordre de parcours
+     * @param callback Callback après préchargement
+     * @param progressCallback Callback pour les mises à jour de progression
+     * @return ID de la tâche de préchargement
+     */
+    public int submit(World world, int centerX, int centerZ, int radius, PreloadOrder order, Runnable callback, ChunkManager.ProgressCallback progressCallback) {
+        return submit(world, centerX, centerZ, radius, order, tickets.getDefaultTtlMillis(), callback, progressCallback);
+    }
+
+    /**
+     * Démarre une tâche de préchargement dont les chunks restent chargés
+     * après la fin (thread quelconque)
+     * @param world Monde cible
+     * @param centerX Coordonnée X du centre
+     * @param centerZ Coordonnée Z du centre
+     * @param radius Rayon de préchargement
+     * @param order Ordre de parcours
+     * @param ticketTtlMillis Durée de rétention des chunks après la fin du préchargement (0 : aucun ticket)
+     * @param callback Callback après préchargement
+     * @param progressCallback Callback pour les mises à jour de progression
+     * @return ID de la tâche de préchargement
+     */
+    public int submit(World world, int centerX, int centerZ, int radius, PreloadOrder order, long ticketTtlMillis, Runnable callback, ChunkManager.ProgressCallback progressCallback) {
+        int jobId = nextJobId.getAndIncrement();
+        PreloadCheckpoint checkpoint = createCheckpoint(jobId, world, centerX, centerZ, radius, order);
+        PreloadJob job = new PreloadJob(jobId, world, centerX, centerZ, radius, order, callback, progressCallback, checkpoint);
+        if (ticketTtlMillis > 0) {
+            job.setLease(tickets.open(jobId, world, ticketTtlMillis));
+        }
+        jobs.put(job.getId(), job);
+        scheduler.executeGlobal(this::pump);
+        return job.getId();
+    }
+
+    /**
+     * Remplit la fenêtre de chargements en vol, tâche par tâche à tour de rôle (thread global)
+     */
+    void pump() {
+        if (pumping) {
+            return; // Future déjà complété : la boucle appelante continue
+        }
+        pumping = true;
+        try {
+            int window = throttle.getWindow();
+            boolean issued = true;
+            while (inFlight < window && issued) {
+                issued = false;
+                for (PreloadJob job : new ArrayList<>(jobs.values())) {
+                    if (inFlight >= window) {
+                        break;
+                    }
+                    if (job.hasNext()) {
+                        request(job);
+                        issued = true;
+                    }
+                }
+            }
+
+            for (PreloadJob job : new ArrayList<>(jobs.values())) {
+                if (job.isDone()) {
+                    finish(job);
+                }
+            }
+        } finally {
+            pumping = false;
+        }
+    }
+
+    /**
+     * Demande le prochain chunk d'une tâche
+     * @param job Tâche de préchargement
+     */
+    private void request(PreloadJob job) {
+        final int index = job.advance();
+        final int x = job.x(index);
+        final int z = job.z(index);
+        final World world = job.getWorld();
+        inFlight++;
+
+        // La latence est mesurée de cette demande jusqu'au ChunkLoadEvent
+        chunkManager.markLoadRequested(world, x, z, true);
+        world.getChunkAtAsync(x, z, true).whenComplete((chunk, error) -> scheduler.executeGlobal(() -> {
+            inFlight--;
+            completed++;
+            chunkManager.clearLoadRequest(world, x, z); // Chunk déjà chargé ou erreur : pas d'événement
+            if (error != null || chunk == null) {
+                plugin.getLogger().warning("Erreur lors du préchargement du chunk " + x + ", " + z + ": "
+                    + (error != null ? error.getMessage() : "chunk introuvable"));
+                job.complete(index, false);
+            } else {
+                if (job.getLease() != null && !job.isCancelled()) {
+                    tickets.hold(job.getLease(), world, x, z);
+                }
+                job.complete(index, true);
+            }
+            pump();
+        }));
+    }
+
+    /**
+     * Termine une tâche et exécute son callback
+     * @param job Tâche terminée
+     */
+    private void finish(PreloadJob job) {
+        if (jobs.remove(job.getId()) == null || job.isCancelled()) {
+            return;
+        }
+        deleteCheckpoint(job);
+
+        long duration = System.currentTimeMillis() - job.getStartedAt();
+        plugin.getLogger().info("Préchargement terminé: " + job.getLoaded() + "/" + job.getTotal() + " chunks chargés en " + (duration / 1000.0) + "s");
+
+        ChunkTickets.Lease lease = job.getLease();
+        if (lease != null) {
+            tickets.startExpiry(lease);
+            if (lease.getRefused() > 0) {
+                plugin.getLogger().warning("Préchargement #" + job.getId() + ": " + lease.getRefused()
+                    + " chunks non retenus (budget de " + tickets.getMaxResident() + " chunks atteint)");
+            }
+        }
+
+        if (job.getCallback() != null) {
+            job.getCallback().run();
+        }
+    }
+
+    /**
+     * Annule une tâche de préchargement
+     * @param jobId ID de la tâche
+     * @return true si annulée, false sinon
+     */
+    public boolean cancel(int jobId) {
+        PreloadJob job = jobs.remove(jobId);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        deleteCheckpoint(job);
+        if (job.getLease() != null) {
+            tickets.release(job.getId());
+        }
+        return true;
+    }
+
+    /**
+     * Annule toutes les tâches de préchargement
+     * @return nombre de tâches annulées
+     */
+    public int cancelAll() {
+        int count = jobs.size();
+        for (PreloadJob job : jobs.values()) {
+            job.cancel();
+            deleteCheckpoint(job);
+            if (job.getLease() != null) {
+                tickets.release(job.getId());
+            }
+        }
+        jobs.clear();
+        return count;
+    }
+
+    /**
+     * Obtient les tâches de préchargement en cours
+     * @return Liste des tâches
+     */
+    public List<PreloadJob> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    /**
+     * Obtient le nombre de chargements en vol
+     * @return Nombre de futures non complétés
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Obtient le nombre total de chunks préchargés depuis le démarrage
+     * @return Nombre de chargements terminés (succès et erreurs)
+     */
+    public long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Obtient le rayon maximal accepté par la commande (configuration)
+     * @return Rayon en chunks
+     */
+    public int getMaxRadius() {
+        return Math.max(0, plugin.getConfig().getInt("preload.max-radius", 500));
+    }
+
+    /**
+     * Obtient l'ordre de parcours par défaut (configuration)
+     * @return PreloadOrder
+     */
+    public PreloadOrder getDefaultOrder() {
+        PreloadOrder order = PreloadOrder.fromName(plugin.getConfig().getString("preload.default-order", "spirale"));
+        return order != null ? order : PreloadOrder.SPIRAL;
+    }
+
+    /**
+     * Obtient le régulateur de la fenêtre
+     * @return PreloadThrottle
+     */
+    public PreloadThrottle getThrottle() {
+        return throttle;
+    }
+
+    /**
+     * Obtient le préchargement prédictif
+     * @return PredictivePreloader
+     */
+    public PredictivePreloader getPredictive() {
+        return predictive;
+    }
+
+    /**
+     * Obtient les tickets des zones préchargées
+     * @return ChunkTickets
+     */
+    public ChunkTickets getTickets() {
+        return tickets;
+    }
+}
@@ -0,0 +1,200 @@
+package com.arklandia.arkchunk.preload;
+
+import com.arklandia.arkchunk.managers.ChunkManager;
+import org.bukkit.World;
+
+/**
+ * Tâche de préchargement d'une zone de chunks, parcourue selon un {@link PreloadOrder}.
+ * La progression est persistée dans un {@link PreloadCheckpoint} pour pouvoir
+ * reprendre après un redémarrage.
+ */
+public class PreloadJob {
+
+    private final int id;
+    private final World world;
+    private final int centerX;
+    private final int centerZ;
+    private final int radius;
+    private final int side;
+    private final int total;
+    private final Runnable callback;
+    private final ChunkManager.ProgressCallback progressCallback;
+    private final int progressStep;
+    private final long startedAt;
+    private final PreloadCheckpoint checkpoint;
+    private final PreloadOrder order;
+    private final PreloadOrder.Cursor cursor;
+
+    private int pending = -1;
+    private boolean exhausted;
+    private int inFlight;
+    private int loaded;
+    private int failed;
+    private volatile boolean cancelled;
+    private ChunkTickets.Lease lease;
+
+    public PreloadJob(int id, World world, int centerX, int centerZ, int radius, PreloadOrder order, Runnable callback, ChunkManager.ProgressCallback progressCallback, PreloadCheckpoint checkpoint) {
+        this.id = id;
+        this.world = world;
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.radius = radius;
+        this.side = 2 * radius + 1;
+        this.order = order;
+        this.cursor = order.cursor(centerX, centerZ, radius);
+        this.total = order.count(radius);
+        this.callback = callback;
+        this.progressCallback = progressCallback;
+        this.progressStep = Math.max(1, total / 20); // Une mise à jour tous les 5%
+        this.startedAt = System.currentTimeMillis();
+        this.checkpoint = checkpoint;
+        this.loaded = checkpoint != null ? checkpoint.countDone() : 0;
+    }
+
+    /**
+     * Vérifie s'il reste des chunks à demander (les chunks déjà terminés
+     * d'après le point de reprise sont sautés)
+     * @return true s'il reste des chunks, false sinon
+     */
+    boolean hasNext() {
+        while (pending < 0 && !exhausted) {
+            int index = cursor.next();
+            if (index < 0) {
+                exhausted = true;
+            } else if (checkpoint == null || !checkpoint.isDone(index)) {
+                pending = index;
+            }
+        }
+        return !cancelled && pending >= 0;
+    }
+
+    /**
+     * Coordonnée X d'un chunk du carré
+     * @param index Index du chunk
+     * @return Coordonnée X
+     */
+    int x(int index) {
+        return centerX - radius + index / side;
+    }
+
+    /**
+     * Coordonnée Z d'un chunk du carré
+     * @param index Index du chunk
+     * @return Coordonnée Z
+     */
+    int z(int index) {
+        return centerZ - radius + index % side;
+    }
+
+    /**
+     * Marque le prochain chunk comme demandé
+     * @return Index du chunk demandé
+     */
+    int advance() {
+        inFlight++;
+        int index = pending;
+        pending = -1;
+        return index;
+    }
+
+    /**
+     * Enregistre la fin d'un chargement
+     * @param index Index du chunk
+     * @param success true si le chunk a été chargé
+     */
+    void complete(int index, boolean success) {
+        inFlight--;
+        if (success) {
+            loaded++;
+            if (checkpoint != null) {
+                checkpoint.markDone(index);
+            }
+        } else {
+            failed++;
+        }
+
+        int done = loaded + failed;
+        if (progressCallback != null && !cancelled && (done % progressStep == 0 || done == total)) {
+            progressCallback.onProgress(loaded, total);
+        }
+    }
+
+    /**
+     * Vérifie si la tâche est terminée (plus rien à demander ni en vol)
+     * @return true si terminée, false sinon
+     */
+    boolean isDone() {
+        return inFlight == 0 && !hasNext();
+    }
+
+    void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return Bail des tickets retenant les chunks chargés, ou null
+     */
+    public ChunkTickets.Lease getLease() {
+        return lease;
+    }
+
+    void setLease(ChunkTickets.Lease lease) {
+        this.lease = lease;
+    }
+
+    public PreloadCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    public PreloadOrder getOrder() {
+        return order;
+    }
+
+    public int getCenterX() {
+        return centerX;
+    }
+
+    public int getCenterZ() {
+        return centerZ;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getLoaded() {
+        return loaded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    Runnable getCallback() {
+        return callback;
+    }
+}
@@ -0,0 +1,266 @@
+package com.arklandia.arkchunk.preload;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Ordres de parcours d'une zone de préchargement.
+ * Chaque ordre produit des index du carré (dx + rayon) * côté + (dz + rayon),
+ * indépendants de l'ordre, ce qui permet de partager le bitmap de reprise.
+ */
+public enum PreloadOrder {
+
+    /**
+     * Ligne par ligne (ancien comportement)
+     */
+    ROWS(0, "lignes") {
+        @Override
+        public Cursor cursor(int centerX, int centerZ, int radius) {
+            int total = (2 * radius + 1) * (2 * radius + 1);
+            int[] next = {0};
+            return () -> next[0] < total ? next[0]++ : -1;
+        }
+    },
+
+    /**
+     * Spirale carrée partant du centre : le terrain proche est prêt en premier
+     */
+    SPIRAL(1, "spirale") {
+        @Override
+        public Cursor cursor(int centerX, int centerZ, int radius) {
+            return new SpiralCursor(radius, false);
+        }
+    },
+
+    /**
+     * Fichier région par fichier région (32x32 chunks par .mca), les régions
+     * les plus proches du centre d'abord : limite les accès disque aléatoires
+     */
+    REGION(2, "region") {
+        @Override
+        public Cursor cursor(int centerX, int centerZ, int radius) {
+            return new RegionCursor(centerX, centerZ, radius);
+        }
+    },
+
+    /**
+     * Disque de rayon donné, parcouru en spirale depuis le centre
+     */
+    CIRCLE(3, "cercle") {
+        @Override
+        public Cursor cursor(int centerX, int centerZ, int radius) {
+            return new SpiralCursor(radius, true);
+        }
+
+        @Override
+        public int count(int radius) {
+            long limit = (long) radius * radius + radius;
+            int count = 0;
+            for (int dx = -radius; dx <= radius; dx++) {
+                count += 2 * (int) Math.sqrt(limit - (long) dx * dx) + 1;
+            }
+            return count;
+        }
+    };
+
+    private final int id;
+    private final String name;
+
+    PreloadOrder(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Crée un curseur sur la zone
+     * @param centerX Coordonnée X du centre
+     * @param centerZ Coordonnée Z du centre
+     * @param radius Rayon de préchargement
+     * @return Curseur d'index
+     */
+    public abstract Cursor cursor(int centerX, int centerZ, int radius);
+
+    /**
+     * Nombre de chunks parcourus pour un rayon
+     * @param radius Rayon de préchargement
+     * @return Nombre de chunks
+     */
+    public int count(int radius) {
+        return (2 * radius + 1) * (2 * radius + 1);
+    }
+
+    /**
+     * Identifiant stable, écrit dans les points de reprise
+     * @return Identifiant
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Nom utilisé dans les commandes et la configuration
+     * @return Nom de l'ordre
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrouve un ordre par son identifiant
+     * @param id Identifiant
+     * @return PreloadOrder ou null
+     */
+    public static PreloadOrder fromId(int id) {
+        for (PreloadOrder order : values()) {
+            if (order.id == id) {
+                return order;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrouve un ordre par son nom
+     * @param name Nom (français ou nom de la constante)
+     * @return PreloadOrder ou null
+     */
+    public static PreloadOrder fromName(String name) {
+        for (PreloadOrder order : values()) {
+            if (order.name.equalsIgnoreCase(name) || order.name().equalsIgnoreCase(name)) {
+                return order;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Curseur sur les index d'une zone
+     */
+    @FunctionalInterface
+    public interface Cursor {
+        /**
+         * @return Index du prochain chunk, ou -1 si le parcours est terminé
+         */
+        int next();
+    }
+
+    /**
+     * Spirale carrée : (0,0), (1,0), (1,1), (0,1), (-1,1)...
+     * Les 'côté²' premiers pas couvrent exactement le carré centré.
+     */
+    private static final class SpiralCursor implements Cursor {
+        private final int radius;
+        private final int side;
+        private final int steps;
+        private final boolean circle;
+        private final long limit;
+        private int dx, dz;
+        private int dirX = 1, dirZ = 0;
+        private int segmentLength = 1;
+        private int segmentPassed;
+        private int step;
+
+        SpiralCursor(int radius, boolean circle) {
+            this.radius = radius;
+            this.side = 2 * radius + 1;
+            this.steps = side * side;
+            this.circle = circle;
+            this.limit = (long) radius * radius + radius;
+        }
+
+        @Override
+        public int next() {
+            while (step < steps) {
+                int x = dx;
+                int z = dz;
+                advance();
+                if (!circle || (long) x * x + (long) z * z <= limit) {
+                    return (x + radius) * side + (z + radius);
+                }
+            }
+            return -1;
+        }
+
+        private void advance() {
+            step++;
+            dx += dirX;
+            dz += dirZ;
+            if (++segmentPassed == segmentLength) {
+                segmentPassed = 0;
+                int previousX = dirX;
+                dirX = -dirZ;
+                dirZ = previousX;
+                if (dirZ == 0) {
+                    segmentLength++; // Tous les deux virages
+                }
+            }
+        }
+    }
+
+    /**
+     * Région par région, chaque région parcourue dans l'ordre de son en-tête
+     * (x + z * 32) en ignorant les chunks hors du carré
+     */
+    private static final class RegionCursor implements Cursor {
+        private final int centerX;
+        private final int centerZ;
+        private final int radius;
+        private final int side;
+        private final int[][] regions;
+        private int regionIndex;
+        private int local = 1024;
+
+        RegionCursor(int centerX, int centerZ, int radius) {
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.radius = radius;
+            this.side = 2 * radius + 1;
+
+            int minRegionX = (centerX - radius) >> 5;
+            int maxRegionX = (centerX + radius) >> 5;
+            int minRegionZ = (centerZ - radius) >> 5;
+            int maxRegionZ = (centerZ + radius) >> 5;
+            int width = maxRegionX - minRegionX + 1;
+            int height = maxRegionZ - minRegionZ + 1;
+
+            this.regions = new int[width * height][];
+            int i = 0;
+            for (int regionX = minRegionX; regionX <= maxRegionX; regionX++) {
+                for (int regionZ = minRegionZ; regionZ <= maxRegionZ; regionZ++) {
+                    regions[i++] = new int[]{regionX, regionZ};
+                }
+            }
+
+            // Régions les plus proches du centre d'abord (distance du centre de la région)
+            Arrays.sort(regions, Comparator.comparingLong(region -> {
+                long distX = (region[0] << 5) + 16L - centerX;
+                long distZ = (region[1] << 5) + 16L - centerZ;
+                return distX * distX + distZ * distZ;
+            }));
+            this.regionIndex = -1;
+        }
+
+        @Override
+        public int next() {
+            while (true) {
+                if (local >= 1024) {
+                    if (++regionIndex >= regions.length) {
+                        return -1;
+                    }
+                    local = 0;
+                }
+
+                int[] region = regions[regionIndex];
+                int x = (region[0] << 5) + (local & 31);
+                int z = (region[1] << 5) + (local >> 5);
+                local++;
+
+                int dx = x - centerX;
+                int dz = z - centerZ;
+                if (dx >= -radius && dx <= radius && dz >= -radius && dz <= radius) {
+                    return (dx + radius) * side + (dz + radius);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.arklandia.arkchunk.preload;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+/**
+ * Régulateur adaptatif de la fenêtre de préchargement selon le MSPT.
+ * Augmentation additive tant que le serveur est sous la cible, réduction
+ * de moitié au-dessus, pause complète quand le serveur prend du retard.
+ * Le MSPT vient de ServerTickEndEvent, que Folia ne déclenche pas : sur un
+ * serveur régionalisé la régulation est désactivée et le MSPT non mesuré.
+ */
+public class PreloadThrottle implements Listener {
+
+    private static final double SMOOTHING = 0.2; // Poids du dernier tick dans la moyenne mobile
+
+    private final boolean enabled;
+    private final boolean regionized;
+    private final double targetMspt;
+    private final double hysteresis;
+    private final double pauseMspt;
+    private final int minWindow;
+    private final int maxWindow;
+    private final int step;
+
+    // Écrits par le thread global, lus depuis n'importe quel thread (status, métriques)
+    private volatile double mspt;
+    private volatile boolean measured; // Au moins un tick relevé
+    private volatile int window;
+    private volatile boolean paused;
+    private volatile double rate; // Chunks/s mesurés sur la dernière période
+    private long lastCompleted;
+    private long lastSampleAt;
+
+    public PreloadThrottle(ArkChunk plugin, int maxWindow) {
+        ConfigurationSection config = plugin.getConfig().getConfigurationSection("preload.throttle");
+        this.regionized = plugin.getTaskScheduler().isRegionized();
+        boolean configured = config == null || config.getBoolean("enabled", true);
+        if (configured && regionized) {
+            plugin.getLogger().warning("Régulation du préchargement désactivée : MSPT non mesurable sur un serveur régionalisé"
+                + " (fenêtre fixe: preload.max-in-flight)");
+        }
+        this.enabled = configured && !regionized;
+        this.targetMspt = config != null ? config.getDouble("target-mspt", 40.0) : 40.0;
+        this.hysteresis = config != null ? config.getDouble("hysteresis-mspt", 5.0) : 5.0;
+        this.pauseMspt = config != null ? config.getDouble("pause-mspt", 50.0) : 50.0;
+        this.minWindow = Math.max(1, config != null ? config.getInt("min-in-flight", 1) : 1);
+        this.step = Math.max(1, config != null ? config.getInt("step", 2) : 2);
+        this.maxWindow = Math.max(minWindow, maxWindow);
+        this.window = enabled ? minWindow : this.maxWindow;
+        this.lastSampleAt = System.nanoTime();
+    }
+
+    /**
+     * Mesure la durée de chaque tick (moyenne mobile exponentielle)
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        if (!measured) {
+            mspt = event.getTickDuration(); // Pas de moyenne depuis 0
+            measured = true;
+            return;
+        }
+        mspt += SMOOTHING * (event.getTickDuration() - mspt);
+    }
+
+    /**
+     * Réajuste la fenêtre (appelé périodiquement par le moteur)
+     * @param completed Nombre total de chunks préchargés depuis le démarrage
+     */
+    void adjust(long completed) {
+        long now = System.nanoTime();
+        double elapsed = (now - lastSampleAt) / 1_000_000_000.0;
+        if (elapsed > 0) {
+            rate = (completed - lastCompleted) / elapsed;
+        }
+        lastCompleted = completed;
+        lastSampleAt = now;
+
+        if (!enabled) {
+            return;
+        }
+
+        if (mspt >= pauseMspt) {
+            // Le serveur est en retard : plus aucune nouvelle demande
+            paused = true;
+            window = minWindow;
+        } else if (paused) {
+            if (mspt < targetMspt) {
+                paused = false;
+            }
+        } else if (mspt > targetMspt + hysteresis) {
+            window = Math.max(minWindow, window / 2);
+        } else if (mspt < targetMspt - hysteresis) {
+            window = Math.min(maxWindow, window + step);
+        }
+    }
+
+    /**
+     * Obtient le nombre de chargements autorisés en vol
+     * @return Taille de la fenêtre (0 si en pause)
+     */
+    public int getWindow() {
+        return paused ? 0 : window;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Indique si le MSPT est réellement relevé (au moins un tick, serveur non régionalisé)
+     * @return true si {@link #getMspt()} est une mesure
+     */
+    public boolean isMeasured() {
+        return measured;
+    }
+
+    /**
+     * Indique si le serveur est régionalisé (Folia), sans MSPT global
+     * @return true si régionalisé
+     */
+    public boolean isRegionized() {
+        return regionized;
+    }
+
+    /**
+     * Obtient le MSPT lissé, à n'utiliser que si {@link #isMeasured()}
+     * @return Durée moyenne d'un tick en millisecondes
+     */
+    public double getMspt() {
+        return mspt;
+    }
+
+    public double getTargetMspt() {
+        return targetMspt;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public int getMaxWindow() {
+        return maxWindow;
+    }
+}
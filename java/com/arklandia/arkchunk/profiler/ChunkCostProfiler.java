@@ -0,0 +1,349 @@
+package com.arklandia.arkchunk.profiler;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.managers.ChunkIndex;
+import com.arklandia.arkchunk.managers.ChunkManager;
+import com.arklandia.arkchunk.scheduler.TaskScheduler;
+import com.arklandia.arkchunk.util.ChunkKeys;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * Estimation du coût de tick de chaque chunk, en ms par tick.
+ *
+ * Le {@link TickSampler} mesure le temps passé à ticker chaque type d'entité et
+ * de tile entity sur une fenêtre. Pendant chaque parcours du moniteur, les chunks
+ * visités sont recensés par type ; le coût d'un type est réparti entre ses
+ * instances du recensement précédent, et le coût d'un chunk est la somme des
+ * coûts de ses instances. Une entité est recensée sous la classe serveur qui
+ * déclare la méthode tick() qu'elle exécute, comme dans les échantillons (une
+ * vache est un "mob") ; le temps d'un type qui n'a pas pu être rapproché du
+ * recensement est réparti sur toutes les instances de sa catégorie.
+ */
+public class ChunkCostProfiler {
+
+    private final ArkChunk plugin;
+    private final boolean enabled;
+    private final int windowTicks;
+    private final long maxChunkMicros;
+    private final TickSampler sampler;
+    private TaskScheduler.Task windowTask;
+    private int windowStartTick;
+
+    // Recensement du parcours en cours et du dernier parcours terminé (thread principal)
+    private Census census = new Census();
+    private Census referenceCensus = new Census();
+    private final Map<Class<?>, String> typeNames = new HashMap<>();
+    private final Map<Class<?>, Method> handleGetters = new HashMap<>(); // null si pas d'entité serveur accessible
+    private final Map<Class<?>, String> tickTypeNames = new HashMap<>();
+
+    private volatile Costs costs = Costs.EMPTY;
+
+    public ChunkCostProfiler(ArkChunk plugin, Thread mainThread) {
+        this.plugin = plugin;
+        // Pas de thread principal unique à échantillonner sur un serveur régionalisé
+        this.enabled = plugin.getConfig().getBoolean("profiler.enabled", false) && !plugin.getTaskScheduler().isRegionized();
+        this.windowTicks = Math.max(20, plugin.getConfig().getInt("profiler.window-ticks", 600));
+        this.maxChunkMicros = Math.round(plugin.getConfig().getDouble("profiler.max-chunk-mspt", 2.0) * 1000.0);
+        this.sampler = new TickSampler(mainThread, plugin.getConfig().getLong("profiler.sample-interval-ms", 10L));
+    }
+
+    /**
+     * Démarre l'échantillonnage si activé dans la configuration
+     */
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        windowStartTick = Bukkit.getCurrentTick();
+        sampler.drain();
+        sampler.start();
+        windowTask = plugin.getTaskScheduler().runGlobalTimer(this::closeWindow, windowTicks, windowTicks);
+        plugin.getLogger().info("Profileur de chunks démarré");
+    }
+
+    /**
+     * Arrête l'échantillonnage
+     */
+    public void stop() {
+        if (windowTask != null) {
+            windowTask.cancel();
+            windowTask = null;
+        }
+        sampler.stop();
+    }
+
+    /**
+     * Convertit les échantillons de la fenêtre écoulée en coûts par type
+     */
+    private void closeWindow() {
+        TickSampler.Window window = sampler.drain();
+        int now = Bukkit.getCurrentTick();
+        int ticks = now - windowStartTick;
+        windowStartTick = now;
+        if (ticks <= 0 || window.totalSamples == 0) {
+            return;
+        }
+
+        double nanosPerSample = window.elapsedNanos / (double) window.totalSamples;
+        costs = new Costs(
+            new Category(window.entitySamples, referenceCensus.entities, referenceCensus.entityTotal, nanosPerSample, ticks),
+            new Category(window.blockEntitySamples, referenceCensus.blockEntities, referenceCensus.blockEntityTotal, nanosPerSample, ticks));
+    }
+
+    /**
+     * Mesure le coût estimé d'un chunk chargé et l'enregistre dans l'index (thread principal)
+     * @param chunk Chunk visité par le moniteur
+     * @param chunkManager ChunkManager
+     * @return Coût estimé en µs par tick
+     */
+    public int measure(Chunk chunk, ChunkManager chunkManager) {
+        if (chunkManager.getEntityCount(chunk) == 0 && chunkManager.getTileEntityCount(chunk) == 0) {
+            chunkManager.setTickCost(chunk, 0);
+            return 0;
+        }
+
+        Costs current = costs;
+        double nanos = 0.0;
+        for (Entity entity : chunk.getEntities()) {
+            if (entity instanceof Player) {
+                continue;
+            }
+            String type = entityTypeName(entity);
+            census.entities.computeIfAbsent(type, key -> new int[1])[0]++;
+            census.entityTotal++;
+            nanos += current.entities.costPerInstance(type);
+        }
+        for (BlockState state : chunk.getTileEntities(false)) {
+            String type = typeName(state.getClass());
+            census.blockEntities.computeIfAbsent(type, key -> new int[1])[0]++;
+            census.blockEntityTotal++;
+            nanos += current.blockEntities.costPerInstance(type);
+        }
+
+        int micros = (int) Math.min(Integer.MAX_VALUE, Math.round(nanos / 1000.0));
+        chunkManager.setTickCost(chunk, micros);
+        return micros;
+    }
+
+    /**
+     * Fin d'un parcours du moniteur : le recensement devient la référence
+     */
+    public void onCycleEnd() {
+        referenceCensus = census;
+        census = new Census();
+    }
+
+    private String typeName(Class<?> type) {
+        return typeNames.computeIfAbsent(type, key -> TickSampler.normalize(key.getName()));
+    }
+
+    /**
+     * Type d'une entité tel que l'échantillonneur le voit : la classe serveur qui
+     * déclare la méthode tick() la plus dérivée, résolue une fois par classe.
+     * Sans accès à l'entité serveur, la classe Bukkit sert de repli.
+     */
+    private String entityTypeName(Entity entity) {
+        Object handle = getHandle(entity);
+        if (handle == null) {
+            return typeName(entity.getClass());
+        }
+        return tickTypeNames.computeIfAbsent(handle.getClass(), ChunkCostProfiler::tickDeclaringName);
+    }
+
+    /**
+     * Entité serveur derrière une entité Bukkit (CraftEntity#getHandle)
+     * @return Entité serveur, ou null si inaccessible
+     */
+    private Object getHandle(Entity entity) {
+        Class<?> type = entity.getClass();
+        Method getter = handleGetters.get(type);
+        if (getter == null && !handleGetters.containsKey(type)) {
+            try {
+                getter = type.getMethod("getHandle");
+            } catch (NoSuchMethodException e) {
+                getter = null;
+            }
+            handleGetters.put(type, getter);
+        }
+        if (getter == null) {
+            return null;
+        }
+        try {
+            return getter.invoke(entity);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Nom normalisé de la première classe, en remontant la hiérarchie, qui
+     * déclare tick() sans paramètre
+     */
+    private static String tickDeclaringName(Class<?> handleType) {
+        for (Class<?> type = handleType; type != null && type != Object.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("tick");
+                return TickSampler.normalize(type.getName());
+            } catch (NoSuchMethodException e) {
+                // Méthode héritée : classe parente
+            }
+        }
+        return TickSampler.normalize(handleType.getName());
+    }
+
+    /**
+     * Vérifie si un coût mesuré dépasse le seuil configuré
+     * @param micros Coût en µs par tick
+     * @return true si trop coûteux, false sinon
+     */
+    public boolean isCostly(int micros) {
+        return micros > maxChunkMicros;
+    }
+
+    /**
+     * Classe les chunks chargés par coût de tick mesuré
+     * @param limit Nombre maximum de chunks
+     * @return Chunks les plus coûteux, du plus coûteux au moins coûteux
+     */
+    public List<ChunkCost> getTopChunks(int limit) {
+        PriorityQueue<ChunkCost> top = new PriorityQueue<>(Comparator.comparingInt((ChunkCost cost) -> cost.micros));
+        ChunkManager chunkManager = plugin.getChunkManager();
+        for (World world : Bukkit.getWorlds()) {
+            ChunkIndex index = chunkManager.getIndex(world);
+            index.forEachTickCost((key, micros) -> {
+                if (top.size() < limit) {
+                    top.add(new ChunkCost(world.getName(), ChunkKeys.x(key), ChunkKeys.z(key), micros));
+                } else if (micros > top.peek().micros) {
+                    top.poll();
+                    top.add(new ChunkCost(world.getName(), ChunkKeys.x(key), ChunkKeys.z(key), micros));
+                }
+            });
+        }
+
+        List<ChunkCost> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingInt((ChunkCost cost) -> cost.micros).reversed());
+        return result;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Costs getCosts() {
+        return costs;
+    }
+
+    /**
+     * Recensement des instances par type
+     */
+    private static final class Census {
+        final Map<String, int[]> entities = new HashMap<>();
+        final Map<String, int[]> blockEntities = new HashMap<>();
+        int entityTotal;
+        int blockEntityTotal;
+    }
+
+    /**
+     * Coûts mesurés sur la dernière fenêtre
+     */
+    public static final class Costs {
+        static final Costs EMPTY = new Costs(Category.EMPTY, Category.EMPTY);
+
+        public final Category entities;
+        public final Category blockEntities;
+
+        Costs(Category entities, Category blockEntities) {
+            this.entities = entities;
+            this.blockEntities = blockEntities;
+        }
+    }
+
+    /**
+     * Coûts d'une catégorie (entités ou tile entities)
+     */
+    public static final class Category {
+        static final Category EMPTY = new Category(Map.of(), Map.of(), 0, 1.0, 1);
+
+        private final Map<String, Double> millisPerTick = new HashMap<>();
+        private final Map<String, Double> nanosPerInstance = new HashMap<>();
+        private final double poolPerInstance;
+        private final double totalMillisPerTick;
+
+        Category(Map<String, int[]> samples, Map<String, int[]> census, int censusTotal, double nanosPerSample, int ticks) {
+            double pool = 0.0;
+            double total = 0.0;
+            for (Map.Entry<String, int[]> entry : samples.entrySet()) {
+                double nanosPerTick = entry.getValue()[0] * nanosPerSample / ticks;
+                total += nanosPerTick;
+                millisPerTick.put(entry.getKey(), nanosPerTick / 1_000_000.0);
+
+                int[] instances = census.get(entry.getKey());
+                if (instances != null && instances[0] > 0) {
+                    nanosPerInstance.put(entry.getKey(), nanosPerTick / instances[0]);
+                } else {
+                    pool += nanosPerTick;
+                }
+            }
+            this.poolPerInstance = censusTotal > 0 ? pool / censusTotal : 0.0;
+            this.totalMillisPerTick = total / 1_000_000.0;
+        }
+
+        /**
+         * @param type Type normalisé
+         * @return Coût estimé d'une instance en ns par tick
+         */
+        double costPerInstance(String type) {
+            return nanosPerInstance.getOrDefault(type, 0.0) + poolPerInstance;
+        }
+
+        /**
+         * @return Temps total de la catégorie en ms par tick
+         */
+        public double getTotalMillisPerTick() {
+            return totalMillisPerTick;
+        }
+
+        /**
+         * Types les plus coûteux de la catégorie
+         * @param limit Nombre maximum de types
+         * @return Paires (type, ms par tick) triées par coût décroissant
+         */
+        public List<Map.Entry<String, Double>> getTopTypes(int limit) {
+            List<Map.Entry<String, Double>> types = new ArrayList<>(millisPerTick.entrySet());
+            types.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+            return types.subList(0, Math.min(limit, types.size()));
+        }
+    }
+
+    /**
+     * Coût mesuré d'un chunk
+     */
+    public static final class ChunkCost {
+        public final String world;
+        public final int x;
+        public final int z;
+        public final int micros;
+
+        ChunkCost(String world, int x, int z, int micros) {
+            this.world = world;
+            this.x = x;
+            this.z = z;
+            this.micros = micros;
+        }
+
+        /**
+         * @return Coût en ms par tick
+         */
+        public double getMillisPerTick() {
+            return micros / 1000.0;
+        }
+    }
+}
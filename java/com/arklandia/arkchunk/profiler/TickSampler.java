@@ -0,0 +1,163 @@
+package com.arklandia.arkchunk.profiler;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Échantillonneur de la pile du thread principal.
+ * Un thread démon relève la pile à intervalle fixe et classe chaque échantillon
+ * selon ce qui est en train de ticker : une entité (ServerLevel#tickNonPassenger)
+ * ou une tile entity (LevelChunk$...TickingBlockEntity#tick), avec le nom de la
+ * classe appelée juste en dessous. Repose sur les noms Mojang utilisés par Paper
+ * à l'exécution ; sur un serveur obfusqué tout tombe dans "autre".
+ */
+public final class TickSampler implements Runnable {
+
+    private final Thread target;
+    private final long intervalNanos;
+    private final Object lock = new Object();
+
+    // Fenêtre en cours (protégée par lock)
+    private Map<String, int[]> entitySamples = new HashMap<>();
+    private Map<String, int[]> blockEntitySamples = new HashMap<>();
+    private int totalSamples;
+    private long windowStart = System.nanoTime();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * @param target Thread à échantillonner (thread principal du serveur)
+     * @param intervalMillis Intervalle entre deux échantillons en ms
+     */
+    public TickSampler(Thread target, long intervalMillis) {
+        this.target = target;
+        this.intervalNanos = Math.max(1L, intervalMillis) * 1_000_000L;
+    }
+
+    /**
+     * Démarre le thread d'échantillonnage
+     */
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "ArkChunk-Profiler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Arrête le thread d'échantillonnage
+     */
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            LockSupport.parkNanos(intervalNanos);
+            if (!running || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            sample(target.getStackTrace());
+        }
+    }
+
+    /**
+     * Classe un échantillon de pile
+     * @param stack Pile du thread principal (index 0 = frame la plus interne)
+     */
+    void sample(StackTraceElement[] stack) {
+        boolean entity = false;
+        String type = null;
+
+        // De l'extérieur vers l'intérieur : le premier point de dispatch l'emporte
+        for (int i = stack.length - 1; i > 0 && type == null; i--) {
+            String method = stack[i].getMethodName();
+            String className = stack[i].getClassName();
+            if (method.equals("tickNonPassenger") || method.equals("tickPassenger")) {
+                entity = true;
+                type = normalize(stack[i - 1].getClassName());
+            } else if (method.equals("tick") && className.contains("TickingBlockEntity")) {
+                int j = i - 1;
+                while (j > 0 && stack[j].getClassName().contains("TickingBlockEntity")) {
+                    j--; // Wrapper puis BoundTickingBlockEntity
+                }
+                type = normalize(stack[j].getClassName());
+            }
+        }
+
+        synchronized (lock) {
+            totalSamples++;
+            if (type != null) {
+                (entity ? entitySamples : blockEntitySamples).computeIfAbsent(type, key -> new int[1])[0]++;
+            }
+        }
+    }
+
+    /**
+     * Récupère la fenêtre écoulée et en démarre une nouvelle (thread quelconque)
+     * @return Échantillons de la fenêtre
+     */
+    public Window drain() {
+        synchronized (lock) {
+            long now = System.nanoTime();
+            Window window = new Window(entitySamples, blockEntitySamples, totalSamples, now - windowStart);
+            entitySamples = new HashMap<>();
+            blockEntitySamples = new HashMap<>();
+            totalSamples = 0;
+            windowStart = now;
+            return window;
+        }
+    }
+
+    /**
+     * Normalise un nom de classe pour rapprocher les classes serveur (Mojang) et
+     * les classes Bukkit : HopperBlockEntity et CraftHopper donnent "hopper",
+     * ItemEntity et CraftItem donnent "item"
+     * @param className Nom complet de la classe
+     * @return Nom normalisé
+     */
+    public static String normalize(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int inner = name.indexOf('$');
+        if (inner > 0) {
+            name = name.substring(0, inner);
+        }
+        if (name.startsWith("Craft") && name.length() > 5) {
+            name = name.substring(5);
+        }
+        if (name.endsWith("BlockEntity") && name.length() > 11) {
+            name = name.substring(0, name.length() - 11);
+        } else if (name.endsWith("Entity") && name.length() > 6) {
+            name = name.substring(0, name.length() - 6);
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Échantillons d'une fenêtre
+     */
+    public static final class Window {
+        public final Map<String, int[]> entitySamples;
+        public final Map<String, int[]> blockEntitySamples;
+        public final int totalSamples;
+        public final long elapsedNanos;
+
+        Window(Map<String, int[]> entitySamples, Map<String, int[]> blockEntitySamples, int totalSamples, long elapsedNanos) {
+            this.entitySamples = entitySamples;
+            this.blockEntitySamples = blockEntitySamples;
+            this.totalSamples = totalSamples;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+}
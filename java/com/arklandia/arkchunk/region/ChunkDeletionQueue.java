@@ -0,0 +1,360 @@
+package com.arklandia.arkchunk.region;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.util.ChunkKeys;
+import com.arklandia.arkchunk.util.LongIntMap;
+import org.bukkit.World;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suppressions de chunks sur disque.
+ * Le serveur garde en mémoire l'en-tête des fichiers région ouverts et le
+ * réécrirait par-dessus une modification externe : les suppressions demandées
+ * pendant que le monde est chargé sont donc journalisées (pending-deletions.txt)
+ * puis appliquées au démarrage suivant, avant le chargement des mondes.
+ * D'ici là, le chunk reste lisible sur disque : s'il est rechargé, sa
+ * suppression est abandonnée pour ne pas effacer ce qui y serait construit
+ * avant le redémarrage.
+ */
+public class ChunkDeletionQueue {
+
+    private static final String FILE_NAME = "pending-deletions.txt";
+
+    private final ArkChunk plugin;
+    private final Path file;
+    private final Map<String, LongIntMap> keysByFolder; // Suppressions en attente par dossier de dimension (verrou : elle-même)
+    private final Map<UUID, String> worldFolders;
+    private final ConcurrentLinkedQueue<String> unsaved;
+    private final AtomicBoolean flushScheduled;
+    private final AtomicBoolean rewriteNeeded;
+    private final AtomicInteger pending;
+
+    public ChunkDeletionQueue(ArkChunk plugin) {
+        this.plugin = plugin;
+        this.file = plugin.getDataFolder().toPath().resolve(FILE_NAME);
+        this.keysByFolder = new HashMap<>();
+        this.worldFolders = new ConcurrentHashMap<>();
+        this.unsaved = new ConcurrentLinkedQueue<>();
+        this.flushScheduled = new AtomicBoolean();
+        this.rewriteNeeded = new AtomicBoolean();
+        this.pending = new AtomicInteger(load());
+    }
+
+    /**
+     * Programme la suppression d'un chunk déjà déchargé (thread quelconque)
+     * @param world Monde du chunk
+     * @param chunkX Coordonnée X du chunk
+     * @param chunkZ Coordonnée Z du chunk
+     */
+    public void queue(World world, int chunkX, int chunkZ) {
+        queue(RegionFiles.dimensionFolder(world), new long[]{ChunkKeys.pack(chunkX, chunkZ)});
+    }
+
+    /**
+     * Programme la suppression de plusieurs chunks d'une dimension (thread quelconque)
+     * @param dimensionFolder Dossier de la dimension
+     * @param keys Clés des chunks
+     */
+    public void queue(Path dimensionFolder, long[] keys) {
+        String folder = dimensionFolder.toAbsolutePath().toString();
+        int added = 0;
+        synchronized (keysByFolder) {
+            LongIntMap folderKeys = keysByFolder.computeIfAbsent(folder, f -> new LongIntMap(keys.length));
+            for (long key : keys) {
+                if (folderKeys.get(key, 0) == 0) {
+                    folderKeys.put(key, 1);
+                    unsaved.add(line(folder, key));
+                    added++;
+                }
+            }
+        }
+        pending.addAndGet(added);
+        scheduleFlush();
+    }
+
+    /**
+     * Abandonne la suppression d'un chunk qui vient d'être chargé : son contenu
+     * sur disque redevient celui du monde (thread qui possède le chunk)
+     * @param world Monde du chunk
+     * @param chunkX Coordonnée X du chunk
+     * @param chunkZ Coordonnée Z du chunk
+     * @return true si une suppression était en attente, false sinon
+     */
+    public boolean onChunkLoaded(World world, int chunkX, int chunkZ) {
+        if (pending.get() == 0) {
+            return false; // Cas courant : aucun verrou
+        }
+        String folder = worldFolders.computeIfAbsent(world.getUID(),
+            id -> RegionFiles.dimensionFolder(world).toAbsolutePath().toString());
+        synchronized (keysByFolder) {
+            LongIntMap folderKeys = keysByFolder.get(folder);
+            if (folderKeys == null || folderKeys.remove(ChunkKeys.pack(chunkX, chunkZ), 0) == 0) {
+                return false;
+            }
+            if (folderKeys.size() == 0) {
+                keysByFolder.remove(folder);
+            }
+        }
+        pending.decrementAndGet();
+        rewriteNeeded.set(true);
+        scheduleFlush();
+        plugin.getLogger().info("Suppression annulée: chunk " + chunkX + "," + chunkZ + " (" + world.getName() + ") rechargé avant le redémarrage");
+        return true;
+    }
+
+    /**
+     * Abandonne toutes les suppressions en attente (thread quelconque)
+     * @return Nombre de suppressions annulées
+     */
+    public int cancelAll() {
+        int cancelled = 0;
+        synchronized (keysByFolder) {
+            for (LongIntMap folderKeys : keysByFolder.values()) {
+                cancelled += folderKeys.size();
+            }
+            keysByFolder.clear();
+        }
+        pending.addAndGet(-cancelled);
+        rewriteNeeded.set(true);
+        scheduleFlush();
+        return cancelled;
+    }
+
+    // Une seule écriture asynchrone pour toutes les modifications d'un même tick
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            plugin.getTaskScheduler().runAsync(this::flush);
+        }
+    }
+
+    /**
+     * Écrit les suppressions en attente dans le journal puis le synchronise.
+     * Après une annulation, le journal est réécrit entièrement à partir des
+     * suppressions restantes.
+     */
+    public synchronized void flush() {
+        flushScheduled.set(false);
+        if (rewriteNeeded.getAndSet(false)) {
+            rewrite();
+            return;
+        }
+        if (unsaved.isEmpty()) {
+            return;
+        }
+
+        StringBuilder lines = new StringBuilder();
+        String line;
+        while ((line = unsaved.poll()) != null) {
+            lines.append(line);
+        }
+
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Erreur lors de l'écriture des suppressions en attente: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Remplace le journal par les suppressions restantes (fichier temporaire
+     * puis renommage, pour ne jamais laisser un journal partiel)
+     */
+    private void rewrite() {
+        // Les lignes non écrites sont reprises par l'instantané qui suit
+        unsaved.clear();
+        StringBuilder lines = new StringBuilder();
+        synchronized (keysByFolder) {
+            for (Map.Entry<String, LongIntMap> entry : keysByFolder.entrySet()) {
+                for (long key : entry.getValue().keys()) {
+                    lines.append(line(entry.getKey(), key));
+                }
+            }
+        }
+
+        try {
+            if (lines.length() == 0) {
+                Files.deleteIfExists(file);
+                return;
+            }
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Erreur lors de l'écriture des suppressions en attente: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Applique les suppressions journalisées (à appeler avant le chargement des mondes)
+     * @return Résultat cumulé
+     */
+    public synchronized DeletionResult applyPending() {
+        DeletionResult total = new DeletionResult();
+        Map<String, long[]> byDimension = new HashMap<>();
+        synchronized (keysByFolder) {
+            for (Map.Entry<String, LongIntMap> entry : keysByFolder.entrySet()) {
+                byDimension.put(entry.getKey(), entry.getValue().keys());
+            }
+        }
+        if (byDimension.isEmpty()) {
+            return total;
+        }
+
+        boolean complete = true;
+        for (Map.Entry<String, long[]> entry : byDimension.entrySet()) {
+            try {
+                total.add(deleteNow(Paths.get(entry.getKey()), entry.getValue()));
+            } catch (IOException e) {
+                complete = false;
+                plugin.getLogger().warning("Erreur lors de la suppression des chunks de " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+
+        if (complete) {
+            try {
+                Files.deleteIfExists(file);
+                synchronized (keysByFolder) {
+                    keysByFolder.clear();
+                }
+                pending.set(0);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Impossible de supprimer " + FILE_NAME + ": " + e.getMessage());
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Nombre de suppressions en attente du prochain démarrage
+     * @return Nombre de chunks
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Supprime immédiatement des chunks d'une dimension dont le monde n'est pas
+     * chargé : chaque fichier région (region, entities, poi) n'est ouvert et
+     * réécrit qu'une fois, quel que soit le nombre de chunks qu'il contient.
+     * @param dimensionFolder Dossier de la dimension
+     * @param keys Clés des chunks
+     * @return Résultat de la suppression
+     * @throws IOException si un fichier région ne peut pas être modifié
+     */
+    public static DeletionResult deleteNow(Path dimensionFolder, long[] keys) throws IOException {
+        Map<String, int[]> byFile = new HashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        for (long key : keys) {
+            int x = ChunkKeys.x(key);
+            int z = ChunkKeys.z(key);
+            String name = RegionFiles.fileName(x, z);
+            int[] indices = byFile.computeIfAbsent(name, n -> new int[RegionFiles.CHUNKS_PER_REGION]);
+            int count = counts.getOrDefault(name, 0);
+            if (count < indices.length) {
+                indices[count] = RegionFiles.localIndex(x, z);
+                counts.put(name, count + 1);
+            }
+        }
+
+        DeletionResult result = new DeletionResult();
+        for (Map.Entry<String, int[]> entry : byFile.entrySet()) {
+            int count = counts.get(entry.getKey());
+            for (String storage : RegionFiles.STORAGE_FOLDERS) {
+                Path regionFile = dimensionFolder.resolve(storage).resolve(entry.getKey());
+                boolean existed = Files.exists(regionFile);
+                int cleared = RegionFiles.clearEntries(regionFile, entry.getValue(), count);
+                if (cleared > 0) {
+                    result.filesRewritten++;
+                    if (storage.equals("region")) {
+                        result.chunks += cleared;
+                    }
+                }
+                if (existed && !Files.exists(regionFile)) {
+                    result.filesRemoved++;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Lit le journal laissé par l'exécution précédente
+     * @return Nombre de suppressions en attente
+     */
+    private int load() {
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+        int count = 0;
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t");
+                if (parts.length != 3) {
+                    continue;
+                }
+                try {
+                    long key = ChunkKeys.pack(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+                    LongIntMap folderKeys = keysByFolder.computeIfAbsent(parts[0], folder -> new LongIntMap(64));
+                    if (folderKeys.get(key, 0) == 0) {
+                        folderKeys.put(key, 1);
+                        count++;
+                    }
+                } catch (NumberFormatException e) {
+                    plugin.getLogger().warning("Suppression en attente ignorée: " + line);
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Erreur lors de la lecture des suppressions en attente: " + e.getMessage());
+        }
+        return count;
+    }
+
+    private static String line(String folder, long key) {
+        return folder + "\t" + ChunkKeys.x(key) + "\t" + ChunkKeys.z(key) + "\n";
+    }
+
+    /**
+     * Bilan d'une suppression sur disque
+     */
+    public static class DeletionResult {
+        public int chunks;
+        public int filesRewritten;
+        public int filesRemoved;
+
+        void add(DeletionResult other) {
+            chunks += other.chunks;
+            filesRewritten += other.filesRewritten;
+            filesRemoved += other.filesRemoved;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.arklandia.arkchunk.region;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Lit InhabitedTime et LastUpdate d'un chunk sérialisé sans construire l'arbre
+ * NBT : les données compressées sont décompressées directement depuis le
+ * tampon mappé du fichier région, les autres champs sont sautés et la lecture
+ * s'arrête dès que les deux valeurs sont trouvées.
+ * Une instance par thread (Inflater et tampon réutilisés).
+ */
+final class ChunkTimesReader {
+
+    private static final int COMPRESSION_GZIP = 1;
+    private static final int COMPRESSION_ZLIB = 2;
+    private static final int COMPRESSION_NONE = 3;
+
+    private static final byte[] INHABITED_TIME = "InhabitedTime".getBytes();
+    private static final byte[] LAST_UPDATE = "LastUpdate".getBytes();
+    private static final byte[] LEVEL = "Level".getBytes(); // Format antérieur à 1.18
+
+    private final Inflater zlib = new Inflater();
+    private final Inflater deflate = new Inflater(true);
+    private final byte[] buffer = new byte[8192];
+    private final byte[] name = new byte[64];
+
+    private Inflater inflater;
+    private ByteBuffer raw;
+    private int position;
+    private int limit;
+
+    long inhabitedTime;
+    long lastUpdate;
+
+    /**
+     * Lit les horodatages d'un chunk
+     * @param payload Données du chunk après l'en-tête de longueur (octet de compression inclus)
+     * @return true si InhabitedTime a été trouvé, false si le chunk est illisible
+     *         (compression non gérée, données externes .mcc ou corrompues)
+     */
+    boolean read(ByteBuffer payload) {
+        inhabitedTime = -1L;
+        lastUpdate = -1L;
+        position = 0;
+        limit = 0;
+        raw = null;
+        inflater = null;
+
+        int compression = payload.get() & 0xFF;
+        try {
+            switch (compression) {
+                case COMPRESSION_ZLIB -> {
+                    zlib.reset();
+                    zlib.setInput(payload);
+                    inflater = zlib;
+                }
+                case COMPRESSION_GZIP -> {
+                    skipGzipHeader(payload);
+                    deflate.reset();
+                    deflate.setInput(payload);
+                    inflater = deflate;
+                }
+                case COMPRESSION_NONE -> raw = payload;
+                default -> {
+                    // LZ4 (4), format personnalisé (127) ou chunk externe (128+)
+                    return false;
+                }
+            }
+
+            if (readByte() != 10) {
+                return false;
+            }
+            skip(readUnsignedShort());
+            scanCompound();
+            return inhabitedTime >= 0;
+        } catch (IOException | DataFormatException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Libère les Inflater
+     */
+    void close() {
+        zlib.end();
+        deflate.end();
+    }
+
+    // Parcourt un compound jusqu'à sa fin ou jusqu'à ce que les deux valeurs soient connues
+    private boolean scanCompound() throws IOException, DataFormatException {
+        int type;
+        while ((type = readByte()) != 0) {
+            int nameLength = readUnsignedShort();
+            boolean stored = nameLength <= name.length;
+            if (stored) {
+                readFully(name, nameLength);
+            } else {
+                skip(nameLength);
+            }
+
+            if (stored && type == 4 && matches(INHABITED_TIME, nameLength)) {
+                inhabitedTime = readLong();
+            } else if (stored && type == 4 && matches(LAST_UPDATE, nameLength)) {
+                lastUpdate = readLong();
+            } else if (stored && type == 10 && matches(LEVEL, nameLength)) {
+                if (scanCompound()) {
+                    return true;
+                }
+            } else {
+                skipPayload(type);
+            }
+
+            if (inhabitedTime >= 0 && lastUpdate >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void skipPayload(int type) throws IOException, DataFormatException {
+        switch (type) {
+            case 1 -> skip(1);
+            case 2 -> skip(2);
+            case 3, 5 -> skip(4);
+            case 4, 6 -> skip(8);
+            case 7 -> skip(readInt());
+            case 8 -> skip(readUnsignedShort());
+            case 9 -> {
+                int elementType = readByte();
+                int length = readInt();
+                for (int i = 0; i < length; i++) {
+                    skipPayload(elementType);
+                }
+            }
+            case 10 -> {
+                int child;
+                while ((child = readByte()) != 0) {
+                    skip(readUnsignedShort());
+                    skipPayload(child);
+                }
+            }
+            case 11 -> skip(4L * readInt());
+            case 12 -> skip(8L * readInt());
+            default -> throw new IOException("Type NBT inconnu: " + type);
+        }
+    }
+
+    private boolean matches(byte[] expected, int length) {
+        if (expected.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name[i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void skipGzipHeader(ByteBuffer payload) throws IOException {
+        if ((payload.get() & 0xFF) != 0x1F || (payload.get() & 0xFF) != 0x8B) {
+            throw new IOException("En-tête GZIP invalide");
+        }
+        payload.get(); // Méthode
+        int flags = payload.get() & 0xFF;
+        payload.position(payload.position() + 6); // Date, XFL, OS
+        if ((flags & 4) != 0) {
+            int extra = (payload.get() & 0xFF) | ((payload.get() & 0xFF) << 8);
+            payload.position(payload.position() + extra);
+        }
+        if ((flags & 8) != 0) {
+            while (payload.get() != 0) {
+                // Nom du fichier
+            }
+        }
+        if ((flags & 16) != 0) {
+            while (payload.get() != 0) {
+                // Commentaire
+            }
+        }
+        if ((flags & 2) != 0) {
+            payload.position(payload.position() + 2);
+        }
+    }
+
+    private boolean fill() throws DataFormatException {
+        if (raw != null) {
+            return false;
+        }
+        position = 0;
+        limit = 0;
+        while (limit == 0) {
+            if (inflater.finished() || inflater.needsDictionary() || (inflater.needsInput() && inflater.getRemaining() == 0)) {
+                return false;
+            }
+            limit = inflater.inflate(buffer);
+        }
+        return true;
+    }
+
+    private int readByte() throws IOException, DataFormatException {
+        if (raw != null) {
+            if (!raw.hasRemaining()) {
+                throw new EOFException();
+            }
+            return raw.get() & 0xFF;
+        }
+        if (position >= limit && !fill()) {
+            throw new EOFException();
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private int readUnsignedShort() throws IOException, DataFormatException {
+        return (readByte() << 8) | readByte();
+    }
+
+    private int readInt() throws IOException, DataFormatException {
+        return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+    }
+
+    private long readLong() throws IOException, DataFormatException {
+        return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+    }
+
+    private void readFully(byte[] target, int length) throws IOException, DataFormatException {
+        for (int i = 0; i < length; i++) {
+            target[i] = (byte) readByte();
+        }
+    }
+
+    private void skip(long count) throws IOException, DataFormatException {
+        if (count < 0) {
+            throw new IOException("Longueur NBT négative");
+        }
+        if (raw != null) {
+            if (count > raw.remaining()) {
+                throw new EOFException();
+            }
+            raw.position(raw.position() + (int) count);
+            return;
+        }
+        while (count > 0) {
+            if (position >= limit && !fill()) {
+                throw new EOFException();
+            }
+            int step = (int) Math.min(count, limit - position);
+            position += step;
+            count -= step;
+        }
+    }
+}
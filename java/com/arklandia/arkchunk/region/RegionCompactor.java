@@ -0,0 +1,112 @@
+package com.arklandia.arkchunk.region;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compactage d'un fichier région : les chunks vivants sont recopiés bout à
+ * bout, dans l'ordre de l'en-tête, vers un fichier temporaire (transferTo,
+ * sans passer par le tas Java), qui remplace ensuite l'original.
+ * Le fichier ne doit pas être ouvert par le serveur (monde non chargé ou
+ * démarrage avant le chargement des mondes).
+ */
+public final class RegionCompactor {
+
+    private RegionCompactor() {
+    }
+
+    /**
+     * Compacte un fichier région
+     * @param file Fichier .mca
+     * @return Octets récupérés (0 si le fichier était déjà compact)
+     * @throws IOException si le fichier ne peut pas être réécrit
+     */
+    public static long compact(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".compact");
+        long before;
+        long after;
+
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            before = source.size();
+            if (before < RegionFiles.HEADER_SIZE) {
+                return 0L;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(RegionFiles.HEADER_SIZE);
+            readFully(source, header, 0L);
+            ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+            ByteBuffer padding = ByteBuffer.allocate(RegionFiles.SECTOR_SIZE);
+
+            try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long position = RegionFiles.HEADER_SIZE;
+
+                for (int index = 0; index < RegionFiles.CHUNKS_PER_REGION; index++) {
+                    int location = header.getInt(index << 2);
+                    if (location == 0) {
+                        continue;
+                    }
+                    long offset = (long) (location >>> 8) * RegionFiles.SECTOR_SIZE;
+                    int length = -1;
+                    if (offset >= RegionFiles.HEADER_SIZE && offset + 5 <= before) {
+                        lengthBuffer.clear();
+                        readFully(source, lengthBuffer, offset);
+                        length = lengthBuffer.getInt(0);
+                    }
+                    if (length <= 0 || offset + 4 + length > before) {
+                        // Entrée corrompue : le chunk serait illisible de toute façon
+                        header.putInt(index << 2, 0);
+                        header.putInt(RegionFiles.SECTOR_SIZE + (index << 2), 0);
+                        continue;
+                    }
+
+                    int sectors = RegionFiles.sectorsFor(length);
+                    long copied = 0L;
+                    long bytes = 4L + length;
+                    while (copied < bytes) {
+                        long count = source.transferTo(offset + copied, bytes - copied, target.position(position + copied));
+                        if (count <= 0) {
+                            throw new IOException("Copie interrompue du chunk " + index);
+                        }
+                        copied += count;
+                    }
+
+                    // Compléter le dernier secteur
+                    padding.clear().limit((int) ((long) sectors * RegionFiles.SECTOR_SIZE - bytes));
+                    target.write(padding, position + bytes);
+
+                    header.putInt(index << 2, (int) ((position / RegionFiles.SECTOR_SIZE) << 8) | sectors);
+                    position += (long) sectors * RegionFiles.SECTOR_SIZE;
+                }
+
+                header.clear();
+                target.write(header, 0L);
+                target.force(true);
+                after = position;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        if (after >= before) {
+            Files.deleteIfExists(temp);
+            return 0L;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return before - after;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Fin de fichier inattendue");
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.arklandia.arkchunk.region;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Accès direct aux fichiers région Anvil (.mca).
+ * En-tête de 8 Kio : 1024 entrées de position (offset en secteurs de 4 Kio sur
+ * 3 octets, nombre de secteurs sur 1 octet) puis 1024 horodatages, indexés par
+ * (x &amp; 31) + (z &amp; 31) * 32. Un chunk sans entrée est régénéré au prochain accès.
+ */
+public final class RegionFiles {
+
+    public static final int SECTOR_SIZE = 4096;
+    public static final int HEADER_SIZE = 2 * SECTOR_SIZE;
+    public static final int CHUNKS_PER_REGION = 1024;
+
+    /** Dossiers de chaque dimension contenant des fichiers région */
+    public static final String[] STORAGE_FOLDERS = {"region", "entities", "poi"};
+
+    private RegionFiles() {
+    }
+
+    /**
+     * Dossier de la dimension d'un monde (DIM-1 pour le Nether, DIM1 pour l'End)
+     * @param world Monde
+     * @return Dossier contenant region/, entities/ et poi/
+     */
+    public static Path dimensionFolder(World world) {
+        File folder = world.getWorldFolder();
+        return switch (world.getEnvironment()) {
+            case NETHER -> folder.toPath().resolve("DIM-1");
+            case THE_END -> folder.toPath().resolve("DIM1");
+            default -> folder.toPath();
+        };
+    }
+
+    /**
+     * Dossier de la dimension d'un monde chargé ou d'un simple dossier du serveur
+     * @param worldName Nom du monde
+     * @return Dossier contenant region/, ou null si introuvable
+     */
+    public static Path dimensionFolder(String worldName) {
+        World world = Bukkit.getWorld(worldName);
+        if (world != null) {
+            return dimensionFolder(world);
+        }
+        Path worldFolder = Bukkit.getWorldContainer().toPath().resolve(worldName);
+        for (String dimension : new String[]{"", "DIM-1", "DIM1"}) {
+            Path folder = dimension.isEmpty() ? worldFolder : worldFolder.resolve(dimension);
+            if (Files.isDirectory(folder.resolve("region"))) {
+                return folder;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Nom du fichier région contenant un chunk
+     * @param chunkX Coordonnée X du chunk
+     * @param chunkZ Coordonnée Z du chunk
+     * @return Nom "r.X.Z.mca"
+     */
+    public static String fileName(int chunkX, int chunkZ) {
+        return "r." + (chunkX >> 5) + "." + (chunkZ >> 5) + ".mca";
+    }
+
+    /**
+     * Index d'un chunk dans l'en-tête de sa région
+     * @param chunkX Coordonnée X du chunk
+     * @param chunkZ Coordonnée Z du chunk
+     * @return Index entre 0 et 1023
+     */
+    public static int localIndex(int chunkX, int chunkZ) {
+        return (chunkX & 31) + (chunkZ & 31) * 32;
+    }
+
+    /**
+     * Nombre de secteurs nécessaires à un chunk
+     * @param length Longueur annoncée du chunk (octet de compression inclus)
+     * @return Nombre de secteurs, en-tête de longueur de 4 octets compris
+     */
+    public static int sectorsFor(int length) {
+        return (length + 4 + SECTOR_SIZE - 1) / SECTOR_SIZE;
+    }
+
+    /**
+     * Efface des entrées de l'en-tête d'un fichier région en une seule écriture.
+     * Les secteurs libérés restent dans le fichier jusqu'à son compactage ;
+     * un fichier dont l'en-tête devient vide est supprimé.
+     * @param file Fichier région
+     * @param localIndices Index locaux des chunks à effacer
+     * @param count Nombre d'index utilisés dans le tableau
+     * @return Nombre d'entrées effectivement effacées (0 si le fichier n'existe pas)
+     * @throws IOException si le fichier ne peut pas être modifié
+     */
+    public static int clearEntries(Path file, int[] localIndices, int count) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < HEADER_SIZE) {
+            return 0;
+        }
+
+        int cleared = 0;
+        boolean empty;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            for (int i = 0; i < count; i++) {
+                int offset = localIndices[i] << 2;
+                if (header.getInt(offset) != 0) {
+                    header.putInt(offset, 0);
+                    header.putInt(SECTOR_SIZE + offset, 0);
+                    cleared++;
+                }
+            }
+            if (cleared > 0) {
+                header.force();
+            }
+
+            empty = true;
+            for (int offset = 0; offset < SECTOR_SIZE && empty; offset += 4) {
+                empty = header.getInt(offset) == 0;
+            }
+        }
+
+        if (empty) {
+            Files.deleteIfExists(file);
+        }
+        return cleared;
+    }
+}
@@ -0,0 +1,225 @@
+package com.arklandia.arkchunk.region;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.scheduler.TaskScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Analyse de la fragmentation des fichiers région et compactage.
+ * Les statistiques par monde (lecture des en-têtes uniquement) sont
+ * rafraîchies périodiquement hors des threads de tick pour /arkchunk status.
+ * Les fichiers d'un monde chargé peuvent être ouverts par le serveur : leur
+ * compactage est programmé pour le démarrage suivant (pending-compactions.txt).
+ */
+public class RegionMaintenance {
+
+    private static final String FILE_NAME = "pending-compactions.txt";
+
+    private final ArkChunk plugin;
+    private final Path file;
+    private final Map<String, RegionStats> fragmentation;
+    private TaskScheduler.Task refreshTask;
+
+    public RegionMaintenance(ArkChunk plugin) {
+        this.plugin = plugin;
+        this.file = plugin.getDataFolder().toPath().resolve(FILE_NAME);
+        this.fragmentation = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Démarre le rafraîchissement périodique de la fragmentation
+     */
+    public void start() {
+        long minutes = plugin.getConfig().getLong("region.analysis-interval-minutes", 30L);
+        if (minutes <= 0) {
+            return;
+        }
+        refreshTask = plugin.getTaskScheduler().runGlobalTimer(this::refresh, 20L * 30L, minutes * 60L * 20L);
+    }
+
+    /**
+     * Arrête le rafraîchissement périodique
+     */
+    public void shutdown() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+    }
+
+    /**
+     * Relit les en-têtes des fichiers région des mondes chargés (thread global)
+     */
+    public void refresh() {
+        Map<String, Path> folders = new ConcurrentHashMap<>();
+        for (World world : Bukkit.getWorlds()) {
+            folders.put(world.getName(), RegionFiles.dimensionFolder(world));
+        }
+        plugin.getTaskScheduler().runAsync(() -> folders.forEach((name, folder) -> {
+            try {
+                fragmentation.put(name, RegionStats.analyzeDimension(folder, name, false, null));
+            } catch (IOException e) {
+                plugin.getLogger().warning("Erreur lors de l'analyse des fichiers région de " + name + ": " + e.getMessage());
+            }
+        }));
+    }
+
+    /**
+     * Dernière fragmentation connue de chaque monde chargé
+     * @return Statistiques par nom de monde
+     */
+    public Map<String, RegionStats> getFragmentation() {
+        return fragmentation;
+    }
+
+    /**
+     * Compacte les fichiers d'une dimension dont la fragmentation dépasse un seuil
+     * (monde non chargé uniquement, thread de travail)
+     * @param dimensionFolder Dossier de la dimension
+     * @param minFragmentation Fragmentation minimale en pourcentage
+     * @return Bilan du compactage
+     * @throws IOException si le dossier region ne peut pas être lu
+     */
+    public CompactionResult compactNow(Path dimensionFolder, double minFragmentation) throws IOException {
+        CompactionResult result = new CompactionResult();
+        long start = System.nanoTime();
+        Path regionFolder = dimensionFolder.resolve("region");
+        if (!Files.isDirectory(regionFolder)) {
+            return result;
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(regionFolder, "r.*.*.mca")) {
+            for (Path regionFile : stream) {
+                result.files++;
+                try {
+                    RegionStats stats = RegionStats.analyze(regionFile, false);
+                    if (stats.getFragmentation() < minFragmentation) {
+                        continue;
+                    }
+                    long saved = RegionCompactor.compact(regionFile);
+                    if (saved > 0) {
+                        result.compacted++;
+                        result.bytes += saved;
+                    }
+                } catch (IOException e) {
+                    result.failed++;
+                    plugin.getLogger().warning("Erreur lors du compactage de " + regionFile.getFileName() + ": " + e.getMessage());
+                }
+            }
+        }
+        result.durationMillis = (System.nanoTime() - start) / 1_000_000L;
+        return result;
+    }
+
+    /**
+     * Programme le compactage d'une dimension chargée au prochain démarrage
+     * @param dimensionFolder Dossier de la dimension
+     * @param minFragmentation Fragmentation minimale en pourcentage
+     */
+    public synchronized void schedule(Path dimensionFolder, double minFragmentation) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, dimensionFolder.toAbsolutePath() + "\t" + minFragmentation + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Erreur lors de la programmation du compactage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Applique les compactages programmés (à appeler avant le chargement des mondes)
+     * @return Bilan cumulé
+     */
+    public synchronized CompactionResult applyPending() {
+        CompactionResult total = new CompactionResult();
+        if (!Files.isRegularFile(file)) {
+            return total;
+        }
+
+        // Un seul passage par dimension, avec le seuil le plus bas demandé
+        Map<Path, Double> thresholds = new LinkedHashMap<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t");
+                if (parts.length != 2) {
+                    continue;
+                }
+                try {
+                    thresholds.merge(Paths.get(parts[0]), Double.parseDouble(parts[1]), Math::min);
+                } catch (NumberFormatException e) {
+                    plugin.getLogger().warning("Compactage programmé ignoré: " + line);
+                }
+            }
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Erreur lors de la lecture des compactages programmés: " + e.getMessage());
+            return total;
+        }
+
+        for (Map.Entry<Path, Double> entry : thresholds.entrySet()) {
+            try {
+                total.add(compactNow(entry.getKey(), entry.getValue()));
+            } catch (IOException e) {
+                plugin.getLogger().warning("Erreur lors du compactage de " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Nombre de dimensions dont le compactage est programmé
+     * @return Nombre de dimensions
+     */
+    public synchronized int getPendingCount() {
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+        try {
+            List<String> lines = new ArrayList<>(Files.readAllLines(file, StandardCharsets.UTF_8));
+            lines.removeIf(String::isEmpty);
+            return lines.size();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Bilan d'un compactage
+     */
+    public static class CompactionResult {
+        public int files;
+        public int compacted;
+        public int failed;
+        public long bytes;
+        public long durationMillis;
+
+        void add(CompactionResult other) {
+            files += other.files;
+            compacted += other.compacted;
+            failed += other.failed;
+            bytes += other.bytes;
+            durationMillis += other.durationMillis;
+        }
+
+        /**
+         * @return Espace récupéré en Mo
+         */
+        public double getMegabytes() {
+            return bytes / (1024.0 * 1024.0);
+        }
+    }
+}
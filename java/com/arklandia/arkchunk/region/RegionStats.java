@@ -0,0 +1,220 @@
+package com.arklandia.arkchunk.region;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Occupation des secteurs d'un ou plusieurs fichiers région : secteurs
+ * utilisés, secteurs libres (trous laissés par les chunks qui ont rétréci ou
+ * déménagé), place perdue en fin de secteur et taux de compression.
+ */
+public class RegionStats {
+
+    private static final int COMPRESSION_ZLIB = 2;
+    private static final int COMPRESSION_NONE = 3;
+
+    public final String name;
+    public int files;
+    public long fileBytes;
+    public int chunks;
+    public long usedSectors;
+    public long freeSectors;
+    public long slackBytes;
+    public long slackSectors;
+    public long compressedBytes;
+    public long uncompressedBytes;
+    public double minChunkRatio = Double.MAX_VALUE;
+    public double maxChunkRatio;
+    public int corrupt;
+
+    public RegionStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Analyse un fichier région
+     * @param file Fichier .mca
+     * @param measureCompression true pour décompresser chaque chunk et mesurer son taux de compression
+     * @return Statistiques du fichier
+     * @throws IOException si le fichier ne peut pas être lu
+     */
+    public static RegionStats analyze(Path file, boolean measureCompression) throws IOException {
+        RegionStats stats = new RegionStats(file.getFileName().toString());
+        stats.files = 1;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            stats.fileBytes = size;
+            if (size < RegionFiles.HEADER_SIZE) {
+                return stats;
+            }
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            long totalSectors = (size + RegionFiles.SECTOR_SIZE - 1) / RegionFiles.SECTOR_SIZE - 2;
+            Inflater inflater = measureCompression ? new Inflater() : null;
+            byte[] sink = measureCompression ? new byte[16384] : null;
+
+            try {
+                for (int index = 0; index < RegionFiles.CHUNKS_PER_REGION; index++) {
+                    int location = mapped.getInt(index << 2);
+                    if (location == 0) {
+                        continue;
+                    }
+                    long offset = (long) (location >>> 8) * RegionFiles.SECTOR_SIZE;
+                    int sectors = location & 0xFF;
+                    if (offset < RegionFiles.HEADER_SIZE || offset + 5 > size) {
+                        stats.corrupt++;
+                        continue;
+                    }
+                    int length = mapped.getInt((int) offset);
+                    if (length <= 0 || offset + 4 + length > size) {
+                        stats.corrupt++;
+                        continue;
+                    }
+
+                    stats.chunks++;
+                    stats.usedSectors += sectors;
+                    stats.slackBytes += Math.max(0L, (long) sectors * RegionFiles.SECTOR_SIZE - 4 - length);
+                    stats.slackSectors += Math.max(0, sectors - RegionFiles.sectorsFor(length));
+
+                    if (measureCompression) {
+                        ByteBuffer payload = mapped.slice((int) offset + 4, length);
+                        int compression = payload.get() & 0xFF;
+                        if (compression == COMPRESSION_ZLIB) {
+                            long inflated = inflatedSize(inflater, payload, sink);
+                            if (inflated > 0) {
+                                stats.compressedBytes += length - 1;
+                                stats.uncompressedBytes += inflated;
+                                stats.recordRatio((double) inflated / Math.max(1, length - 1));
+                            }
+                        } else if (compression == COMPRESSION_NONE) {
+                            stats.compressedBytes += length - 1;
+                            stats.uncompressedBytes += length - 1;
+                            stats.recordRatio(1.0);
+                        }
+                    }
+                }
+            } finally {
+                if (inflater != null) {
+                    inflater.end();
+                }
+            }
+
+            stats.freeSectors = Math.max(0L, totalSectors - stats.usedSectors);
+        }
+        return stats;
+    }
+
+    /**
+     * Analyse tous les fichiers région d'une dimension
+     * @param dimensionFolder Dossier de la dimension
+     * @param name Nom du monde
+     * @param measureCompression true pour mesurer les taux de compression
+     * @param perFile Liste recevant les statistiques de chaque fichier, ou null
+     * @return Statistiques cumulées
+     * @throws IOException si le dossier region ne peut pas être lu
+     */
+    public static RegionStats analyzeDimension(Path dimensionFolder, String name, boolean measureCompression, List<RegionStats> perFile) throws IOException {
+        RegionStats total = new RegionStats(name);
+        Path regionFolder = dimensionFolder.resolve("region");
+        if (!Files.isDirectory(regionFolder)) {
+            return total;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(regionFolder, "r.*.*.mca")) {
+            for (Path file : stream) {
+                RegionStats stats = analyze(file, measureCompression);
+                total.add(stats);
+                if (perFile != null) {
+                    perFile.add(stats);
+                }
+            }
+        }
+        return total;
+    }
+
+    private static long inflatedSize(Inflater inflater, ByteBuffer payload, byte[] sink) {
+        inflater.reset();
+        inflater.setInput(payload);
+        long total = 0L;
+        try {
+            while (!inflater.finished()) {
+                int count = inflater.inflate(sink);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    return -1L;
+                }
+                total += count;
+            }
+        } catch (DataFormatException e) {
+            return -1L;
+        }
+        return total;
+    }
+
+    /**
+     * Cumule les statistiques d'un autre fichier
+     * @param other Statistiques à ajouter
+     */
+    public void add(RegionStats other) {
+        files += other.files;
+        fileBytes += other.fileBytes;
+        chunks += other.chunks;
+        usedSectors += other.usedSectors;
+        freeSectors += other.freeSectors;
+        slackBytes += other.slackBytes;
+        slackSectors += other.slackSectors;
+        compressedBytes += other.compressedBytes;
+        uncompressedBytes += other.uncompressedBytes;
+        corrupt += other.corrupt;
+        minChunkRatio = Math.min(minChunkRatio, other.minChunkRatio);
+        maxChunkRatio = Math.max(maxChunkRatio, other.maxChunkRatio);
+    }
+
+    private void recordRatio(double ratio) {
+        minChunkRatio = Math.min(minChunkRatio, ratio);
+        maxChunkRatio = Math.max(maxChunkRatio, ratio);
+    }
+
+    /**
+     * @return Part des secteurs de données inutilisés, en pourcentage
+     */
+    public double getFragmentation() {
+        long sectors = usedSectors + freeSectors;
+        return sectors == 0 ? 0.0 : freeSectors * 100.0 / sectors;
+    }
+
+    /**
+     * @return Espace récupérable par compactage (secteurs libres et secteurs en trop), en octets
+     */
+    public long getReclaimableBytes() {
+        return (freeSectors + slackSectors) * RegionFiles.SECTOR_SIZE;
+    }
+
+    /**
+     * @return Taux de compression moyen (taille décompressée / compressée), 0 si non mesuré
+     */
+    public double getCompressionRatio() {
+        return compressedBytes == 0 ? 0.0 : (double) uncompressedBytes / compressedBytes;
+    }
+
+    /**
+     * Trie des statistiques de fichiers du plus fragmenté au moins fragmenté
+     * @param stats Statistiques par fichier
+     * @param limit Nombre maximum de résultats
+     * @return Fichiers les plus fragmentés
+     */
+    public static List<RegionStats> mostFragmented(List<RegionStats> stats, int limit) {
+        List<RegionStats> sorted = new ArrayList<>(stats);
+        sorted.sort((a, b) -> Long.compare(b.freeSectors, a.freeSectors));
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+}
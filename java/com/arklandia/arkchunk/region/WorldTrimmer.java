@@ -0,0 +1,360 @@
+package com.arklandia.arkchunk.region;
+
+import com.arklandia.arkchunk.ArkChunk;
+import com.arklandia.arkchunk.util.ChunkKeys;
+import com.arklandia.arkchunk.util.LongIntMap;
+import org.bukkit.World;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Nettoyage d'un monde : parcourt tous les fichiers région d'une dimension en
+ * parallèle et supprime les chunks jamais vraiment visités (InhabitedTime sous
+ * un seuil), hors zones protégées. Chaque fichier est mappé en lecture seule et
+ * seuls les champs utiles du NBT sont décompressés.
+ */
+public class WorldTrimmer {
+
+    private final ArkChunk plugin;
+    private final Settings settings;
+
+    public WorldTrimmer(ArkChunk plugin, Settings settings) {
+        this.plugin = plugin;
+        this.settings = settings;
+    }
+
+    /**
+     * Analyse une dimension puis supprime les chunks retenus (thread de travail).
+     * Si le monde est chargé, les suppressions passent par la file du prochain
+     * démarrage, qui abandonne celles des chunks rechargés d'ici là ; sinon les
+     * fichiers région sont réécrits immédiatement.
+     * @param world Monde chargé, ou null si la dimension n'est pas chargée
+     * @param dimensionFolder Dossier de la dimension
+     * @return Rapport du nettoyage
+     * @throws IOException si le dossier region ne peut pas être lu
+     */
+    public Report run(World world, Path dimensionFolder) throws IOException {
+        long start = System.nanoTime();
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dimensionFolder.resolve("region"), "r.*.*.mca")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+
+        AtomicInteger threadId = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(settings.threads, runnable -> {
+            Thread thread = new Thread(runnable, "ArkChunk-Trim-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Report report = new Report(world != null ? world.getName() : dimensionFolder.getFileName().toString(), settings.dryRun);
+        try {
+            List<Callable<FileResult>> tasks = new ArrayList<>(files.size());
+            for (Path file : files) {
+                tasks.add(() -> scanFile(dimensionFolder, file));
+            }
+
+            List<long[]> selected = new ArrayList<>();
+            for (Future<FileResult> future : workers.invokeAll(tasks)) {
+                try {
+                    FileResult result = future.get();
+                    report.add(result);
+                    if (result.deleteCount > 0) {
+                        selected.add(result.keys());
+                    }
+                } catch (ExecutionException e) {
+                    report.failedFiles++;
+                    plugin.getLogger().warning("Erreur lors de l'analyse d'un fichier région: " + e.getCause().getMessage());
+                }
+            }
+
+            if (!settings.dryRun) {
+                delete(world, dimensionFolder, selected, report);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.shutdownNow();
+        }
+
+        report.durationMillis = (System.nanoTime() - start) / 1_000_000L;
+        return report;
+    }
+
+    /**
+     * Analyse un fichier région (thread de travail)
+     * @param dimensionFolder Dossier de la dimension
+     * @param file Fichier région
+     * @return Chunks à supprimer et statistiques du fichier
+     * @throws IOException si le fichier ne peut pas être lu
+     */
+    private FileResult scanFile(Path dimensionFolder, Path file) throws IOException {
+        String[] parts = file.getFileName().toString().split("\\.");
+        int regionX = Integer.parseInt(parts[1]);
+        int regionZ = Integer.parseInt(parts[2]);
+        FileResult result = new FileResult(regionX, regionZ);
+
+        ChunkTimesReader reader = new ChunkTimesReader();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < RegionFiles.HEADER_SIZE) {
+                return result;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            for (int index = 0; index < RegionFiles.CHUNKS_PER_REGION; index++) {
+                int location = mapped.getInt(index << 2);
+                if (location == 0) {
+                    continue;
+                }
+                result.chunks++;
+
+                int chunkX = (regionX << 5) + (index & 31);
+                int chunkZ = (regionZ << 5) + (index >> 5);
+                if (settings.isProtected(chunkX, chunkZ)) {
+                    result.protectedChunks++;
+                    continue;
+                }
+
+                long offset = (long) (location >>> 8) * RegionFiles.SECTOR_SIZE;
+                int sectors = location & 0xFF;
+                if (offset < RegionFiles.HEADER_SIZE || offset + 5 > size) {
+                    result.unreadable++;
+                    continue;
+                }
+                int length = mapped.getInt((int) offset);
+                if (length <= 0 || offset + 4 + length > size) {
+                    result.unreadable++;
+                    continue;
+                }
+
+                ByteBuffer payload = mapped.slice((int) offset + 4, length);
+                if (!reader.read(payload)) {
+                    result.unreadable++;
+                    continue;
+                }
+
+                if (reader.inhabitedTime < settings.maxInhabitedTicks && isIdle(reader.lastUpdate)) {
+                    result.select(index, (long) sectors * RegionFiles.SECTOR_SIZE);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        // Les entités et POI des chunks supprimés partent avec eux
+        if (result.deleteCount > 0) {
+            for (String storage : RegionFiles.STORAGE_FOLDERS) {
+                if (!storage.equals("region")) {
+                    result.bytes += sectorBytes(dimensionFolder.resolve(storage).resolve(file.getFileName()), result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean isIdle(long lastUpdate) {
+        return settings.gameTime < 0 || settings.minIdleTicks <= 0 || lastUpdate < 0
+            || settings.gameTime - lastUpdate >= settings.minIdleTicks;
+    }
+
+    // Octets occupés dans un fichier annexe (entities, poi) par les chunks retenus
+    private static long sectorBytes(Path file, FileResult result) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < RegionFiles.HEADER_SIZE) {
+            return 0L;
+        }
+        ByteBuffer header = ByteBuffer.allocate(RegionFiles.SECTOR_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // Lecture de la table des positions
+            }
+        }
+        long bytes = 0L;
+        for (int i = 0; i < result.deleteCount; i++) {
+            bytes += (long) (header.getInt(result.indices[i] << 2) & 0xFF) * RegionFiles.SECTOR_SIZE;
+        }
+        return bytes;
+    }
+
+    /**
+     * Supprime les chunks retenus
+     */
+    private void delete(World world, Path dimensionFolder, List<long[]> selected, Report report) {
+        if (world != null) {
+            ChunkDeletionQueue queue = plugin.getDeletionQueue();
+            for (long[] keys : selected) {
+                queue.queue(dimensionFolder, keys);
+            }
+            // Chunks chargés pendant l'analyse : leur ChunkLoadEvent a précédé la mise en file
+            for (long key : plugin.getChunkManager().getIndex(world).getLoadedKeys()) {
+                queue.onChunkLoaded(world, ChunkKeys.x(key), ChunkKeys.z(key));
+            }
+            queue.flush();
+            report.deferred = true;
+            return;
+        }
+
+        for (long[] keys : selected) {
+            try {
+                ChunkDeletionQueue.DeletionResult result = ChunkDeletionQueue.deleteNow(dimensionFolder, keys);
+                report.filesRemoved += result.filesRemoved;
+            } catch (IOException e) {
+                report.failedFiles++;
+                plugin.getLogger().warning("Erreur lors de la suppression de chunks: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Critères du nettoyage
+     */
+    public static class Settings {
+        long maxInhabitedTicks;
+        long minIdleTicks;
+        long gameTime = -1L;
+        int threads;
+        boolean dryRun;
+        private final List<int[]> protectedAreas = new ArrayList<>();
+        private LongIntMap protectedChunks;
+
+        /**
+         * @param maxInhabitedTicks Temps d'occupation en dessous duquel un chunk est supprimé
+         * @param threads Nombre de threads d'analyse
+         * @param dryRun true pour produire le rapport sans rien supprimer
+         */
+        public Settings(long maxInhabitedTicks, int threads, boolean dryRun) {
+            this.maxInhabitedTicks = maxInhabitedTicks;
+            this.threads = Math.max(1, threads);
+            this.dryRun = dryRun;
+        }
+
+        /**
+         * N'accepte que les chunks non sauvegardés depuis un certain temps
+         * @param gameTime Temps de jeu actuel du monde (World#getFullTime)
+         * @param minIdleTicks Durée minimale depuis LastUpdate
+         */
+        public void setIdle(long gameTime, long minIdleTicks) {
+            this.gameTime = gameTime;
+            this.minIdleTicks = minIdleTicks;
+        }
+
+        /**
+         * Protège un rectangle de chunks, coins inclus
+         */
+        public void protect(int x1, int z1, int x2, int z2) {
+            protectedAreas.add(new int[]{Math.min(x1, x2), Math.min(z1, z2), Math.max(x1, x2), Math.max(z1, z2)});
+        }
+
+        /**
+         * Protège des chunks isolés (chunks chargés par exemple)
+         * @param keys Clés des chunks
+         */
+        public void protect(long[] keys) {
+            if (protectedChunks == null) {
+                protectedChunks = new LongIntMap(keys.length);
+            }
+            for (long key : keys) {
+                protectedChunks.put(key, 1);
+            }
+        }
+
+        boolean isProtected(int chunkX, int chunkZ) {
+            for (int[] area : protectedAreas) {
+                if (chunkX >= area[0] && chunkZ >= area[1] && chunkX <= area[2] && chunkZ <= area[3]) {
+                    return true;
+                }
+            }
+            return protectedChunks != null && protectedChunks.get(ChunkKeys.pack(chunkX, chunkZ), 0) != 0;
+        }
+    }
+
+    /**
+     * Résultat de l'analyse d'un fichier région
+     */
+    private static class FileResult {
+        final int regionX;
+        final int regionZ;
+        final int[] indices = new int[RegionFiles.CHUNKS_PER_REGION];
+        int deleteCount;
+        int chunks;
+        int protectedChunks;
+        int unreadable;
+        long bytes;
+
+        FileResult(int regionX, int regionZ) {
+            this.regionX = regionX;
+            this.regionZ = regionZ;
+        }
+
+        void select(int index, long sectorBytes) {
+            indices[deleteCount++] = index;
+            bytes += sectorBytes;
+        }
+
+        long[] keys() {
+            long[] keys = new long[deleteCount];
+            for (int i = 0; i < deleteCount; i++) {
+                keys[i] = ChunkKeys.pack((regionX << 5) + (indices[i] & 31), (regionZ << 5) + (indices[i] >> 5));
+            }
+            return keys;
+        }
+    }
+
+    /**
+     * Rapport d'un nettoyage
+     */
+    public static class Report {
+        public final String world;
+        public final boolean dryRun;
+        public int files;
+        public int failedFiles;
+        public int filesRemoved;
+        public long chunks;
+        public long deleted;
+        public long protectedChunks;
+        public long unreadable;
+        public long bytes;
+        public long durationMillis;
+        public boolean deferred;
+
+        Report(String world, boolean dryRun) {
+            this.world = world;
+            this.dryRun = dryRun;
+        }
+
+        void add(FileResult result) {
+            files++;
+            chunks += result.chunks;
+            deleted += result.deleteCount;
+            protectedChunks += result.protectedChunks;
+            unreadable += result.unreadable;
+            bytes += result.bytes;
+        }
+
+        /**
+         * Secteurs libérés par les chunks supprimés : seuls les fichiers vidés
+         * disparaissent, le reste n'est rendu au disque que par un compactage
+         * @return Secteurs libérés en Mo
+         */
+        public double getMegabytes() {
+            return bytes / (1024.0 * 1024.0);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.arklandia.arkchunk.rules;
+
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.block.BlockState;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Règles de détection des chunks problématiques (section rules de config.yml),
+ * compilées au chargement.
+ * Chaque monde reçoit les limites par défaut complétées par ses surcharges ;
+ * les limites par type sont traduites en tables indexées par
+ * EntityType#ordinal et Material#ordinal qui renvoient vers un tableau plat
+ * de compteurs. Un seul passage sur les entités et les block entities d'un
+ * chunk évalue ainsi toutes les règles, sans recherche par nom.
+ *
+ * Les instances sont immuables : un rechargement remplace l'objet entier.
+ */
+public final class DetectionRules {
+
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+    private static final List<String> DEFAULT_TICKING_BLOCKS = List.of(
+        "hopper", "furnace", "blast_furnace", "smoker", "brewing_stand", "beacon", "spawner", "trial_spawner",
+        "vault", "campfire", "soul_campfire", "conduit", "bell", "end_gateway", "jukebox", "beehive", "bee_nest",
+        "sculk_sensor", "calibrated_sculk_sensor", "sculk_catalyst", "sculk_shrieker", "crafter");
+
+    private final WorldRules defaults;
+    private final Map<String, WorldRules> worlds;
+
+    private DetectionRules(WorldRules defaults, Map<String, WorldRules> worlds) {
+        this.defaults = defaults;
+        this.worlds = worlds;
+    }
+
+    /**
+     * Compile les règles d'une section de configuration
+     * @param config Section rules (null pour les limites historiques)
+     * @param logger Journal des types inconnus
+     * @return Règles compilées
+     */
+    public static DetectionRules load(ConfigurationSection config, Logger logger) {
+        boolean[] ticking = new boolean[Material.values().length];
+        List<String> tickingNames = config != null && config.isList("ticking-blocks")
+            ? config.getStringList("ticking-blocks") : DEFAULT_TICKING_BLOCKS;
+        for (String name : tickingNames) {
+            Material material = Material.matchMaterial(name);
+            if (material == null || !material.isBlock()) {
+                logger.warning("Bloc inconnu dans rules.ticking-blocks: " + name);
+                continue;
+            }
+            ticking[material.ordinal()] = true;
+        }
+
+        ConfigurationSection defaultSection = config != null ? config.getConfigurationSection("default") : null;
+        Limits defaultLimits = new Limits(500, 200, 150).override(defaultSection);
+        WorldRules defaults = defaultLimits.compile("default", ticking, logger);
+
+        Map<String, WorldRules> worlds = new HashMap<>();
+        ConfigurationSection worldsSection = config != null ? config.getConfigurationSection("worlds") : null;
+        if (worldsSection != null) {
+            for (String worldName : worldsSection.getKeys(false)) {
+                Limits limits = defaultLimits.copy().override(worldsSection.getConfigurationSection(worldName));
+                worlds.put(worldName, limits.compile(worldName, ticking, logger));
+            }
+        }
+        return new DetectionRules(defaults, Collections.unmodifiableMap(worlds));
+    }
+
+    /**
+     * Obtient les règles d'un monde
+     * @param worldName Nom du monde
+     * @return Règles du monde, ou celles par défaut
+     */
+    public WorldRules forWorld(String worldName) {
+        return worlds.getOrDefault(worldName, defaults);
+    }
+
+    public WorldRules getDefaults() {
+        return defaults;
+    }
+
+    /**
+     * @return Règles des mondes ayant une surcharge, par nom de monde
+     */
+    public Map<String, WorldRules> getWorlds() {
+        return worlds;
+    }
+
+    /**
+     * Limites lues depuis la configuration, avant compilation
+     */
+    private static final class Limits {
+        int maxEntities;
+        int maxTiles;
+        int maxTicking;
+        final Map<String, Integer> types = new LinkedHashMap<>();
+
+        Limits(int maxEntities, int maxTiles, int maxTicking) {
+            this.maxEntities = maxEntities;
+            this.maxTiles = maxTiles;
+            this.maxTicking = maxTicking;
+        }
+
+        Limits copy() {
+            Limits copy = new Limits(maxEntities, maxTiles, maxTicking);
+            copy.types.putAll(types);
+            return copy;
+        }
+
+        Limits override(ConfigurationSection section) {
+            if (section == null) {
+                return this;
+            }
+            maxEntities = section.getInt("max-entities", maxEntities);
+            maxTiles = section.getInt("max-tile-entities", maxTiles);
+            maxTicking = section.getInt("max-ticking-blocks", maxTicking);
+            ConfigurationSection typesSection = section.getConfigurationSection("types");
+            if (typesSection != null) {
+                for (String type : typesSection.getKeys(false)) {
+                    types.put(type.toLowerCase(Locale.ROOT), typesSection.getInt(type));
+                }
+            }
+            return this;
+        }
+
+        WorldRules compile(String name, boolean[] ticking, Logger logger) {
+            int[] entitySlots = new int[EntityType.values().length];
+            int[] blockSlots = new int[Material.values().length];
+            Arrays.fill(entitySlots, -1);
+            Arrays.fill(blockSlots, -1);
+            int[] limits = new int[types.size()];
+            String[] labels = new String[types.size()];
+            int minEntityLimit = UNLIMITED;
+            int minBlockLimit = UNLIMITED;
+            int slots = 0;
+
+            for (Map.Entry<String, Integer> entry : types.entrySet()) {
+                String type = entry.getKey();
+                int limit = entry.getValue();
+                if (limit <= 0) {
+                    continue; // Règle désactivée par la surcharge d'un monde
+                }
+                EntityType entityType = entityType(type);
+                Material material = entityType == null ? Material.matchMaterial(type) : null;
+                if (entityType != null) {
+                    entitySlots[entityType.ordinal()] = slots;
+                    minEntityLimit = Math.min(minEntityLimit, limit);
+                } else if (material != null && material.isBlock()) {
+                    blockSlots[material.ordinal()] = slots;
+                    minBlockLimit = Math.min(minBlockLimit, limit);
+                } else {
+                    logger.warning("Type inconnu dans les règles de " + name + ": " + type);
+                    continue;
+                }
+                limits[slots] = limit;
+                labels[slots] = type;
+                slots++;
+            }
+
+            return new WorldRules(positive(maxEntities), positive(maxTiles), positive(maxTicking), entitySlots, blockSlots,
+                ticking, Arrays.copyOf(limits, slots), Arrays.copyOf(labels, slots), minEntityLimit, minBlockLimit);
+        }
+
+        private static EntityType entityType(String name) {
+            try {
+                return EntityType.valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        private static int positive(int limit) {
+            return limit <= 0 ? UNLIMITED : limit;
+        }
+    }
+
+    /**
+     * Règles compilées d'un monde
+     */
+    public static final class WorldRules {
+        private final int maxEntities;
+        private final int maxTiles;
+        private final int maxTicking;
+        private final int[] entitySlots; // EntityType#ordinal -> compteur, -1 sans règle
+        private final int[] blockSlots; // Material#ordinal -> compteur, -1 sans règle
+        private final boolean[] ticking; // Material#ordinal -> block entity qui tick
+        private final int[] limits;
+        private final String[] labels;
+        private final int minEntityLimit;
+        private final int minBlockLimit;
+
+        WorldRules(int maxEntities, int maxTiles, int maxTicking, int[] entitySlots, int[] blockSlots, boolean[] ticking,
+                   int[] limits, String[] labels, int minEntityLimit, int minBlockLimit) {
+            this.maxEntities = maxEntities;
+            this.maxTiles = maxTiles;
+            this.maxTicking = maxTicking;
+            this.entitySlots = entitySlots;
+            this.blockSlots = blockSlots;
+            this.ticking = ticking;
+            this.limits = limits;
+            this.labels = labels;
+            this.minEntityLimit = minEntityLimit;
+            this.minBlockLimit = Math.min(minBlockLimit, maxTicking);
+        }
+
+        /**
+         * Vérifie les limites globales d'un chunk d'après ses compteurs
+         * @param entities Nombre d'entités (hors joueurs)
+         * @param tiles Nombre de tile entities
+         * @return true si une limite globale est dépassée
+         */
+        public boolean exceedsTotals(int entities, int tiles) {
+            return entities > maxEntities || tiles > maxTiles;
+        }
+
+        /**
+         * Indique si un chunk peut dépasser une règle par type : aucun type ne
+         * peut dépasser sa limite si le total est déjà en dessous de la plus petite
+         * @param entities Nombre d'entités (hors joueurs)
+         * @param tiles Nombre de tile entities
+         * @return true si le passage sur le contenu du chunk est nécessaire
+         */
+        public boolean needsScan(int entities, int tiles) {
+            return entities > minEntityLimit || tiles > minBlockLimit;
+        }
+
+        /**
+         * Compte les types du chunk en un seul passage et évalue toutes les règles
+         * par type (thread qui possède le chunk)
+         * @param chunk Chunk chargé
+         * @param entities Nombre d'entités connu (pour sauter le passage inutile)
+         * @param tiles Nombre de tile entities connu (pour sauter le passage inutile)
+         * @return Règle dépassée avec le plus fort dépassement, ou null
+         */
+        public Violation scan(Chunk chunk, int entities, int tiles) {
+            int[] counts = new int[limits.length];
+            int tickingCount = 0;
+            if (entities > minEntityLimit) {
+                for (Entity entity : chunk.getEntities()) {
+                    int slot = entitySlots[entity.getType().ordinal()];
+                    if (slot >= 0) {
+                        counts[slot]++;
+                    }
+                }
+            }
+            if (tiles > minBlockLimit) {
+                for (BlockState state : chunk.getTileEntities(false)) {
+                    int ordinal = state.getType().ordinal();
+                    int slot = blockSlots[ordinal];
+                    if (slot >= 0) {
+                        counts[slot]++;
+                    }
+                    if (ticking[ordinal]) {
+                        tickingCount++;
+                    }
+                }
+            }
+
+            Violation worst = tickingCount > maxTicking ? new Violation("blocs qui tickent", tickingCount, maxTicking) : null;
+            for (int slot = 0; slot < limits.length; slot++) {
+                if (counts[slot] > limits[slot] && (worst == null || (long) counts[slot] * worst.limit > (long) worst.count * limits[slot])) {
+                    worst = new Violation(labels[slot], counts[slot], limits[slot]);
+                }
+            }
+            return worst;
+        }
+
+        /**
+         * @return Nombre de règles par type
+         */
+        public int getTypeRuleCount() {
+            return limits.length;
+        }
+
+        /**
+         * Décrit les limites (affichage)
+         * @return Limites lisibles, par ordre de déclaration
+         */
+        public String describe() {
+            StringBuilder description = new StringBuilder();
+            description.append("entités > ").append(format(maxEntities))
+                .append(", tile entities > ").append(format(maxTiles))
+                .append(", blocs qui tickent > ").append(format(maxTicking));
+            for (int slot = 0; slot < limits.length; slot++) {
+                description.append(", ").append(labels[slot]).append(" > ").append(limits[slot]);
+            }
+            return description.toString();
+        }
+
+        private static String format(int limit) {
+            return limit == UNLIMITED ? "∞" : Integer.toString(limit);
+        }
+    }
+
+    /**
+     * Règle dépassée par un chunk
+     */
+    public static final class Violation {
+        public final String label;
+        public final int count;
+        public final int limit;
+
+        Violation(String label, int count, int limit) {
+            this.label = label;
+            this.count = count;
+            this.limit = limit;
+        }
+
+        @Override
+        public String toString() {
+            return label + " " + count + "/" + limit;
+        }
+    }
+}
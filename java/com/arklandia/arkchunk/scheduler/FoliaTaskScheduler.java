@@ -0,0 +1,79 @@
+package com.arklandia.arkchunk.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Planificateur Folia : RegionScheduler pour le travail sur un chunk,
+ * GlobalRegionScheduler pour l'état global et AsyncScheduler pour le reste.
+ * Le BukkitScheduler lève une exception sur ces serveurs.
+ */
+public final class FoliaTaskScheduler implements TaskScheduler {
+
+    private final Plugin plugin;
+
+    public FoliaTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isRegionized() {
+        return true;
+    }
+
+    @Override
+    public void executeGlobal(Runnable task) {
+        if (Bukkit.isGlobalTickThread()) {
+            task.run();
+        } else {
+            Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+        }
+    }
+
+    @Override
+    public Task runGlobalLater(Runnable task, long delayTicks) {
+        return Bukkit.getGlobalRegionScheduler().runDelayed(plugin, scheduled -> task.run(), Math.max(1L, delayTicks))::cancel;
+    }
+
+    @Override
+    public Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(), Math.max(1L, delayTicks), periodTicks)::cancel;
+    }
+
+    @Override
+    public void executeAt(World world, int chunkX, int chunkZ, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(world, chunkX, chunkZ)) {
+            task.run();
+        } else {
+            Bukkit.getRegionScheduler().execute(plugin, world, chunkX, chunkZ, task);
+        }
+    }
+
+    @Override
+    public Task runAtLater(World world, int chunkX, int chunkZ, Runnable task, long delayTicks) {
+        return Bukkit.getRegionScheduler().runDelayed(plugin, world, chunkX, chunkZ, scheduled -> task.run(), Math.max(1L, delayTicks))::cancel;
+    }
+
+    @Override
+    public void executeFor(Entity entity, Runnable task) {
+        entity.getScheduler().execute(plugin, task, null, 1L);
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        Bukkit.getAsyncScheduler().runNow(plugin, scheduled -> task.run());
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(World world, int chunkX, int chunkZ) {
+        return Bukkit.isOwnedByCurrentRegion(world, chunkX, chunkZ);
+    }
+
+    @Override
+    public void cancelAll() {
+        Bukkit.getGlobalRegionScheduler().cancelTasks(plugin);
+        Bukkit.getAsyncScheduler().cancelTasks(plugin);
+    }
+}
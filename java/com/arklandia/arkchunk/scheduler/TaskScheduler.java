@@ -0,0 +1,115 @@
+package com.arklandia.arkchunk.scheduler;
+
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Planificateur de tâches indépendant du serveur.
+ * Sur Paper/Spigot, tout s'exécute sur le thread principal via le BukkitScheduler ;
+ * sur un serveur régionalisé (Folia), le travail sur un chunk part sur le thread
+ * de la région qui le possède et l'état global sur le thread de la région globale.
+ */
+public interface TaskScheduler {
+
+    /**
+     * Crée le planificateur adapté au serveur
+     * @param plugin Plugin propriétaire des tâches
+     * @return FoliaTaskScheduler si le serveur est régionalisé, BukkitTaskScheduler sinon
+     */
+    static TaskScheduler create(Plugin plugin) {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return new FoliaTaskScheduler(plugin);
+        } catch (ClassNotFoundException e) {
+            return new BukkitTaskScheduler(plugin);
+        }
+    }
+
+    /**
+     * @return true si le serveur est régionalisé (Folia)
+     */
+    boolean isRegionized();
+
+    /**
+     * Exécute une tâche sur le thread global : immédiatement si l'appelant y est
+     * déjà, sinon au prochain tick
+     * @param task Tâche
+     */
+    void executeGlobal(Runnable task);
+
+    /**
+     * Exécute une tâche sur le thread global après un délai
+     * @param task Tâche
+     * @param delayTicks Délai en ticks
+     * @return Tâche planifiée
+     */
+    Task runGlobalLater(Runnable task, long delayTicks);
+
+    /**
+     * Exécute une tâche répétée sur le thread global
+     * @param task Tâche
+     * @param delayTicks Délai avant la première exécution en ticks
+     * @param periodTicks Période en ticks
+     * @return Tâche planifiée
+     */
+    Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Exécute une tâche sur le thread qui possède un chunk
+     * (thread principal hors Folia), immédiatement si l'appelant le possède déjà
+     * @param world Monde du chunk
+     * @param chunkX Coordonnée X du chunk
+     * @param chunkZ Coordonnée Z du chunk
+     * @param task Tâche
+     */
+    void executeAt(World world, int chunkX, int chunkZ, Runnable task);
+
+    /**
+     * Exécute une tâche sur le thread qui possède un chunk après un délai
+     * @param world Monde du chunk
+     * @param chunkX Coordonnée X du chunk
+     * @param chunkZ Coordonnée Z du chunk
+     * @param task Tâche
+     * @param delayTicks Délai en ticks
+     * @return Tâche planifiée
+     */
+    Task runAtLater(World world, int chunkX, int chunkZ, Runnable task, long delayTicks);
+
+    /**
+     * Exécute une tâche sur le thread qui possède une entité (elle suit
+     * l'entité d'une région à l'autre sur Folia) ; ignorée si l'entité a
+     * été retirée entre-temps
+     * @param entity Entité
+     * @param task Tâche
+     */
+    void executeFor(Entity entity, Runnable task);
+
+    /**
+     * Exécute une tâche hors des threads de tick
+     * @param task Tâche
+     */
+    void runAsync(Runnable task);
+
+    /**
+     * Vérifie si le thread courant peut accéder à un chunk
+     * @param world Monde du chunk
+     * @param chunkX Coordonnée X du chunk
+     * @param chunkZ Coordonnée Z du chunk
+     * @return true si le chunk appartient au thread courant
+     */
+    boolean isOwnedByCurrentThread(World world, int chunkX, int chunkZ);
+
+    /**
+     * Annule toutes les tâches du plugin
+     */
+    void cancelAll();
+
+    /**
+     * Tâche planifiée annulable
+     */
+    @FunctionalInterface
+    interface Task {
+        void cancel();
+    }
+}
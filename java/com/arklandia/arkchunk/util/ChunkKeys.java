@@ -0,0 +1,38 @@
+package com.arklandia.arkchunk.util;
+
+/**
+ * Clés de chunk compactées sur un long (même format que Chunk#getChunkKey de Paper)
+ */
+public final class ChunkKeys {
+
+    private ChunkKeys() {
+    }
+
+    /**
+     * Compacte des coordonnées de chunk
+     * @param x Coordonnée X du chunk
+     * @param z Coordonnée Z du chunk
+     * @return Clé du chunk
+     */
+    public static long pack(int x, int z) {
+        return ((long) x & 0xFFFFFFFFL) | (((long) z & 0xFFFFFFFFL) << 32);
+    }
+
+    /**
+     * Coordonnée X d'une clé
+     * @param key Clé du chunk
+     * @return Coordonnée X
+     */
+    public static int x(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Coordonnée Z d'une clé
+     * @param key Clé du chunk
+     * @return Coordonnée Z
+     */
+    public static int z(long key) {
+        return (int) (key >>> 32);
+    }
+}
@@ -0,0 +1,157 @@
+package com.arklandia.arkchunk.util;
+
+import java.util.Arrays;
+
+/**
+ * Table de hachage long -> int à adressage ouvert (sondage linéaire), sans
+ * boxing ni allocation hors redimensionnement. Non thread-safe.
+ */
+public final class LongIntMap {
+
+    private static final int EMPTY = -1;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    public LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        Arrays.fill(values, EMPTY);
+        this.mask = capacity - 1;
+        this.resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * Obtient la valeur associée à une clé
+     * @param key Clé
+     * @param defaultValue Valeur si absente
+     * @return Valeur
+     */
+    public int get(long key, int defaultValue) {
+        int slot = hash(key) & mask;
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Associe une valeur (positive ou nulle) à une clé
+     * @param key Clé
+     * @param value Valeur
+     */
+    public void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Valeur négative: " + value);
+        }
+        int slot = hash(key) & mask;
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Supprime une clé (suppression par décalage arrière, sans pierre tombale)
+     * @param key Clé
+     * @param defaultValue Valeur retournée si absente
+     * @return Ancienne valeur
+     */
+    public int remove(long key, int defaultValue) {
+        int slot = hash(key) & mask;
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    private void shiftBack(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == EMPTY) {
+                break;
+            }
+            int ideal = hash(keys[slot]) & mask;
+            // Déplacer l'entrée si le trou est entre sa position idéale et sa position actuelle
+            if (((slot - ideal) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = keys[slot];
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+        values[hole] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copie les clés présentes
+     * @return Clés, dans un ordre quelconque
+     */
+    public long[] keys() {
+        long[] present = new long[size];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != EMPTY) {
+                present[count++] = keys[i];
+            }
+        }
+        return present;
+    }
+
+    /**
+     * Vide la table
+     */
+    public void clear() {
+        Arrays.fill(values, EMPTY);
+        size = 0;
+    }
+}